@@ -0,0 +1,180 @@
+package com.pgms.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pgms.dto.RentRecordResponse;
+import com.pgms.dto.TenantResponse;
+import com.pgms.entity.DailyFoodOption;
+import com.pgms.entity.PaymentStatus;
+import com.pgms.entity.RentRecordStatus;
+import com.pgms.entity.SharingType;
+import com.pgms.entity.VerificationStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the Redis value serializers on the list payloads the tenant and rent endpoints cache.
+ *
+ * <p>The JSON serializer cannot read back the {@code ResponseEntity} wrappers the controllers cache, so both codecs
+ * are measured on the bare lists. The JSON mapper mirrors the serializer's default typing but registers the
+ * java.time module, without which the DTO dates cannot be written at all. Encoded sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"json", "binary", "binary-lz4"})
+    public String codec;
+
+    private RedisSerializer<Object> serializer;
+    private List<TenantResponse> tenants;
+    private List<RentRecordResponse> rentRecords;
+    private byte[] tenantBytes;
+    private byte[] rentRecordBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = switch (codec) {
+            case "json" -> new GenericJackson2JsonRedisSerializer(jsonMapper());
+            case "binary" -> new DtoBinaryRedisSerializer(false);
+            case "binary-lz4" -> new DtoBinaryRedisSerializer(true);
+            default -> throw new IllegalArgumentException("Unknown codec " + codec);
+        };
+        tenants = tenants(size);
+        rentRecords = rentRecords(size);
+        tenantBytes = serializer.serialize(tenants);
+        rentRecordBytes = serializer.serialize(rentRecords);
+        System.out.printf(
+                "%n[%s, %d] tenants: %d bytes, rent records: %d bytes%n",
+                codec, size, tenantBytes.length, rentRecordBytes.length
+        );
+    }
+
+    @Benchmark
+    public byte[] serializeTenants() {
+        return serializer.serialize(tenants);
+    }
+
+    @Benchmark
+    public Object deserializeTenants() {
+        return serializer.deserialize(tenantBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeRentRecords() {
+        return serializer.serialize(rentRecords);
+    }
+
+    @Benchmark
+    public Object deserializeRentRecords() {
+        return serializer.deserialize(rentRecordBytes);
+    }
+
+    @Benchmark
+    public Object roundTripTenantResponseEntity() {
+        if (!codec.startsWith("binary")) {
+            return null;
+        }
+        return serializer.deserialize(serializer.serialize(ResponseEntity.ok(tenants)));
+    }
+
+    private static ObjectMapper jsonMapper() {
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.activateDefaultTyping(
+                mapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY
+        );
+        return mapper;
+    }
+
+    private static List<TenantResponse> tenants(int count) {
+        OffsetDateTime now = OffsetDateTime.of(2025, 1, 1, 9, 30, 0, 0, ZoneOffset.ofHoursMinutes(5, 30));
+        List<TenantResponse> tenants = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean daily = i % 10 == 0;
+            TenantResponse tenant = new TenantResponse();
+            tenant.setId((long) i + 1);
+            tenant.setFullName("Tenant " + i);
+            tenant.setTenantPhoneNumber(String.valueOf(9_000_000_000L + i));
+            tenant.setDailyAccommodation(daily);
+            tenant.setDailyFoodOption(daily ? DailyFoodOption.WITH_FOOD : null);
+            tenant.setDailyCollectionAmount(daily ? new BigDecimal("450.00") : null);
+            tenant.setDailyStayDays(daily ? 3 : null);
+            tenant.setRoomNumber(String.valueOf(100 + i % 40));
+            tenant.setRent(new BigDecimal("8500.00"));
+            tenant.setDeposit(new BigDecimal("10000.00"));
+            tenant.setJoiningDate(LocalDate.of(2024, 1 + i % 12, 1 + i % 28));
+            tenant.setEmergencyContactNumber(String.valueOf(8_000_000_000L + i));
+            tenant.setEmergencyContactRelationship(i % 2 == 0 ? "Father" : "Mother");
+            tenant.setSharing(SharingType.values()[i % SharingType.values().length]);
+            tenant.setPaymentStatus(PaymentStatus.values()[i % PaymentStatus.values().length]);
+            tenant.setCompanyName("Company " + i % 25);
+            tenant.setCompanyAddress("Tech Park, Block " + i % 5);
+            tenant.setRentDueAmount(new BigDecimal("8500.00"));
+            tenant.setRentPaidAmount(new BigDecimal(i % 3 == 0 ? "0.00" : "8500.00"));
+            tenant.setDepositPaidAmount(new BigDecimal("10000.00"));
+            tenant.setJoiningCollectionAccountId(1L + i % 3);
+            tenant.setJoiningCollectionAccountName("Account " + i % 3);
+            tenant.setVerificationStatus(i % 4 == 0 ? VerificationStatus.NOT_DONE : VerificationStatus.DONE);
+            tenant.setActive(true);
+            tenant.setCreatedAt(now.minusMinutes(i));
+            tenant.setUpdatedAt(now.minusMinutes(i / 2));
+            tenants.add(tenant);
+        }
+        return tenants;
+    }
+
+    private static List<RentRecordResponse> rentRecords(int count) {
+        OffsetDateTime now = OffsetDateTime.of(2025, 1, 5, 18, 0, 0, 0, ZoneOffset.ofHoursMinutes(5, 30));
+        List<RentRecordResponse> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            RentRecordResponse record = new RentRecordResponse();
+            record.setId((long) i + 1);
+            record.setTenantId((long) i % 500 + 1);
+            record.setTenantName("Tenant " + i % 500);
+            record.setRoomNumber(String.valueOf(100 + i % 40));
+            record.setBillingMonth(LocalDate.of(2024, 1 + i % 12, 1));
+            record.setTransactionAt(now.minusHours(i));
+            record.setDueAmount(new BigDecimal("8500.00"));
+            record.setPaidAmount(new BigDecimal(i % 3 == 0 ? "4250.00" : "8500.00"));
+            record.setStatus(i % 3 == 0 ? RentRecordStatus.PARTIAL : RentRecordStatus.PAID);
+            record.setAccountId(1L + i % 3);
+            record.setAccountName("Account " + i % 3);
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,145 @@
+package com.pgms.mapper;
+
+import com.pgms.dto.TenantRequest;
+import com.pgms.entity.Account;
+import com.pgms.entity.DailyFoodOption;
+import com.pgms.entity.PaymentStatus;
+import com.pgms.entity.SharingType;
+import com.pgms.entity.Tenant;
+import com.pgms.entity.VerificationStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps a whole tenant list per operation, as the list endpoints and tenant saves do. Run with {@code -prof gc} to see
+ * the allocation per list alongside the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TenantMapperBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<Tenant> tenants;
+    private List<TenantRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Account> accounts = List.of(account(1L, "Cash", "CASH"), account(2L, "HDFC", "UPI"), account(3L, "SBI", "BANK"));
+        OffsetDateTime now = OffsetDateTime.of(2025, 1, 1, 9, 30, 0, 0, ZoneOffset.ofHoursMinutes(5, 30));
+        tenants = new ArrayList<>(size);
+        requests = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boolean daily = i % 10 == 0;
+            Account account = accounts.get(i % accounts.size());
+            Tenant tenant = new Tenant();
+            tenant.setId((long) i + 1);
+            tenant.setFullName("Tenant " + i);
+            tenant.setTenantPhoneNumber(String.valueOf(9_000_000_000L + i));
+            tenant.setDailyAccommodation(daily);
+            tenant.setDailyFoodOption(daily ? DailyFoodOption.WITH_FOOD : null);
+            tenant.setDailyCollectionAmount(daily ? new BigDecimal("450.00") : null);
+            tenant.setDailyCollectionTransactionDate(daily ? LocalDate.of(2025, 1, 1 + i % 28) : null);
+            tenant.setDailyCollectionAccount(daily ? account : null);
+            tenant.setDailyStayDays(daily ? 3 : null);
+            tenant.setRoomNumber(String.valueOf(100 + i % 40));
+            tenant.setRent(new BigDecimal("8500.00"));
+            tenant.setDeposit(new BigDecimal("10000.00"));
+            tenant.setJoiningDate(LocalDate.of(2024, 1 + i % 12, 1 + i % 28));
+            tenant.setEmergencyContactNumber(String.valueOf(8_000_000_000L + i));
+            tenant.setEmergencyContactRelationship(i % 2 == 0 ? "Father" : "Mother");
+            tenant.setSharing(SharingType.values()[i % SharingType.values().length]);
+            tenant.setPaymentStatus(PaymentStatus.values()[i % PaymentStatus.values().length]);
+            tenant.setCompanyName("Company " + i % 25);
+            tenant.setCompanyAddress("Tech Park, Block " + i % 5);
+            tenant.setRentDueAmount(new BigDecimal(i % 3 == 0 ? "8500.00" : "0.00"));
+            tenant.setRentPaidAmount(new BigDecimal(i % 3 == 0 ? "0.00" : "8500.00"));
+            tenant.setDepositPaidAmount(new BigDecimal("10000.00"));
+            tenant.setJoiningCollectionAccount(daily ? null : account);
+            tenant.setVerificationStatus(i % 4 == 0 ? VerificationStatus.NOT_DONE : VerificationStatus.DONE);
+            tenant.setActive(true);
+            tenant.setCreatedAt(now.minusMinutes(i));
+            tenant.setUpdatedAt(now.minusMinutes(i / 2));
+            tenants.add(tenant);
+            requests.add(request(tenant));
+        }
+    }
+
+    @Benchmark
+    public void toResponse(Blackhole blackhole) {
+        for (Tenant tenant : tenants) {
+            blackhole.consume(TenantMapper.toResponse(tenant));
+        }
+    }
+
+    @Benchmark
+    public void toEntity(Blackhole blackhole) {
+        for (TenantRequest request : requests) {
+            blackhole.consume(TenantMapper.toEntity(request));
+        }
+    }
+
+    private static Account account(Long id, String name, String mode) {
+        Account account = new Account();
+        account.setId(id);
+        account.setName(name);
+        account.setMode(mode);
+        return account;
+    }
+
+    private static TenantRequest request(Tenant tenant) {
+        TenantRequest request = new TenantRequest();
+        request.setFullName(tenant.getFullName());
+        request.setTenantPhoneNumber(tenant.getTenantPhoneNumber());
+        request.setDailyAccommodation(tenant.isDailyAccommodation());
+        request.setDailyFoodOption(tenant.getDailyFoodOption());
+        request.setDailyCollectionAmount(tenant.getDailyCollectionAmount());
+        request.setDailyCollectionTransactionDate(tenant.getDailyCollectionTransactionDate());
+        request.setDailyCollectionAccountId(
+                tenant.getDailyCollectionAccount() != null ? tenant.getDailyCollectionAccount().getId() : null
+        );
+        request.setDailyStayDays(tenant.getDailyStayDays());
+        request.setRoomNumber(tenant.getRoomNumber());
+        request.setRent(tenant.getRent());
+        request.setDeposit(tenant.getDeposit());
+        request.setJoiningDate(tenant.getJoiningDate());
+        request.setEmergencyContactNumber(tenant.getEmergencyContactNumber());
+        request.setEmergencyContactRelationship(tenant.getEmergencyContactRelationship());
+        request.setSharing(tenant.getSharing());
+        request.setPaymentStatus(tenant.getPaymentStatus());
+        request.setCompanyName(tenant.getCompanyName());
+        request.setCompanyAddress(tenant.getCompanyAddress());
+        request.setRentDueAmount(tenant.getRentDueAmount());
+        request.setRentPaidAmount(tenant.getRentPaidAmount());
+        request.setDepositPaidAmount(tenant.getDepositPaidAmount());
+        request.setJoiningCollectionAccountId(
+                tenant.getJoiningCollectionAccount() != null ? tenant.getJoiningCollectionAccount().getId() : null
+        );
+        request.setVerificationStatus(tenant.getVerificationStatus());
+        return request;
+    }
+}
@@ -0,0 +1,226 @@
+package com.pgms.repository;
+
+import com.pgms.entity.Account;
+import com.pgms.entity.DueRent;
+import com.pgms.entity.PaymentStatus;
+import com.pgms.entity.RentRecordStatus;
+import com.pgms.entity.SharingType;
+import com.pgms.entity.Tenant;
+import com.pgms.entity.VerificationStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Persists {@code rows} due rents through a Hibernate {@link EntityManager} configured like the application
+ * ({@code hibernate.jdbc.batch_size}, ordered inserts, {@code reWriteBatchedInserts}), comparing the two ways the
+ * entity's id can be generated:
+ * <ul>
+ *     <li>{@code identity}: the same table mapped with {@code GenerationType.IDENTITY}, which makes Hibernate send
+ *     every row on its own to read back the id, whatever the batch size;</li>
+ *     <li>{@code pooled}: {@link DueRent} itself, whose pooled {@code @SequenceGenerator} reserves 50 ids per
+ *     sequence call so the inserts can go out in batches.</li>
+ * </ul>
+ * Runs against a database migrated by Flyway: the rows belong to a throwaway tenant that is created for the trial
+ * and removed with its due rents afterwards. Needs
+ * {@code -Dbench.db.url=jdbc:postgresql://localhost:5432/pgms -Dbench.db.username=... -Dbench.db.password=...}
+ * (defaults to the {@code DB_URL}, {@code DB_USERNAME} and {@code DB_PASSWORD} environment variables).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DueRentInsertBenchmark {
+
+    private static final LocalDate FIRST_MONTH = LocalDate.of(2000, 1, 1);
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"identity", "pooled"})
+    public String strategy;
+
+    @Param({"50"})
+    public int batchSize;
+
+    private EntityManagerFactory entityManagerFactory;
+    private Long tenantId;
+
+    @Setup(Level.Trial)
+    public void connect() {
+        String url = System.getProperty("bench.db.url", System.getenv("DB_URL"));
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("Set -Dbench.db.url (or DB_URL) to a Postgres database");
+        }
+        entityManagerFactory = new Configuration()
+                .addAnnotatedClass(Account.class)
+                .addAnnotatedClass(Tenant.class)
+                .addAnnotatedClass(DueRent.class)
+                .addAnnotatedClass(IdentityDueRent.class)
+                .setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy())
+                .setProperty("hibernate.connection.url", url)
+                .setProperty("hibernate.connection.username", System.getProperty("bench.db.username", nvl(System.getenv("DB_USERNAME"))))
+                .setProperty("hibernate.connection.password", System.getProperty("bench.db.password", nvl(System.getenv("DB_PASSWORD"))))
+                .setProperty("hibernate.connection.reWriteBatchedInserts", "true")
+                .setProperty("hibernate.jdbc.batch_size", String.valueOf(batchSize))
+                .setProperty("hibernate.order_inserts", "true")
+                .setProperty("hibernate.order_updates", "true")
+                .setProperty("hibernate.hbm2ddl.auto", "none")
+                .buildSessionFactory();
+
+        Tenant tenant = new Tenant();
+        tenant.setFullName("Insert benchmark");
+        tenant.setRoomNumber("BENCH");
+        tenant.setRent(BigDecimal.valueOf(6_000));
+        tenant.setDeposit(BigDecimal.ZERO);
+        tenant.setJoiningDate(FIRST_MONTH);
+        tenant.setDailyAccommodation(false);
+        tenant.setSharing(SharingType.SINGLE);
+        tenant.setPaymentStatus(PaymentStatus.DUE);
+        tenant.setRentDueAmount(BigDecimal.ZERO);
+        tenant.setVerificationStatus(VerificationStatus.NOT_DONE);
+        inTransaction(entityManager -> entityManager.persist(tenant));
+        tenantId = tenant.getId();
+    }
+
+    @Setup(Level.Invocation)
+    public void deleteDueRents() {
+        inTransaction(entityManager -> entityManager
+                .createNativeQuery("delete from due_rents where tenant_id = ?1")
+                .setParameter(1, tenantId)
+                .executeUpdate());
+    }
+
+    @TearDown(Level.Trial)
+    public void disconnect() {
+        deleteDueRents();
+        inTransaction(entityManager -> entityManager.remove(entityManager.find(Tenant.class, tenantId)));
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public int insert() {
+        boolean identity = "identity".equals(strategy);
+        inTransaction(entityManager -> {
+            Tenant tenant = entityManager.getReference(Tenant.class, tenantId);
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(identity ? identityDueRent(i) : dueRent(tenant, i));
+                // Flushing and clearing every batch keeps the persistence context from growing with the rows.
+                if ((i + 1) % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    tenant = entityManager.getReference(Tenant.class, tenantId);
+                }
+            }
+        });
+        return rows;
+    }
+
+    private DueRent dueRent(Tenant tenant, int row) {
+        DueRent dueRent = new DueRent();
+        dueRent.setTenant(tenant);
+        dueRent.setBillingMonth(FIRST_MONTH.plusMonths(row));
+        dueRent.setDueAmount(dueAmount(row));
+        dueRent.setPaidAmount(BigDecimal.ZERO);
+        dueRent.setStatus(RentRecordStatus.DUE);
+        return dueRent;
+    }
+
+    private IdentityDueRent identityDueRent(int row) {
+        IdentityDueRent dueRent = new IdentityDueRent();
+        dueRent.tenantId = tenantId;
+        dueRent.billingMonth = FIRST_MONTH.plusMonths(row);
+        dueRent.dueAmount = dueAmount(row);
+        dueRent.paidAmount = BigDecimal.ZERO;
+        dueRent.status = RentRecordStatus.DUE;
+        dueRent.createdAt = OffsetDateTime.now();
+        dueRent.updatedAt = dueRent.createdAt;
+        return dueRent;
+    }
+
+    private BigDecimal dueAmount(int row) {
+        return BigDecimal.valueOf(6_000 + (row % 40) * 250L, 0);
+    }
+
+    private void inTransaction(Consumer<EntityManager> work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            work.accept(entityManager);
+            entityManager.getTransaction().commit();
+        } finally {
+            if (entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+            }
+            entityManager.close();
+        }
+    }
+
+    private static String nvl(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * {@code due_rents} mapped the way it was before the pooled sequence: the id comes from the column default.
+     */
+    @Entity(name = "IdentityDueRent")
+    @Table(name = "due_rents")
+    public static class IdentityDueRent {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @Column(name = "tenant_id", nullable = false)
+        Long tenantId;
+
+        @Column(name = "billing_month", nullable = false)
+        LocalDate billingMonth;
+
+        @Column(name = "due_amount", nullable = false)
+        BigDecimal dueAmount;
+
+        @Column(name = "paid_amount", nullable = false)
+        BigDecimal paidAmount;
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false)
+        RentRecordStatus status;
+
+        @Column(name = "created_at", nullable = false)
+        OffsetDateTime createdAt;
+
+        @Column(name = "updated_at", nullable = false)
+        OffsetDateTime updatedAt;
+    }
+}
@@ -0,0 +1,147 @@
+package com.pgms.service.impl;
+
+import com.pgms.entity.Account;
+import com.pgms.entity.CollectionRent;
+import com.pgms.entity.Tenant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Postgres collection report minus the database: entities already loaded, newest first, as the two report
+ * streams return them (nine regular collections to every daily one). Measures mapping them to export rows, quoting
+ * cells, and the whole merge-and-write into a discarding stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollectionReportBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private List<CollectionRent> collections;
+    private List<Tenant> dailyTenants;
+    private List<RentServiceImpl.ExportRow> exportRows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Account> accounts = List.of(account(1L, "Cash", "CASH"), account(2L, "HDFC", "UPI"), account(3L, "SBI", "BANK"));
+        OffsetDateTime latest = OffsetDateTime.of(2025, 3, 31, 21, 0, 0, 0, ZoneOffset.ofHoursMinutes(5, 30));
+        collections = new ArrayList<>(rows);
+        dailyTenants = new ArrayList<>(rows / 10 + 1);
+        for (int i = 0; i < rows; i++) {
+            Account account = accounts.get(i % accounts.size());
+            Tenant tenant = new Tenant();
+            tenant.setId((long) i % 500 + 1);
+            // Names with quotes and commas exercise the escaping path on a realistic share of cells.
+            tenant.setFullName(i % 50 == 0 ? "Ravi \"RK\" Kumar, Jr" : "Tenant " + i % 500);
+            tenant.setRoomNumber(String.valueOf(100 + i % 40));
+            if (i % 10 == 0) {
+                tenant.setDailyAccommodation(true);
+                tenant.setDailyCollectionAmount(new BigDecimal("450.00"));
+                tenant.setDailyCollectionTransactionDate(latest.toLocalDate().minusDays(i / 10 / 8));
+                tenant.setDailyCollectionAccount(account);
+                dailyTenants.add(tenant);
+                continue;
+            }
+            OffsetDateTime collectedAt = latest.minusMinutes(i * 7L);
+            CollectionRent collection = new CollectionRent();
+            collection.setDueRentId((long) i + 1);
+            collection.setTenant(tenant);
+            collection.setBillingMonth(YearMonth.from(collectedAt).atDay(1));
+            collection.setCollectedAmount(new BigDecimal(i % 3 == 0 ? "4250.00" : "8500.00"));
+            collection.setCollectedAt(collectedAt);
+            collection.setAccount(account);
+            collections.add(collection);
+        }
+        exportRows = new ArrayList<>(rows);
+        collections.forEach(collection -> exportRows.add(RentServiceImpl.ExportRow.regular(collection)));
+        dailyTenants.forEach(tenant -> exportRows.add(RentServiceImpl.ExportRow.daily(tenant)));
+    }
+
+    @Benchmark
+    public void exportRows(Blackhole blackhole) {
+        for (CollectionRent collection : collections) {
+            blackhole.consume(RentServiceImpl.ExportRow.regular(collection));
+        }
+        for (Tenant tenant : dailyTenants) {
+            blackhole.consume(RentServiceImpl.ExportRow.daily(tenant));
+        }
+    }
+
+    @Benchmark
+    public void csvCells(Blackhole blackhole) {
+        for (RentServiceImpl.ExportRow row : exportRows) {
+            blackhole.consume(CollectionReportCsvWriter.csvCell(row.type()));
+            blackhole.consume(CollectionReportCsvWriter.csvCell(row.transactionDateTime()));
+            blackhole.consume(CollectionReportCsvWriter.csvCell(row.tenantName()));
+            blackhole.consume(CollectionReportCsvWriter.csvCell(row.roomNumber()));
+            blackhole.consume(CollectionReportCsvWriter.csvCell(row.billingMonth()));
+            blackhole.consume(CollectionReportCsvWriter.csvCell(row.amount()));
+            blackhole.consume(CollectionReportCsvWriter.csvCell(row.accountName()));
+            blackhole.consume(CollectionReportCsvWriter.csvCell(row.accountMode()));
+        }
+    }
+
+    @Benchmark
+    public void writeReport() {
+        Iterator<RentServiceImpl.ExportRow> regularRows = collections.stream()
+                .map(RentServiceImpl.ExportRow::regular)
+                .iterator();
+        Iterator<RentServiceImpl.ExportRow> dailyRows = dailyTenants.stream()
+                .map(RentServiceImpl.ExportRow::daily)
+                .iterator();
+        Iterator<RentServiceImpl.ExportRow> merged = new SortedMergeIterator<>(
+                List.of(regularRows, dailyRows),
+                RentServiceImpl.ExportRow.NEWEST_FIRST
+        );
+        CollectionReportCsvWriter csv = new CollectionReportCsvWriter(OutputStream.nullOutputStream());
+        csv.writeHeader();
+        while (merged.hasNext()) {
+            RentServiceImpl.ExportRow row = merged.next();
+            csv.writeRow(
+                    row.type(),
+                    row.transactionDateTime(),
+                    row.tenantName(),
+                    row.roomNumber(),
+                    row.billingMonth(),
+                    row.amount(),
+                    row.accountName(),
+                    row.accountMode()
+            );
+        }
+        csv.flush();
+    }
+
+    private static Account account(Long id, String name, String mode) {
+        Account account = new Account();
+        account.setId(id);
+        account.setName(name);
+        account.setMode(mode);
+        return account;
+    }
+}
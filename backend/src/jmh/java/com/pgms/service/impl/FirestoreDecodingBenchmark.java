@@ -0,0 +1,104 @@
+package com.pgms.service.impl;
+
+import com.google.cloud.Timestamp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes due rent documents the way the Firestore rent service does once the client has parsed them: field values
+ * as the SDK hands them back (amounts and dates as the strings we store, ids as longs, {@code updatedAt} as a
+ * {@link Timestamp}), looked up from a map standing in for the snapshot. The per-converter benchmarks isolate the
+ * amount, date and timestamp parsing that dominate it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FirestoreDecodingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int documents;
+
+    private List<Map<String, Object>> dueRents;
+    private String[] ids;
+    private Object[] amounts;
+    private Object[] dates;
+    private Object[] timestamps;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long latestSeconds = 1_743_433_200L;
+        dueRents = new ArrayList<>(documents);
+        ids = new String[documents];
+        amounts = new Object[documents];
+        dates = new Object[documents];
+        timestamps = new Object[documents];
+        for (int i = 0; i < documents; i++) {
+            boolean partial = i % 3 == 0;
+            Map<String, Object> doc = new HashMap<>();
+            doc.put("id", (long) i + 1);
+            doc.put("tenantId", (long) i % 500 + 1);
+            doc.put("tenantName", "Tenant " + i % 500);
+            doc.put("roomNumber", String.valueOf(100 + i % 40));
+            doc.put("billingMonth", String.format("%d-%02d-01", 2024 + i / 12 % 2, 1 + i % 12));
+            doc.put("dueAmount", "8500.00");
+            doc.put("paidAmount", partial ? "4250.00" : "8500.00");
+            doc.put("status", partial ? "PARTIAL" : "PAID");
+            doc.put("accountId", (long) i % 3 + 1);
+            doc.put("accountName", "Account " + i % 3);
+            doc.put("updatedAt", Timestamp.ofTimeSecondsAndNanos(latestSeconds - i * 420L, 0));
+            dueRents.add(doc);
+            ids[i] = String.valueOf(i + 1);
+            amounts[i] = doc.get("paidAmount");
+            dates[i] = doc.get("billingMonth");
+            timestamps[i] = doc.get("updatedAt");
+        }
+    }
+
+    @Benchmark
+    public void toDueRentPayload(Blackhole blackhole) {
+        for (int i = 0; i < documents; i++) {
+            blackhole.consume(FirestoreRentServiceImpl.toDueRentPayload(ids[i], dueRents.get(i)::get));
+        }
+    }
+
+    @Benchmark
+    public void toBigDecimal(Blackhole blackhole) {
+        for (Object amount : amounts) {
+            blackhole.consume(FirestoreRentServiceImpl.toBigDecimal(amount));
+        }
+    }
+
+    @Benchmark
+    public void parseDate(Blackhole blackhole) {
+        for (Object date : dates) {
+            blackhole.consume(FirestoreRentServiceImpl.parseDate(date));
+        }
+    }
+
+    @Benchmark
+    public void toOffsetDateTime(Blackhole blackhole) {
+        for (Object timestamp : timestamps) {
+            blackhole.consume(FirestoreRentServiceImpl.toOffsetDateTime(timestamp));
+        }
+    }
+}
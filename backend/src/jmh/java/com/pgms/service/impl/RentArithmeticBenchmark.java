@@ -0,0 +1,89 @@
+package com.pgms.service.impl;
+
+import com.pgms.entity.Tenant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The BigDecimal rules applied on every rent and tenant write: {@code resolveStatus} over due/paid pairs in the
+ * DUE/PARTIAL/PAID mix the rent tables hold, and {@code normalizeFinancials} over regular and daily tenants.
+ * Normalising mutates the tenants, but every pass after the first runs the same comparisons and arithmetic, so the
+ * entities are reused rather than rebuilt per invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RentArithmeticBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private BigDecimal[] dueAmounts;
+    private BigDecimal[] paidAmounts;
+    private List<Tenant> tenants;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dueAmounts = new BigDecimal[size];
+        paidAmounts = new BigDecimal[size];
+        tenants = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            BigDecimal rent = BigDecimal.valueOf(6_000 + (i % 40) * 250L, 0).setScale(2);
+            dueAmounts[i] = rent;
+            paidAmounts[i] = switch (i % 3) {
+                case 0 -> BigDecimal.ZERO.setScale(2);
+                case 1 -> rent.divide(BigDecimal.valueOf(2));
+                default -> rent;
+            };
+
+            Tenant tenant = new Tenant();
+            if (i % 10 == 0) {
+                tenant.setDailyAccommodation(true);
+                tenant.setDailyCollectionAmount(i % 20 == 0 ? new BigDecimal("450.00") : null);
+                tenant.setDailyStayDays(i % 7);
+                tenant.setJoiningDate(LocalDate.of(2025, 1, 1 + i % 28));
+            } else {
+                tenant.setRent(rent);
+                tenant.setDeposit(rent.multiply(BigDecimal.valueOf(2)));
+                tenant.setRentPaidAmount(paidAmounts[i]);
+                tenant.setDepositPaidAmount(i % 4 == 0 ? null : rent);
+            }
+            tenants.add(tenant);
+        }
+    }
+
+    @Benchmark
+    public void resolveStatus(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(RentServiceImpl.resolveStatus(dueAmounts[i], paidAmounts[i]));
+        }
+    }
+
+    @Benchmark
+    public void normalizeFinancials(Blackhole blackhole) {
+        for (Tenant tenant : tenants) {
+            TenantServiceImpl.normalizeFinancials(tenant);
+            blackhole.consume(tenant.getRentDueAmount());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.pgms.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Blocking JSON client for the backend's REST API. Every call is timed into the {@link LatencyRecorder} under the
+ * endpoint label it is given, so seeding and the measured run report the same way.
+ */
+final class ApiClient {
+
+    private final HttpClient http;
+    private final ObjectMapper mapper;
+    private final String baseUrl;
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    JsonNode get(LatencyRecorder recorder, String endpoint, String path) {
+        return send(recorder, endpoint, HttpRequest.newBuilder(uri(path)).GET());
+    }
+
+    /**
+     * Reads the whole response body without keeping it, for the streaming CSV export.
+     */
+    void download(LatencyRecorder recorder, String endpoint, String path) {
+        long start = System.nanoTime();
+        int status = 0;
+        try {
+            HttpResponse<InputStream> response = http.send(
+                    HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(120)).GET().build(),
+                    HttpResponse.BodyHandlers.ofInputStream()
+            );
+            status = response.statusCode();
+            try (InputStream body = response.body()) {
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("GET " + path + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during GET " + path, e);
+        } finally {
+            recorder.record(endpoint, System.nanoTime() - start, status);
+        }
+        if (status >= 400) {
+            throw new ApiException("GET " + path, status, "");
+        }
+    }
+
+    JsonNode post(LatencyRecorder recorder, String endpoint, String path, Map<String, ?> body) {
+        return send(recorder, endpoint, HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(json(body)));
+    }
+
+    JsonNode put(LatencyRecorder recorder, String endpoint, String path, Map<String, ?> body) {
+        return send(recorder, endpoint, HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .PUT(json(body)));
+    }
+
+    JsonNode patch(LatencyRecorder recorder, String endpoint, String path) {
+        return send(recorder, endpoint, HttpRequest.newBuilder(uri(path))
+                .method("PATCH", HttpRequest.BodyPublishers.noBody()));
+    }
+
+    private JsonNode send(LatencyRecorder recorder, String endpoint, HttpRequest.Builder builder) {
+        HttpRequest request = builder.timeout(Duration.ofSeconds(60)).header("Accept", "application/json").build();
+        long start = System.nanoTime();
+        int status = 0;
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            status = response.statusCode();
+        } catch (IOException e) {
+            throw new UncheckedIOException(request.method() + " " + request.uri() + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during " + request.method() + " " + request.uri(), e);
+        } finally {
+            recorder.record(endpoint, System.nanoTime() - start, status);
+        }
+        if (status >= 400) {
+            throw new ApiException(request.method() + " " + request.uri(), status, new String(response.body()));
+        }
+        try {
+            return response.body().length == 0 ? NullNode.getInstance() : mapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable response from " + request.uri(), e);
+        }
+    }
+
+    private HttpRequest.BodyPublisher json(Map<String, ?> body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode request body", e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    static final class ApiException extends RuntimeException {
+        ApiException(String request, int status, String body) {
+            super(request + " returned " + status + (body.isBlank() ? "" : ": " + body));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.pgms.loadtest;
+
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.FirestoreOptions;
+import com.google.cloud.firestore.WriteBatch;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Moves seeded collections back to the day they were paid. Both providers stamp a collection with the time of the
+ * write that settles it, so payments seeded through the API alone would put the whole collection history in the
+ * current month. The seeder makes the payments through the API and then rewrites their {@code collectedAt} here,
+ * straight in the store the backend runs on, before asking the backend to rebuild its dashboard aggregates.
+ */
+abstract class CollectionHistory implements AutoCloseable {
+
+    private static final int BATCH_SIZE = 500;
+
+    static CollectionHistory connect(LoadTest.Config config) {
+        return "firebase".equals(config.provider()) ? new FirestoreHistory(config) : new PostgresHistory(config);
+    }
+
+    abstract void backdate(List<Payment> payments);
+
+    @Override
+    public abstract void close();
+
+    static OffsetDateTime collectedAt(LocalDate paidOn) {
+        return paidOn.atTime(12, 0).atZone(ZoneId.systemDefault()).toOffsetDateTime();
+    }
+
+    record Payment(long dueRentId, LocalDate paidOn) {
+    }
+
+    private static final class PostgresHistory extends CollectionHistory {
+
+        private final Connection connection;
+
+        PostgresHistory(LoadTest.Config config) {
+            if (config.dbUrl() == null || config.dbUrl().isBlank()) {
+                throw new IllegalStateException("Set -Dloadtest.db.url (or DB_URL) to backdate seeded collections");
+            }
+            try {
+                connection = DriverManager.getConnection(config.dbUrl(), config.dbUsername(), config.dbPassword());
+                connection.setAutoCommit(false);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to connect to " + config.dbUrl(), e);
+            }
+        }
+
+        @Override
+        void backdate(List<Payment> payments) {
+            try (PreparedStatement update = connection.prepareStatement(
+                    "update collection_rents set collected_at = ?, updated_at = ? where due_rent_id = ?")) {
+                for (int i = 0; i < payments.size(); i++) {
+                    OffsetDateTime collectedAt = collectedAt(payments.get(i).paidOn());
+                    update.setObject(1, collectedAt);
+                    update.setObject(2, collectedAt);
+                    update.setLong(3, payments.get(i).dueRentId());
+                    update.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0) {
+                        update.executeBatch();
+                    }
+                }
+                update.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to backdate seeded collections", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to close the database connection", e);
+            }
+        }
+    }
+
+    private static final class FirestoreHistory extends CollectionHistory {
+
+        private final Firestore firestore;
+
+        FirestoreHistory(LoadTest.Config config) {
+            // With FIRESTORE_EMULATOR_HOST set the client targets the emulator and supplies its own credentials.
+            FirestoreOptions.Builder options = FirestoreOptions.newBuilder();
+            if (config.firebaseProjectId() != null && !config.firebaseProjectId().isBlank()) {
+                options.setProjectId(config.firebaseProjectId().trim());
+            }
+            if (config.firebaseCredentialsPath() != null && !config.firebaseCredentialsPath().isBlank()) {
+                try (InputStream stream = new FileInputStream(config.firebaseCredentialsPath().trim())) {
+                    options.setCredentials(GoogleCredentials.fromStream(stream));
+                } catch (IOException e) {
+                    throw new IllegalStateException("Failed to read " + config.firebaseCredentialsPath(), e);
+                }
+            }
+            firestore = options.build().getService();
+        }
+
+        @Override
+        void backdate(List<Payment> payments) {
+            try {
+                for (int from = 0; from < payments.size(); from += BATCH_SIZE) {
+                    WriteBatch batch = firestore.batch();
+                    for (Payment payment : payments.subList(from, Math.min(from + BATCH_SIZE, payments.size()))) {
+                        OffsetDateTime collectedAt = collectedAt(payment.paidOn());
+                        Timestamp timestamp = Timestamp.ofTimeSecondsAndNanos(collectedAt.toEpochSecond(), 0);
+                        batch.update(
+                                firestore.collection("collectionRents").document(String.valueOf(payment.dueRentId())),
+                                Map.of("collectedAt", timestamp)
+                        );
+                    }
+                    batch.commit().get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while backdating seeded collections", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to backdate seeded collections", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                firestore.close();
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to close the Firestore client", e);
+            }
+        }
+    }
+}
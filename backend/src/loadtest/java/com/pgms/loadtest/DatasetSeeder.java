@@ -0,0 +1,203 @@
+package com.pgms.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds a synthetic PG through the public API, so the same data lands in Postgres or Firestore through the services'
+ * own write paths: accounts, {@code tenants} residents (one in ten on daily stays), a due rent per regular tenant for
+ * each of the last {@code months} months, collections for most past dues and some of this month's, and a spread of
+ * expenses. The API dates every collection at the moment it was written, so the payments are then backdated to the
+ * days they were made directly in the store (see {@link CollectionHistory}) and the dashboard aggregates rebuilt.
+ * Names carry the run id so repeated seeding against the same database does not collide.
+ */
+final class DatasetSeeder {
+
+    private static final String[] ACCOUNT_MODES = {"CASH", "UPI", "BANK"};
+    private static final String[] SHARING = {"SINGLE", "DOUBLE", "TRIPLE", "MULTI"};
+    private static final String[] EXPENSE_TAGS = {"Groceries", "Electricity", "Water", "Maintenance", "Salaries"};
+
+    private final ApiClient api;
+    private final LatencyRecorder recorder;
+    private final LoadTest.Config config;
+
+    DatasetSeeder(ApiClient api, LatencyRecorder recorder, LoadTest.Config config) {
+        this.api = api;
+        this.recorder = recorder;
+        this.config = config;
+    }
+
+    Dataset seed() {
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < config.accounts(); i++) {
+            JsonNode account = api.post(recorder, "seed POST /api/accounts", "/api/accounts", Map.of(
+                    "name", "Load " + config.runId() + " account " + i,
+                    "mode", ACCOUNT_MODES[i % ACCOUNT_MODES.length]
+            ));
+            accountIds.add(account.get("id").asLong());
+        }
+
+        YearMonth current = YearMonth.now();
+        YearMonth first = current.minusMonths(config.months() - 1L);
+        Queue<OpenDue> openDues = new ConcurrentLinkedQueue<>();
+        Queue<CollectionHistory.Payment> payments = new ConcurrentLinkedQueue<>();
+        AtomicInteger seeded = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(config.seedConcurrency());
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < config.tenants(); i++) {
+                int index = i;
+                tasks.add(pool.submit(() -> {
+                    seedTenant(index, accountIds, first, current, openDues, payments);
+                    int done = seeded.incrementAndGet();
+                    if (done % Math.max(config.tenants() / 10, 1) == 0) {
+                        System.out.printf("Seeded %d/%d tenants%n", done, config.tenants());
+                    }
+                }));
+            }
+            for (YearMonth month = first; !month.isAfter(current); month = month.plusMonths(1)) {
+                YearMonth expenseMonth = month;
+                tasks.add(pool.submit(() -> seedExpenses(expenseMonth, accountIds)));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while seeding", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Seeding failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        try (CollectionHistory history = CollectionHistory.connect(config)) {
+            history.backdate(List.copyOf(payments));
+        }
+        // Backdating moved collections between months behind the aggregates' back; the rebuild recounts them.
+        api.post(recorder, "seed POST /api/rents/dashboard/rebuild", "/api/rents/dashboard/rebuild", Map.of());
+        return new Dataset(accountIds, List.copyOf(openDues), first, current);
+    }
+
+    private void seedTenant(
+            int index,
+            List<Long> accountIds,
+            YearMonth first,
+            YearMonth current,
+            Queue<OpenDue> openDues,
+            Queue<CollectionHistory.Payment> payments
+    ) {
+        SplittableRandom random = new SplittableRandom(config.randomSeed() + index);
+        Long accountId = accountIds.get(index % accountIds.size());
+        BigDecimal rent = BigDecimal.valueOf(6_000 + random.nextInt(40) * 250L).setScale(2);
+        boolean daily = index % 10 == 0;
+        LocalDate joiningDate = first.atDay(1).minusDays(random.nextInt(90));
+
+        Map<String, Object> tenant = new HashMap<>();
+        tenant.put("fullName", "Load " + config.runId() + " tenant " + index);
+        tenant.put("tenantPhoneNumber", String.valueOf(9_000_000_000L + index));
+        tenant.put("roomNumber", String.valueOf(100 + index % 60));
+        tenant.put("sharing", SHARING[index % SHARING.length]);
+        tenant.put("paymentStatus", "DUE");
+        tenant.put("verificationStatus", index % 4 == 0 ? "NOT_DONE" : "DONE");
+        tenant.put("companyName", "Company " + index % 40);
+        tenant.put("emergencyContactNumber", String.valueOf(8_000_000_000L + index));
+        tenant.put("emergencyContactRelationship", index % 2 == 0 ? "Father" : "Mother");
+        if (daily) {
+            LocalDate stay = first.atDay(1).plusDays(random.nextInt(config.months() * 28));
+            stay = stay.isAfter(LocalDate.now()) ? LocalDate.now() : stay;
+            tenant.put("dailyAccommodation", true);
+            tenant.put("dailyFoodOption", index % 20 == 0 ? "WITH_FOOD" : "WITHOUT_FOOD");
+            tenant.put("dailyCollectionAmount", new BigDecimal("450.00"));
+            tenant.put("dailyCollectionTransactionDate", stay);
+            tenant.put("dailyCollectionAccountId", accountId);
+            tenant.put("dailyStayDays", 1 + random.nextInt(5));
+            tenant.put("joiningDate", stay);
+            tenant.put("rent", BigDecimal.ZERO);
+            tenant.put("deposit", BigDecimal.ZERO);
+        } else {
+            tenant.put("joiningDate", joiningDate);
+            tenant.put("rent", rent);
+            tenant.put("deposit", rent.multiply(BigDecimal.valueOf(2)));
+            tenant.put("depositPaidAmount", rent.multiply(BigDecimal.valueOf(2)));
+            tenant.put("joiningCollectionAccountId", accountId);
+        }
+        tenant.putIfAbsent("depositPaidAmount", BigDecimal.ZERO);
+        tenant.put("rentDueAmount", daily ? BigDecimal.ZERO : rent);
+        tenant.put("rentPaidAmount", BigDecimal.ZERO);
+        long tenantId = api.post(recorder, "seed POST /api/tenants", "/api/tenants", tenant).get("id").asLong();
+        if (daily) {
+            return;
+        }
+
+        for (YearMonth month = first; !month.isAfter(current); month = month.plusMonths(1)) {
+            JsonNode due = api.post(recorder, "seed POST /api/rents", "/api/rents", Map.of(
+                    "tenantId", tenantId,
+                    "billingMonth", month.atDay(1),
+                    "dueAmount", rent,
+                    "paidAmount", BigDecimal.ZERO
+            ));
+            long dueId = due.get("id").asLong();
+            // Past months are mostly settled; the current month is still being collected.
+            int roll = random.nextInt(100);
+            boolean currentMonth = month.equals(current);
+            BigDecimal paid = roll < (currentMonth ? 40 : 85) ? rent
+                    : roll < (currentMonth ? 60 : 95) ? rent.divide(BigDecimal.valueOf(2))
+                    : BigDecimal.ZERO;
+            if (paid.signum() > 0) {
+                LocalDate paidOn = month.atDay(1 + random.nextInt(10));
+                paidOn = paidOn.isAfter(LocalDate.now()) ? LocalDate.now() : paidOn;
+                api.put(recorder, "seed PUT /api/rents/{recordId}", "/api/rents/" + dueId, Map.of(
+                        "dueAmount", rent,
+                        "paidAmount", paid,
+                        "accountId", accountId,
+                        "transactionDate", paidOn
+                ));
+                payments.add(new CollectionHistory.Payment(dueId, paidOn));
+            }
+            if (currentMonth && paid.compareTo(rent) < 0) {
+                openDues.add(new OpenDue(dueId, rent));
+            }
+        }
+    }
+
+    private void seedExpenses(YearMonth month, List<Long> accountIds) {
+        SplittableRandom random = new SplittableRandom(config.randomSeed() ^ month.hashCode());
+        LocalDate lastDay = month.atEndOfMonth().isAfter(LocalDate.now()) ? LocalDate.now() : month.atEndOfMonth();
+        for (int i = 0; i < config.expensesPerMonth(); i++) {
+            String tag = EXPENSE_TAGS[random.nextInt(EXPENSE_TAGS.length)];
+            api.post(recorder, "seed POST /api/expenses", "/api/expenses", Map.of(
+                    "description", tag + " " + month + " #" + i,
+                    "amount", BigDecimal.valueOf(50_000 + random.nextInt(2_000_000), 2),
+                    "transactionDate", month.atDay(1 + random.nextInt(lastDay.getDayOfMonth())),
+                    "tag", tag,
+                    "accountId", accountIds.get(random.nextInt(accountIds.size()))
+            ));
+        }
+    }
+
+    /**
+     * What the workload needs from the seeded data: accounts to pay into, this month's unsettled dues to pay, and the
+     * seeded month range to query.
+     */
+    record Dataset(List<Long> accountIds, List<OpenDue> openDues, YearMonth firstMonth, YearMonth currentMonth) {
+    }
+
+    record OpenDue(long id, BigDecimal dueAmount) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.pgms.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps every latency sample per endpoint so percentiles are exact rather than bucketed. A two-minute run at a few
+ * thousand requests per second is well within what fits in memory.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean enabled = true;
+
+    void record(String endpoint, long nanos, int status) {
+        if (enabled) {
+            endpoints.computeIfAbsent(endpoint, key -> new Samples()).add(nanos, status == 0 || status >= 400);
+        }
+    }
+
+    void enabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    void reset() {
+        endpoints.clear();
+    }
+
+    List<EndpointStats> stats(double seconds) {
+        List<EndpointStats> stats = new ArrayList<>();
+        new TreeMap<>(endpoints).forEach((endpoint, samples) -> stats.add(samples.stats(endpoint, seconds)));
+        return stats;
+    }
+
+    void print(String title, double seconds, PrintStream out) {
+        out.printf(Locale.ROOT, "%n%s (%.0f s)%n", title, seconds);
+        out.printf(Locale.ROOT, "%-38s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms");
+        for (EndpointStats row : stats(seconds)) {
+            out.printf(Locale.ROOT, "%-38s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    row.endpoint(), row.requests(), row.errors(), row.throughput(),
+                    row.p50(), row.p90(), row.p95(), row.p99(), row.max());
+        }
+    }
+
+    void appendCsv(Path file, String label, double seconds) {
+        try {
+            boolean header = !Files.exists(file) || Files.size(file) == 0;
+            StringBuilder csv = new StringBuilder();
+            if (header) {
+                csv.append("label,endpoint,requests,errors,req_per_s,p50_ms,p90_ms,p95_ms,p99_ms,max_ms\n");
+            }
+            for (EndpointStats row : stats(seconds)) {
+                csv.append(String.format(Locale.ROOT, "%s,%s,%d,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f%n",
+                        label, row.endpoint(), row.requests(), row.errors(), row.throughput(),
+                        row.p50(), row.p90(), row.p95(), row.p99(), row.max()));
+            }
+            Files.writeString(file, csv, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + file, e);
+        }
+    }
+
+    record EndpointStats(
+            String endpoint,
+            int requests,
+            int errors,
+            double throughput,
+            double p50,
+            double p90,
+            double p95,
+            double p99,
+            double max
+    ) {
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private int errors;
+
+        synchronized void add(long value, boolean error) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            if (error) {
+                errors++;
+            }
+        }
+
+        synchronized EndpointStats stats(String endpoint, double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new EndpointStats(
+                    endpoint,
+                    size,
+                    errors,
+                    seconds > 0 ? size / seconds : 0,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.90),
+                    percentile(sorted, 0.95),
+                    percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6
+            );
+        }
+
+        // Nearest-rank percentile in milliseconds.
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(rank, 1) - 1] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.pgms.loadtest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load driver for a running backend. Seeds a synthetic dataset through the API (see
+ * {@link DatasetSeeder}), warms up, then runs {@code users} concurrent clients through a weighted mix of the
+ * dashboard, rent, tenant and expense endpoints and prints per-endpoint throughput and latency percentiles.
+ * Run it once against each {@code app.data-provider} with the same settings and compare the reports:
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dloadtest.label=postgres -Dloadtest.tenants=1000 -Dloadtest.months=12
+ * </pre>
+ * All settings are {@code loadtest.*} system properties; see {@link Config#fromSystemProperties()}.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Config config = Config.fromSystemProperties();
+        LatencyRecorder recorder = new LatencyRecorder();
+        ApiClient api = new ApiClient(config.baseUrl());
+        System.out.printf("Load test '%s' against %s%n", config.label(), config.baseUrl());
+
+        long seedStart = System.nanoTime();
+        DatasetSeeder.Dataset dataset = new DatasetSeeder(api, recorder, config).seed();
+        recorder.print("Seeding", (System.nanoTime() - seedStart) / 1e9, System.out);
+        recorder.reset();
+
+        Workload workload = new Workload(api, recorder, dataset, config);
+        recorder.enabled(false);
+        workload.run(config.warmupSeconds());
+        recorder.enabled(true);
+        long runStart = System.nanoTime();
+        long failures = workload.run(config.durationSeconds());
+        double seconds = (System.nanoTime() - runStart) / 1e9;
+
+        recorder.print("Workload '" + config.label() + "', " + config.users() + " users", seconds, System.out);
+        if (failures > 0) {
+            System.out.printf("%d requests failed; the first few are logged above%n", failures);
+        }
+        if (config.reportFile() != null) {
+            recorder.appendCsv(config.reportFile(), config.label(), seconds);
+            System.out.printf("Appended results to %s%n", config.reportFile());
+        }
+    }
+
+    record Config(
+            String baseUrl,
+            String label,
+            String provider,
+            String runId,
+            long randomSeed,
+            int accounts,
+            int tenants,
+            int months,
+            int expensesPerMonth,
+            int seedConcurrency,
+            int users,
+            int warmupSeconds,
+            int durationSeconds,
+            Path reportFile,
+            String dbUrl,
+            String dbUsername,
+            String dbPassword,
+            String firebaseProjectId,
+            String firebaseCredentialsPath
+    ) {
+        static Config fromSystemProperties() {
+            String provider = System.getenv("APP_DATA_PROVIDER");
+            String report = System.getProperty("loadtest.report");
+            return new Config(
+                    System.getProperty("loadtest.base-url", "http://localhost:8080"),
+                    System.getProperty("loadtest.label", provider == null ? "postgres" : provider),
+                    System.getProperty("loadtest.provider", provider == null ? "postgres" : provider),
+                    System.getProperty("loadtest.run-id", Long.toString(System.currentTimeMillis() / 1000, 36)),
+                    Long.getLong("loadtest.random-seed", 42L),
+                    Integer.getInteger("loadtest.accounts", 3),
+                    Integer.getInteger("loadtest.tenants", 1000),
+                    Math.max(Integer.getInteger("loadtest.months", 12), 1),
+                    Integer.getInteger("loadtest.expenses-per-month", 60),
+                    Integer.getInteger("loadtest.seed-concurrency", 8),
+                    Integer.getInteger("loadtest.users", 16),
+                    Integer.getInteger("loadtest.warmup-seconds", 30),
+                    Integer.getInteger("loadtest.duration-seconds", 120),
+                    report == null || report.isBlank() ? null : Path.of(report),
+                    System.getProperty("loadtest.db.url", System.getenv("DB_URL")),
+                    System.getProperty("loadtest.db.username", System.getenv("DB_USERNAME")),
+                    System.getProperty("loadtest.db.password", System.getenv("DB_PASSWORD")),
+                    System.getProperty("loadtest.firebase.project-id", System.getenv("FIREBASE_PROJECT_ID")),
+                    System.getProperty("loadtest.firebase.credentials-path", System.getenv("FIREBASE_CREDENTIALS_PATH"))
+            );
+        }
+    }
+
+    /**
+     * The request mix, weighted roughly like the admin UI's traffic: dashboard and due lists on every page load, tenant
+     * lists and collections often, exports rarely, and a steady trickle of payments against this month's open dues.
+     */
+    private static final class Workload {
+
+        private static final int MAX_LOGGED_FAILURES = 10;
+
+        private final DatasetSeeder.Dataset dataset;
+        private final Config config;
+        private final List<Operation> operations = new ArrayList<>();
+        private final int totalWeight;
+        private final AtomicLong failures = new AtomicLong();
+
+        Workload(ApiClient api, LatencyRecorder recorder, DatasetSeeder.Dataset dataset, Config config) {
+            this.dataset = dataset;
+            this.config = config;
+            add(20, "GET /api/rents/dashboard", random -> {
+                YearMonth from = randomMonth(random);
+                api.get(recorder, "GET /api/rents/dashboard", "/api/rents/dashboard" + range(from, dataset.currentMonth()));
+            });
+            add(18, "GET /api/rents/due", random -> {
+                YearMonth to = dataset.currentMonth();
+                api.get(recorder, "GET /api/rents/due", "/api/rents/due" + range(to.minusMonths(random.nextInt(3)), to));
+            });
+            add(14, "GET /api/rents/collected", random -> {
+                YearMonth month = randomMonth(random);
+                api.get(recorder, "GET /api/rents/collected", "/api/rents/collected" + range(month, month));
+            });
+            add(2, "GET /api/rents/collected/export", random -> {
+                YearMonth month = randomMonth(random);
+                api.download(recorder, "GET /api/rents/collected/export",
+                        "/api/rents/collected/export" + range(month, month));
+            });
+            add(12, "GET /api/tenants/active/page", random -> {
+                String path = "/api/tenants/active/page?limit=50";
+                if (random.nextInt(3) == 0) {
+                    path += "&namePrefix=Load%20" + config.runId() + "%20tenant%20" + random.nextInt(10);
+                }
+                api.get(recorder, "GET /api/tenants/active/page", path);
+            });
+            add(6, "GET /api/tenants/active", random -> api.get(recorder, "GET /api/tenants/active", "/api/tenants/active"));
+            add(6, "GET /api/expenses", random -> api.get(recorder, "GET /api/expenses", "/api/expenses"));
+            add(12, "PUT /api/rents/{recordId}", random -> {
+                DatasetSeeder.OpenDue due = randomOpenDue(random);
+                if (due == null) {
+                    return;
+                }
+                BigDecimal paid = due.dueAmount()
+                        .multiply(BigDecimal.valueOf(1 + random.nextInt(9)))
+                        .divide(BigDecimal.TEN, 2, RoundingMode.HALF_UP);
+                api.put(recorder, "PUT /api/rents/{recordId}", "/api/rents/" + due.id(), Map.of(
+                        "dueAmount", due.dueAmount(),
+                        "paidAmount", paid,
+                        "accountId", dataset.accountIds().get(random.nextInt(dataset.accountIds().size())),
+                        "transactionDate", LocalDate.now()
+                ));
+            });
+            add(10, "PATCH /api/rents/{recordId}/pay", random -> {
+                DatasetSeeder.OpenDue due = randomOpenDue(random);
+                if (due != null) {
+                    api.patch(recorder, "PATCH /api/rents/{recordId}/pay", "/api/rents/" + due.id() + "/pay");
+                }
+            });
+            this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+        }
+
+        /**
+         * Runs {@code users} clients back to back for {@code seconds} and returns how many requests failed.
+         */
+        long run(int seconds) throws InterruptedException {
+            failures.set(0);
+            long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+            List<Thread> users = new ArrayList<>();
+            for (int i = 0; i < config.users(); i++) {
+                SplittableRandom random = new SplittableRandom(config.randomSeed() * 31 + i);
+                Thread user = new Thread(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = pick(random);
+                        try {
+                            operation.action().run(random);
+                        } catch (RuntimeException e) {
+                            if (failures.incrementAndGet() <= MAX_LOGGED_FAILURES) {
+                                System.err.printf("%s failed: %s%n", operation.name(), e.getMessage());
+                            }
+                        }
+                    }
+                }, "load-user-" + i);
+                user.start();
+                users.add(user);
+            }
+            for (Thread user : users) {
+                user.join();
+            }
+            return failures.get();
+        }
+
+        private void add(int weight, String name, Action action) {
+            operations.add(new Operation(weight, name, action));
+        }
+
+        private Operation pick(SplittableRandom random) {
+            int roll = random.nextInt(totalWeight);
+            for (Operation operation : operations) {
+                roll -= operation.weight();
+                if (roll < 0) {
+                    return operation;
+                }
+            }
+            return operations.get(operations.size() - 1);
+        }
+
+        private YearMonth randomMonth(SplittableRandom random) {
+            int months = (int) dataset.firstMonth().until(dataset.currentMonth(), ChronoUnit.MONTHS);
+            return dataset.firstMonth().plusMonths(random.nextInt(months + 1));
+        }
+
+        private DatasetSeeder.OpenDue randomOpenDue(SplittableRandom random) {
+            List<DatasetSeeder.OpenDue> dues = dataset.openDues();
+            return dues.isEmpty() ? null : dues.get(random.nextInt(dues.size()));
+        }
+
+        private static String range(YearMonth from, YearMonth to) {
+            return String.format(Locale.ROOT, "?from=%s&to=%s", from.atDay(1), to.atEndOfMonth());
+        }
+    }
+
+    private record Operation(int weight, String name, Action action) {
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run(SplittableRandom random);
+    }
+}
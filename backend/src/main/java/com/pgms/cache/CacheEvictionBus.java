@@ -0,0 +1,8 @@
+package com.pgms.cache;
+
+import java.util.function.Consumer;
+
+public interface CacheEvictionBus {
+    void publish(CacheEvictionMessage message);
+    void subscribe(Consumer<CacheEvictionMessage> listener);
+}
@@ -0,0 +1,7 @@
+package com.pgms.cache;
+
+/**
+ * Eviction broadcast between nodes. A {@code null} key means the whole cache was cleared.
+ */
+public record CacheEvictionMessage(String nodeId, String cacheName, String key) {
+}
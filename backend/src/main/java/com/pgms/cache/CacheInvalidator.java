@@ -0,0 +1,202 @@
+package com.pgms.cache;
+
+import com.pgms.config.CacheNames;
+import com.pgms.dto.TenantListScope;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Evicts only the cached responses a write can change. Range-keyed caches lose the {@code from|to} entries that
+ * overlap the affected month or collection date, tenant lists lose the scopes the tenant belongs to, and whole
+ * caches are cleared only where every entry embeds the changed data (account names, the active-tenant count).
+ * Redis-backed caches are matched by scanning their keys, so a shared cache loses only the affected entries too.
+ * Inside a transaction the eviction runs after commit so a concurrent read cannot re-cache the old rows.
+ */
+@Component
+public class CacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final Map<String, LongAdder> evictedEntries = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> clears = new ConcurrentHashMap<>();
+
+    public CacheInvalidator(CacheManager cacheManager, ObjectProvider<RedisConnectionFactory> redisConnectionFactory) {
+        this.cacheManager = cacheManager;
+        this.redisConnectionFactory = redisConnectionFactory.getIfAvailable();
+    }
+
+    public void evictDueMonth(LocalDate billingMonth) {
+        if (billingMonth == null) {
+            return;
+        }
+        afterCommit(() -> {
+            evictMatching(CacheNames.RENTS_DUE, key -> CacheKeys.rangeCovers(key, billingMonth));
+            evictMatching(CacheNames.RENT_DASHBOARD, key -> CacheKeys.rangeCovers(key, billingMonth));
+        });
+    }
+
+    public void evictCollectedAt(OffsetDateTime collectedAt) {
+        if (collectedAt == null) {
+            return;
+        }
+        LocalDate collectedOn = collectedAt.atZoneSameInstant(ZoneId.systemDefault()).toLocalDate();
+        afterCommit(() -> {
+            evictMatching(CacheNames.RENTS_COLLECTED, key -> CacheKeys.rangeCovers(key, collectedOn));
+            evictMatching(CacheNames.RENT_DASHBOARD, key -> CacheKeys.rangeCovers(key, collectedOn));
+        });
+    }
+
+    public void evictJoiningDate(LocalDate joiningDate) {
+        if (joiningDate == null) {
+            return;
+        }
+        afterCommit(() -> evictMatching(CacheNames.RENT_DASHBOARD, key -> CacheKeys.rangeCovers(key, joiningDate)));
+    }
+
+    public void evictActiveTenantCount() {
+        evictDashboard();
+    }
+
+    public void evictDashboard() {
+        afterCommit(() -> clear(CacheNames.RENT_DASHBOARD));
+    }
+
+    public void evictTenantLists(boolean active, boolean dailyAccommodation) {
+        TenantListScope scope = !active
+                ? TenantListScope.DELETED
+                : (dailyAccommodation ? TenantListScope.DAILY : TenantListScope.ACTIVE);
+        afterCommit(() -> {
+            clear(CacheNames.TENANTS_ALL, listCacheName(scope));
+            evictMatching(CacheNames.TENANTS_PAGE, key -> CacheKeys.isTenantPageIn(key, TenantListScope.ALL)
+                    || CacheKeys.isTenantPageIn(key, scope));
+        });
+    }
+
+    public void evictTenantDetails() {
+        afterCommit(() -> clear(CacheNames.RENTS_DUE, CacheNames.RENTS_COLLECTED));
+    }
+
+    public void evictAccounts() {
+        afterCommit(() -> clear(CacheNames.ACCOUNTS));
+    }
+
+    public void evictAccountReferences() {
+        afterCommit(() -> clear(
+                CacheNames.ACCOUNTS,
+                CacheNames.EXPENSES,
+                CacheNames.RENTS_DUE,
+                CacheNames.RENTS_COLLECTED,
+                CacheNames.RENT_DASHBOARD,
+                CacheNames.TENANTS_ALL,
+                CacheNames.TENANTS_ACTIVE,
+                CacheNames.TENANTS_DAILY,
+                CacheNames.TENANTS_DELETED,
+                CacheNames.TENANTS_PAGE
+        ));
+    }
+
+    long evictedEntries(String cacheName) {
+        LongAdder counter = evictedEntries.get(cacheName);
+        return counter == null ? 0L : counter.sum();
+    }
+
+    long clears(String cacheName) {
+        LongAdder counter = clears.get(cacheName);
+        return counter == null ? 0L : counter.sum();
+    }
+
+    private void evictMatching(String cacheName, Predicate<Object> affected) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (cache instanceof StaleWhileRevalidateCache staleCache) {
+            staleCache.advanceGeneration(affected);
+            cache = staleCache.getTarget();
+        }
+        long removed;
+        if (cache instanceof TwoTierCache twoTierCache) {
+            removed = twoTierCache.evictMatching(affected);
+        } else if (cache instanceof CaffeineCache caffeineCache) {
+            removed = evictMatching(caffeineCache.getNativeCache(), affected);
+        } else if (cache instanceof RedisCache redisCache && redisConnectionFactory != null) {
+            removed = evictMatching(redisCache, affected);
+        } else {
+            clear(cacheName);
+            return;
+        }
+        if (removed > 0) {
+            evictedEntries.computeIfAbsent(cacheName, name -> new LongAdder()).add(removed);
+        }
+    }
+
+    private long evictMatching(com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache, Predicate<Object> affected) {
+        long removed = 0;
+        for (Object key : nativeCache.asMap().keySet()) {
+            if (affected.test(key)) {
+                nativeCache.invalidate(key);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private long evictMatching(RedisCache cache, Predicate<Object> affected) {
+        RedisCacheKeyScanner keys = new RedisCacheKeyScanner(redisConnectionFactory, cache.getCacheConfiguration());
+        long removed = 0;
+        for (String key : keys.apply(cache.getName())) {
+            if (affected.test(key)) {
+                cache.evict(key);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private void clear(String... cacheNames) {
+        for (String cacheName : cacheNames) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+                clears.computeIfAbsent(cacheName, name -> new LongAdder()).increment();
+            }
+        }
+    }
+
+    private String listCacheName(TenantListScope scope) {
+        return switch (scope) {
+            case ALL -> CacheNames.TENANTS_ALL;
+            case ACTIVE -> CacheNames.TENANTS_ACTIVE;
+            case DAILY -> CacheNames.TENANTS_DAILY;
+            case DELETED -> CacheNames.TENANTS_DELETED;
+        };
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+}
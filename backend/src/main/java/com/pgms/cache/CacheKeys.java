@@ -0,0 +1,58 @@
+package com.pgms.cache;
+
+import com.pgms.dto.TenantListScope;
+import com.pgms.dto.TenantPageQuery;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Single owner of the key formats used by the cached endpoints, so {@link CacheInvalidator} can tell
+ * which entries a write touches without clearing whole caches.
+ */
+public final class CacheKeys {
+
+    private static final char SEPARATOR = '|';
+    private static final String UNBOUNDED = "null";
+
+    private CacheKeys() {
+    }
+
+    public static String range(LocalDate from, LocalDate to) {
+        return String.valueOf(from) + SEPARATOR + to;
+    }
+
+    public static String tenantPage(TenantListScope scope, TenantPageQuery query) {
+        return scope.name() + SEPARATOR + query.cacheKey();
+    }
+
+    static boolean isTenantPageIn(Object key, TenantListScope scope) {
+        return !(key instanceof String text) || text.startsWith(scope.name() + SEPARATOR);
+    }
+
+    /**
+     * Range keys are widened to whole months the same way the rent services normalise {@code from}/{@code to}.
+     * A missing bound resolves to "the current month" at read time, so it is treated as open here. Keys that
+     * cannot be parsed are reported as overlapping so they are evicted rather than left stale.
+     */
+    static boolean rangeCovers(Object key, LocalDate date) {
+        if (!(key instanceof String text)) {
+            return true;
+        }
+        int separator = text.indexOf(SEPARATOR);
+        if (separator < 0) {
+            return true;
+        }
+        try {
+            String from = text.substring(0, separator);
+            String to = text.substring(separator + 1);
+            if (!UNBOUNDED.equals(from) && date.isBefore(YearMonth.from(LocalDate.parse(from)).atDay(1))) {
+                return false;
+            }
+            return UNBOUNDED.equals(to) || !date.isAfter(YearMonth.from(LocalDate.parse(to)).atEndOfMonth());
+        } catch (DateTimeParseException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.pgms.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.pgms.dto.CacheStatsResponse;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class CacheMetrics {
+
+    private final CacheManager cacheManager;
+    private final CacheInvalidator cacheInvalidator;
+    private final EntityCaches entityCaches;
+
+    public CacheMetrics(CacheManager cacheManager, CacheInvalidator cacheInvalidator, EntityCaches entityCaches) {
+        this.cacheManager = cacheManager;
+        this.cacheInvalidator = cacheInvalidator;
+        this.entityCaches = entityCaches;
+    }
+
+    public List<CacheStatsResponse> snapshot() {
+        List<CacheStatsResponse> responses = new ArrayList<>();
+        cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(this::snapshot)
+                .forEach(responses::add);
+        entityCaches.all().stream()
+                .map(this::snapshot)
+                .forEach(responses::add);
+        return responses;
+    }
+
+    private CacheStatsResponse snapshot(EntityCache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        CacheStatsResponse response = new CacheStatsResponse();
+        response.setCacheName(cache.name());
+        response.setHits(stats.hitCount());
+        response.setMisses(stats.missCount());
+        response.setHitRatio(stats.requestCount() == 0 ? 0.0 : stats.hitRate());
+        response.setSizeEvictions(stats.evictionCount());
+        response.setEvictedEntries(cache.invalidations());
+        return response;
+    }
+
+    private CacheStatsResponse snapshot(String cacheName) {
+        CacheStatsResponse response = new CacheStatsResponse();
+        response.setCacheName(cacheName);
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache instanceof StaleWhileRevalidateCache staleCache) {
+            response.setStaleHits(staleCache.staleHits());
+            response.setCoalescedLoads(staleCache.coalescedLoads());
+            cache = staleCache.getTarget();
+        }
+        if (cache instanceof CaffeineCache caffeineCache) {
+            CacheStats stats = caffeineCache.getNativeCache().stats();
+            response.setHits(stats.hitCount());
+            response.setMisses(stats.missCount());
+            response.setSizeEvictions(stats.evictionCount());
+        } else if (cache instanceof TwoTierCache twoTierCache) {
+            CacheStats local = twoTierCache.localStats();
+            CacheStatistics remote = twoTierCache.remoteStatistics();
+            // A local miss that the remote tier answers is still a hit for the caller.
+            response.setHits(local.hitCount() + (remote == null ? 0 : remote.getHits()));
+            response.setMisses(remote == null ? local.missCount() : remote.getMisses());
+            response.setSizeEvictions(local.evictionCount());
+        } else if (cache instanceof RedisCache redisCache) {
+            CacheStatistics stats = redisCache.getStatistics();
+            response.setHits(stats.getHits());
+            response.setMisses(stats.getMisses());
+        }
+        long lookups = response.getHits() + response.getMisses();
+        response.setHitRatio(lookups == 0 ? 0.0 : (double) response.getHits() / lookups);
+        response.setEvictedEntries(cacheInvalidator.evictedEntries(cacheName));
+        response.setClears(cacheInvalidator.clears(cacheName));
+        return response;
+    }
+}
@@ -0,0 +1,539 @@
+package com.pgms.cache;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary codec for the cached API responses: {@code ResponseEntity} wrappers around the beans in
+ * {@code com.pgms.dto}, lists of them, and the scalar types those beans use.
+ *
+ * <p>Each bean class is written once per payload as its name plus a fingerprint of its property layout; every
+ * instance after that is just its property values in schema order, with no field names or type metadata.
+ * Repeated strings (room numbers, account names, enum constants) are written once and then referenced by index.
+ * Payloads above a small threshold are LZ4-compressed when compression is enabled.
+ *
+ * <p>A payload written by another codec, another format version or an older layout of a DTO decodes to
+ * {@code null}, which the cache treats as a miss, so a deploy that changes a DTO never serves a half-read value.
+ */
+public class DtoBinaryRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte MAGIC = 0x50;
+    private static final byte VERSION = 1;
+    private static final byte FLAG_LZ4 = 1;
+    private static final int HEADER_SIZE = 3;
+    private static final int COMPRESSION_THRESHOLD = 512;
+
+    private static final String DTO_PACKAGE = "com.pgms.dto.";
+    private static final String ENUM_PACKAGE = "com.pgms.";
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte STRING = 6;
+    private static final byte DECIMAL = 7;
+    private static final byte BIG_DECIMAL = 8;
+    private static final byte LOCAL_DATE = 9;
+    private static final byte OFFSET_DATE_TIME = 10;
+    private static final byte ENUM = 11;
+    private static final byte LIST = 12;
+    private static final byte BEAN = 13;
+    private static final byte RESPONSE_ENTITY = 14;
+
+    private static final ClassValue<BeanSchema> SCHEMAS = new ClassValue<>() {
+        @Override
+        protected BeanSchema computeValue(Class<?> type) {
+            return BeanSchema.of(type);
+        }
+    };
+
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+
+    public DtoBinaryRedisSerializer(boolean compress) {
+        LZ4Factory lz4 = LZ4Factory.fastestInstance();
+        this.compressor = compress ? lz4.fastCompressor() : null;
+        this.decompressor = lz4.fastDecompressor();
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        Output body = new Output();
+        body.writeValue(value);
+
+        if (compressor == null || body.size < COMPRESSION_THRESHOLD) {
+            byte[] payload = new byte[HEADER_SIZE + body.size];
+            writeHeader(payload, (byte) 0);
+            System.arraycopy(body.buffer, 0, payload, HEADER_SIZE, body.size);
+            return payload;
+        }
+
+        Output header = new Output();
+        header.writeVarLong(body.size);
+        int offset = HEADER_SIZE + header.size;
+        int maxCompressed = compressor.maxCompressedLength(body.size);
+        byte[] payload = new byte[offset + maxCompressed];
+        writeHeader(payload, FLAG_LZ4);
+        System.arraycopy(header.buffer, 0, payload, HEADER_SIZE, header.size);
+        int compressed = compressor.compress(body.buffer, 0, body.size, payload, offset, maxCompressed);
+        return Arrays.copyOf(payload, offset + compressed);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes.length < HEADER_SIZE || bytes[0] != MAGIC || bytes[1] != VERSION) {
+            return null;
+        }
+        try {
+            Input input;
+            if ((bytes[2] & FLAG_LZ4) != 0) {
+                Input header = new Input(bytes, HEADER_SIZE);
+                int rawLength = Math.toIntExact(header.readVarLong());
+                input = new Input(decompressor.decompress(bytes, header.position, rawLength), 0);
+            } else {
+                input = new Input(bytes, HEADER_SIZE);
+            }
+            return input.readValue();
+        } catch (StaleSchemaException e) {
+            return null;
+        } catch (RuntimeException e) {
+            throw new SerializationException("Failed to decode cached value", e);
+        }
+    }
+
+    private static void writeHeader(byte[] payload, byte flags) {
+        payload[0] = MAGIC;
+        payload[1] = VERSION;
+        payload[2] = flags;
+    }
+
+    private static boolean isDto(Class<?> type) {
+        return type.getName().startsWith(DTO_PACKAGE) && !type.isEnum();
+    }
+
+    private static final class Output {
+        private byte[] buffer = new byte[512];
+        private int size;
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final Map<Class<?>, Integer> classes = new IdentityHashMap<>();
+
+        void writeValue(Object value) {
+            if (value == null) {
+                writeByte(NULL);
+            } else if (value instanceof String text) {
+                writeByte(STRING);
+                writeString(text);
+            } else if (value instanceof Boolean flag) {
+                writeByte(flag ? TRUE : FALSE);
+            } else if (value instanceof Integer number) {
+                writeByte(INT);
+                writeVarLong(zigZag(number));
+            } else if (value instanceof Long number) {
+                writeByte(LONG);
+                writeVarLong(zigZag(number));
+            } else if (value instanceof Double number) {
+                writeByte(DOUBLE);
+                writeFixedLong(Double.doubleToRawLongBits(number));
+            } else if (value instanceof BigDecimal decimal) {
+                writeDecimal(decimal);
+            } else if (value instanceof LocalDate date) {
+                writeByte(LOCAL_DATE);
+                writeVarLong(zigZag(date.toEpochDay()));
+            } else if (value instanceof OffsetDateTime dateTime) {
+                writeByte(OFFSET_DATE_TIME);
+                writeVarLong(zigZag(dateTime.toEpochSecond()));
+                writeVarLong(dateTime.getNano());
+                writeVarLong(zigZag(dateTime.getOffset().getTotalSeconds()));
+            } else if (value instanceof Enum<?> constant) {
+                writeByte(ENUM);
+                writeClass(constant.getDeclaringClass(), 0);
+                writeString(constant.name());
+            } else if (value instanceof List<?> list) {
+                writeByte(LIST);
+                writeVarLong(list.size());
+                for (Object element : list) {
+                    writeValue(element);
+                }
+            } else if (value instanceof ResponseEntity<?> response) {
+                writeByte(RESPONSE_ENTITY);
+                writeVarLong(response.getStatusCode().value());
+                writeHeaders(response.getHeaders());
+                writeValue(response.getBody());
+            } else if (isDto(value.getClass())) {
+                BeanSchema schema = SCHEMAS.get(value.getClass());
+                writeByte(BEAN);
+                writeClass(value.getClass(), schema.fingerprint);
+                schema.write(this, value);
+            } else {
+                throw new SerializationException("Unsupported cache value type: " + value.getClass().getName());
+            }
+        }
+
+        private void writeDecimal(BigDecimal decimal) {
+            BigInteger unscaled = decimal.unscaledValue();
+            if (unscaled.bitLength() < Long.SIZE) {
+                writeByte(DECIMAL);
+                writeVarLong(zigZag(decimal.scale()));
+                writeVarLong(zigZag(unscaled.longValue()));
+                return;
+            }
+            byte[] magnitude = unscaled.toByteArray();
+            writeByte(BIG_DECIMAL);
+            writeVarLong(zigZag(decimal.scale()));
+            writeVarLong(magnitude.length);
+            writeBytes(magnitude);
+        }
+
+        private void writeHeaders(HttpHeaders headers) {
+            writeVarLong(headers.size());
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                writeString(header.getKey());
+                writeVarLong(header.getValue().size());
+                for (String value : header.getValue()) {
+                    writeString(value);
+                }
+            }
+        }
+
+        private void writeClass(Class<?> type, int fingerprint) {
+            Integer index = classes.get(type);
+            if (index != null) {
+                writeVarLong(index + 1L);
+                return;
+            }
+            writeVarLong(0);
+            writeString(type.getName());
+            writeFixedInt(fingerprint);
+            classes.put(type, classes.size());
+        }
+
+        private void writeString(String text) {
+            Integer index = strings.get(text);
+            if (index != null) {
+                writeVarLong(index + 1L);
+                return;
+            }
+            byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(0);
+            writeVarLong(utf8.length);
+            writeBytes(utf8);
+            strings.put(text, strings.size());
+        }
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        private void writeFixedInt(int value) {
+            ensureCapacity(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void writeFixedLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void writeByte(byte value) {
+            ensureCapacity(1);
+            buffer[size++] = value;
+        }
+
+        private void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+
+        private static long zigZag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    private static final class Input {
+        private final byte[] buffer;
+        private int position;
+        private final List<String> strings = new ArrayList<>();
+        private final List<Class<?>> classes = new ArrayList<>();
+
+        Input(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Object readValue() {
+            byte tag = buffer[position++];
+            switch (tag) {
+                case NULL:
+                    return null;
+                case TRUE:
+                    return Boolean.TRUE;
+                case FALSE:
+                    return Boolean.FALSE;
+                case INT:
+                    return (int) unZigZag(readVarLong());
+                case LONG:
+                    return unZigZag(readVarLong());
+                case DOUBLE:
+                    return Double.longBitsToDouble(readFixedLong());
+                case STRING:
+                    return readString();
+                case DECIMAL: {
+                    int scale = (int) unZigZag(readVarLong());
+                    return BigDecimal.valueOf(unZigZag(readVarLong()), scale);
+                }
+                case BIG_DECIMAL: {
+                    int scale = (int) unZigZag(readVarLong());
+                    byte[] magnitude = readBytes(Math.toIntExact(readVarLong()));
+                    return new BigDecimal(new BigInteger(magnitude), scale);
+                }
+                case LOCAL_DATE:
+                    return LocalDate.ofEpochDay(unZigZag(readVarLong()));
+                case OFFSET_DATE_TIME: {
+                    long epochSecond = unZigZag(readVarLong());
+                    int nano = (int) readVarLong();
+                    ZoneOffset offset = ZoneOffset.ofTotalSeconds((int) unZigZag(readVarLong()));
+                    return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), offset);
+                }
+                case ENUM: {
+                    Class<?> type = readClass();
+                    String name = readString();
+                    try {
+                        return Enum.valueOf((Class) type, name);
+                    } catch (IllegalArgumentException e) {
+                        throw new StaleSchemaException();
+                    }
+                }
+                case LIST: {
+                    int length = Math.toIntExact(readVarLong());
+                    List<Object> list = new ArrayList<>(length);
+                    for (int i = 0; i < length; i++) {
+                        list.add(readValue());
+                    }
+                    return list;
+                }
+                case RESPONSE_ENTITY: {
+                    int status = Math.toIntExact(readVarLong());
+                    HttpHeaders headers = readHeaders();
+                    return ResponseEntity.status(status).headers(headers).body(readValue());
+                }
+                case BEAN:
+                    return SCHEMAS.get(readClass()).read(this);
+                default:
+                    throw new SerializationException("Unknown cache value tag: " + tag);
+            }
+        }
+
+        private HttpHeaders readHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            int count = Math.toIntExact(readVarLong());
+            for (int i = 0; i < count; i++) {
+                String name = readString();
+                int values = Math.toIntExact(readVarLong());
+                for (int j = 0; j < values; j++) {
+                    headers.add(name, readString());
+                }
+            }
+            return headers;
+        }
+
+        private Class<?> readClass() {
+            int reference = Math.toIntExact(readVarLong());
+            if (reference > 0) {
+                return classes.get(reference - 1);
+            }
+            String name = readString();
+            int fingerprint = readFixedInt();
+            if (!name.startsWith(ENUM_PACKAGE)) {
+                throw new SerializationException("Refusing to decode cached type " + name);
+            }
+            Class<?> type;
+            try {
+                type = Class.forName(name, false, DtoBinaryRedisSerializer.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new StaleSchemaException();
+            }
+            if (!type.isEnum()) {
+                if (!isDto(type)) {
+                    throw new SerializationException("Refusing to decode cached type " + name);
+                }
+                if (SCHEMAS.get(type).fingerprint != fingerprint) {
+                    throw new StaleSchemaException();
+                }
+            }
+            classes.add(type);
+            return type;
+        }
+
+        private String readString() {
+            int reference = Math.toIntExact(readVarLong());
+            if (reference > 0) {
+                return strings.get(reference - 1);
+            }
+            int length = Math.toIntExact(readVarLong());
+            String text = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            strings.add(text);
+            return text;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte current = buffer[position++];
+                value |= (long) (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed varint in cached value");
+        }
+
+        private int readFixedInt() {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        private long readFixedLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        private byte[] readBytes(int length) {
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        private static long unZigZag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+    private static final class BeanSchema {
+        private final MethodHandle constructor;
+        private final MethodHandle[] getters;
+        private final MethodHandle[] setters;
+        private final int fingerprint;
+
+        private BeanSchema(MethodHandle constructor, MethodHandle[] getters, MethodHandle[] setters, int fingerprint) {
+            this.constructor = constructor;
+            this.getters = getters;
+            this.setters = setters;
+            this.fingerprint = fingerprint;
+        }
+
+        static BeanSchema of(Class<?> type) {
+            PropertyDescriptor[] properties = Arrays.stream(BeanUtils.getPropertyDescriptors(type))
+                    .filter(property -> property.getReadMethod() != null && property.getWriteMethod() != null)
+                    .sorted(Comparator.comparing(PropertyDescriptor::getName))
+                    .toArray(PropertyDescriptor[]::new);
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            MethodHandle[] getters = new MethodHandle[properties.length];
+            MethodHandle[] setters = new MethodHandle[properties.length];
+            StringBuilder layout = new StringBuilder(type.getName());
+            try {
+                for (int i = 0; i < properties.length; i++) {
+                    getters[i] = lookup.unreflect(properties[i].getReadMethod())
+                            .asType(MethodType.methodType(Object.class, Object.class));
+                    setters[i] = lookup.unreflect(properties[i].getWriteMethod())
+                            .asType(MethodType.methodType(void.class, Object.class, Object.class));
+                    layout.append(';').append(properties[i].getName())
+                            .append(':').append(properties[i].getPropertyType().getName());
+                }
+                MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+                        .asType(MethodType.methodType(Object.class));
+                return new BeanSchema(constructor, getters, setters, layout.toString().hashCode());
+            } catch (ReflectiveOperationException e) {
+                throw new SerializationException("Cannot build cache schema for " + type.getName(), e);
+            }
+        }
+
+        void write(Output output, Object bean) {
+            try {
+                for (MethodHandle getter : getters) {
+                    output.writeValue(getter.invoke(bean));
+                }
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new SerializationException("Failed to read cached bean property", e);
+            }
+        }
+
+        Object read(Input input) {
+            try {
+                Object bean = constructor.invoke();
+                for (MethodHandle setter : setters) {
+                    setter.invoke(bean, input.readValue());
+                }
+                return bean;
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new SerializationException("Failed to populate cached bean", e);
+            }
+        }
+    }
+
+    private static final class StaleSchemaException extends RuntimeException {
+        StaleSchemaException() {
+            super(null, null, false, false);
+        }
+    }
+}
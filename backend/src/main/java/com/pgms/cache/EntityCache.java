@@ -0,0 +1,88 @@
+package com.pgms.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process cache of single entities keyed by id, for lookups that sit on write paths where a method-level
+ * {@code @Cacheable} does not fit. Every entry carries the version it was read at (for Firestore, the document's
+ * update time) and an older version never replaces a newer one. Reads that started before an
+ * {@link #invalidate(Object)} are not written back, so a lookup racing a write cannot re-cache the old entity.
+ */
+public final class EntityCache<K, V> {
+
+    private final String name;
+    private final Cache<K, Versioned<V>> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder invalidations = new LongAdder();
+
+    EntityCache(String name, Duration ttl, long maximumSize) {
+        this.name = name;
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public V getIfPresent(K key) {
+        Versioned<V> entry = entries.getIfPresent(key);
+        return entry == null ? null : entry.value();
+    }
+
+    /**
+     * Token to pass to {@link #putIfCurrent} once a read started now has completed.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void putIfCurrent(K key, V value, long version, long readGeneration) {
+        entries.asMap().compute(key, (ignored, current) -> {
+            if (generation.get() != readGeneration) {
+                return current;
+            }
+            return newer(current, value, version);
+        });
+    }
+
+    public void putIfNewer(K key, V value, long version) {
+        entries.asMap().compute(key, (ignored, current) -> newer(current, value, version));
+    }
+
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        entries.invalidate(key);
+        invalidations.increment();
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.invalidateAll();
+        invalidations.increment();
+    }
+
+    CacheStats stats() {
+        return entries.stats();
+    }
+
+    long invalidations() {
+        return invalidations.sum();
+    }
+
+    private Versioned<V> newer(Versioned<V> current, V value, long version) {
+        return current != null && current.version() > version ? current : new Versioned<>(value, version);
+    }
+
+    private record Versioned<V>(V value, long version) {
+    }
+}
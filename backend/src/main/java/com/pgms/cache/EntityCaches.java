@@ -0,0 +1,30 @@
+package com.pgms.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Creates {@link EntityCache} instances and keeps track of them so {@link CacheMetrics} can report them alongside
+ * the Spring caches.
+ */
+@Component
+public class EntityCaches {
+
+    private final Map<String, EntityCache<?, ?>> caches = new ConcurrentSkipListMap<>();
+
+    public <K, V> EntityCache<K, V> create(String name, Duration ttl, long maximumSize) {
+        EntityCache<K, V> cache = new EntityCache<>(name, ttl, maximumSize);
+        if (caches.putIfAbsent(name, cache) != null) {
+            throw new IllegalStateException("Entity cache already registered: " + name);
+        }
+        return cache;
+    }
+
+    Collection<EntityCache<?, ?>> all() {
+        return caches.values();
+    }
+}
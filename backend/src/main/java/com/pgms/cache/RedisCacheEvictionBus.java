@@ -0,0 +1,57 @@
+package com.pgms.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+public class RedisCacheEvictionBus implements CacheEvictionBus {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCacheEvictionBus.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ChannelTopic topic;
+    private final ObjectMapper objectMapper;
+
+    public RedisCacheEvictionBus(
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            String channel,
+            ObjectMapper objectMapper
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.topic = new ChannelTopic(channel);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(CacheEvictionMessage message) {
+        try {
+            redisTemplate.convertAndSend(topic.getTopic(), objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode cache eviction message", e);
+        } catch (RuntimeException e) {
+            // Peers still drop the entry when their local TTL expires; a failed broadcast must not fail the write.
+            log.warn("Failed to publish cache eviction for {} on {}", message.cacheName(), topic.getTopic(), e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheEvictionMessage> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                listener.accept(objectMapper.readValue(message.getBody(), CacheEvictionMessage.class));
+            } catch (IOException e) {
+                log.warn("Ignoring unreadable cache eviction message on {}", topic.getTopic(), e);
+            }
+        }, topic);
+    }
+}
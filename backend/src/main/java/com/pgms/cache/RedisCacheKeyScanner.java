@@ -0,0 +1,45 @@
+package com.pgms.cache;
+
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Lists the logical keys stored in a Redis cache with {@code SCAN}, so range evictions can pick individual
+ * entries instead of flushing the cache.
+ */
+public class RedisCacheKeyScanner implements Function<String, Collection<String>> {
+
+    private static final int SCAN_COUNT = 500;
+
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisCacheConfiguration cacheConfiguration;
+
+    public RedisCacheKeyScanner(RedisConnectionFactory connectionFactory, RedisCacheConfiguration cacheConfiguration) {
+        this.connectionFactory = connectionFactory;
+        this.cacheConfiguration = cacheConfiguration;
+    }
+
+    @Override
+    public Collection<String> apply(String cacheName) {
+        String prefix = cacheConfiguration.getKeyPrefixFor(cacheName);
+        ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(SCAN_COUNT).build();
+        List<String> keys = new ArrayList<>();
+        try (RedisConnection connection = connectionFactory.getConnection();
+             Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+            while (cursor.hasNext()) {
+                String redisKey = new String(cursor.next(), StandardCharsets.UTF_8);
+                keys.add(redisKey.substring(prefix.length()));
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,259 @@
+package com.pgms.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Wraps a cache so that {@code @Cacheable(sync = true)} misses are computed once per key no matter how many requests
+ * arrive together, and so that a recently evicted entry keeps being served while a single background load replaces
+ * it. A previous value is only handed out for up to the staleness bound after it left the cache, whether it was
+ * evicted or reached the cache TTL; past that, callers wait for the (still coalesced) load. Loads that started before an eviction are returned to their callers but not written
+ * back, so a refresh racing a write cannot re-cache the pre-write value.
+ */
+public class StaleWhileRevalidateCache implements Cache {
+
+    private static final Logger log = LoggerFactory.getLogger(StaleWhileRevalidateCache.class);
+
+    private final Cache target;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, PreviousValue> previousValues;
+    private final long ttlNanos;
+    private final long maxStalenessNanos;
+    private final Executor refreshExecutor;
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+
+    public StaleWhileRevalidateCache(
+            Cache target,
+            Duration ttl,
+            Duration maxStaleness,
+            long maxSize,
+            Executor refreshExecutor
+    ) {
+        this.target = target;
+        this.ttlNanos = ttl.toNanos();
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        // A value can stay in the target for the whole TTL and is then servable for the staleness bound.
+        this.previousValues = maxStaleness.isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(ttl.plus(maxStaleness))
+                .maximumSize(Math.max(maxSize, 100))
+                .build();
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    public Cache getTarget() {
+        return target;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return target.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return target.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = target.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        PreviousValue previous = previousValues == null ? null : previousValues.getIfPresent(key);
+        if (previous != null && previous.servable(System.nanoTime())) {
+            staleHits.increment();
+            refreshInBackground(key, valueLoader);
+            return (T) previous.value;
+        }
+        try {
+            return (T) load(key, valueLoader, false).join();
+        } catch (CompletionException e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        target.put(key, value);
+        rememberValue(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = target.putIfAbsent(key, value);
+        if (existing == null) {
+            rememberValue(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        generation.incrementAndGet();
+        markEvicted(key);
+        target.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        generation.incrementAndGet();
+        markEvicted(key);
+        return target.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        generation.incrementAndGet();
+        markEvicted(key -> true);
+        target.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        generation.incrementAndGet();
+        if (previousValues != null) {
+            previousValues.invalidateAll();
+        }
+        return target.invalidate();
+    }
+
+    /**
+     * Marks the {@code affected} entries of the target cache as about to be evicted directly, so loads already
+     * running do not write their result back over the eviction and the staleness bound starts counting now.
+     */
+    void advanceGeneration(Predicate<Object> affected) {
+        generation.incrementAndGet();
+        markEvicted(affected);
+    }
+
+    long staleHits() {
+        return staleHits.sum();
+    }
+
+    long coalescedLoads() {
+        return coalescedLoads.sum();
+    }
+
+    private void refreshInBackground(Object key, Callable<?> valueLoader) {
+        load(key, valueLoader, true).exceptionally(e -> {
+            log.warn("Background refresh of cache '{}' key '{}' failed", getName(), key, e);
+            return null;
+        });
+    }
+
+    private CompletableFuture<Object> load(Object key, Callable<?> valueLoader, boolean async) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, created);
+        if (running != null) {
+            coalescedLoads.increment();
+            return running;
+        }
+        long startedAt = generation.get();
+        Runnable task = () -> {
+            try {
+                Object value = valueLoader.call();
+                if (value != null && generation.get() == startedAt) {
+                    put(key, value);
+                }
+                created.complete(value);
+            } catch (Throwable e) {
+                created.completeExceptionally(e);
+            } finally {
+                inFlight.remove(key, created);
+            }
+        };
+        if (!async) {
+            task.run();
+            return created;
+        }
+        try {
+            refreshExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // The refresh pool is saturated; drop this refresh and let a later request try again.
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    private void rememberValue(Object key, Object value) {
+        if (previousValues != null && value != null) {
+            previousValues.put(key, new PreviousValue(value, System.nanoTime()));
+        }
+    }
+
+    private void markEvicted(Object key) {
+        PreviousValue previous = previousValues == null ? null : previousValues.getIfPresent(key);
+        if (previous != null) {
+            previous.markEvicted(System.nanoTime());
+        }
+    }
+
+    private void markEvicted(Predicate<Object> affected) {
+        if (previousValues == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        previousValues.asMap().forEach((key, previous) -> {
+            if (affected.test(key)) {
+                previous.markEvicted(now);
+            }
+        });
+    }
+
+    /**
+     * The last value cached under a key. It left the cache when it was evicted or, failing that, when the TTL ran
+     * out after it was stored.
+     */
+    private final class PreviousValue {
+        private final Object value;
+        private final long storedAt;
+        private volatile boolean evicted;
+        private volatile long evictedAt;
+
+        private PreviousValue(Object value, long storedAt) {
+            this.value = value;
+            this.storedAt = storedAt;
+        }
+
+        void markEvicted(long now) {
+            if (!evicted) {
+                evictedAt = now;
+                evicted = true;
+            }
+        }
+
+        boolean servable(long now) {
+            long goneAt = evicted && evictedAt - storedAt < ttlNanos ? evictedAt : storedAt + ttlNanos;
+            return now - goneAt <= maxStalenessNanos;
+        }
+    }
+}
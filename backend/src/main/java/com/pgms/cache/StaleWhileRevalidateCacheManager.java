@@ -0,0 +1,83 @@
+package com.pgms.cache;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decorates the configured caches of any provider with {@link StaleWhileRevalidateCache}; every other cache is
+ * returned untouched. Background refreshes share one small daemon pool owned by this manager.
+ */
+public class StaleWhileRevalidateCacheManager implements CacheManager, DisposableBean {
+
+    private static final int REFRESH_THREADS = 2;
+    private static final int REFRESH_QUEUE_CAPACITY = 64;
+
+    private final CacheManager delegate;
+    private final Set<String> revalidatedCaches;
+    private final Duration ttl;
+    private final Duration maxStaleness;
+    private final long maxSize;
+    private final ThreadPoolExecutor refreshExecutor;
+    private final Map<String, StaleWhileRevalidateCache> caches = new ConcurrentHashMap<>();
+
+    public StaleWhileRevalidateCacheManager(
+            CacheManager delegate,
+            Collection<String> revalidatedCaches,
+            Duration ttl,
+            Duration maxStaleness,
+            long maxSize
+    ) {
+        this.delegate = delegate;
+        this.revalidatedCaches = Set.copyOf(revalidatedCaches);
+        this.ttl = ttl;
+        this.maxStaleness = maxStaleness.isNegative() ? Duration.ZERO : maxStaleness;
+        this.maxSize = maxSize;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.refreshExecutor = new ThreadPoolExecutor(
+                REFRESH_THREADS,
+                REFRESH_THREADS,
+                60,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        this.refreshExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = delegate.getCache(name);
+        if (cache == null || !revalidatedCaches.contains(name)) {
+            return cache;
+        }
+        return caches.computeIfAbsent(
+                name,
+                cacheName -> new StaleWhileRevalidateCache(cache, ttl, maxStaleness, maxSize, refreshExecutor)
+        );
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,193 @@
+package com.pgms.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Serves reads from a node-local Caffeine cache and falls back to the shared remote cache. Writes go to the
+ * remote tier first; every eviction or clear is broadcast so the other nodes drop their local copy. Fills are not:
+ * they follow a load of current data, and broadcasting them would drop every peer's copy each time one node loads.
+ */
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final CaffeineCache local;
+    private final Cache remote;
+    private final Function<String, Collection<String>> remoteKeys;
+    private final CacheEvictionBus evictionBus;
+    private final String nodeId;
+
+    public TwoTierCache(
+            String name,
+            CaffeineCache local,
+            Cache remote,
+            Function<String, Collection<String>> remoteKeys,
+            CacheEvictionBus evictionBus,
+            String nodeId
+    ) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.remoteKeys = remoteKeys;
+        this.evictionBus = evictionBus;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = local.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = remote.get(key);
+        if (value != null) {
+            local.put(key, value.get());
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Loaded through the native cache: a null result is then returned without being stored in either tier,
+        // where CaffeineCache would reject it and the remote tier does not store nulls.
+        return (T) local.getNativeCache().get(key, ignored -> {
+            ValueWrapper remoteValue = remote.get(key);
+            if (remoteValue != null) {
+                return remoteValue.get();
+            }
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            if (value != null) {
+                remote.put(key, value);
+            }
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        local.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        local.put(key, existing == null ? value : existing.get());
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.evict(key);
+        publishEvict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = remote.evictIfPresent(key);
+        local.evict(key);
+        publishEvict(key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.clear();
+        publishClear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean hadEntries = remote.invalidate();
+        local.invalidate();
+        publishClear();
+        return hadEntries;
+    }
+
+    long evictMatching(Predicate<Object> affected) {
+        long removed = 0;
+        for (String key : remoteKeys.apply(name)) {
+            if (affected.test(key)) {
+                remote.evict(key);
+                publishEvict(key);
+                removed++;
+            }
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> localEntries = local.getNativeCache();
+        for (Object key : localEntries.asMap().keySet()) {
+            if (affected.test(key)) {
+                localEntries.invalidate(key);
+            }
+        }
+        return removed;
+    }
+
+    CacheStats localStats() {
+        return local.getNativeCache().stats();
+    }
+
+    CacheStatistics remoteStatistics() {
+        return remote instanceof RedisCache redisCache ? redisCache.getStatistics() : null;
+    }
+
+    void onRemoteEviction(CacheEvictionMessage message) {
+        if (nodeId.equals(message.nodeId())) {
+            return;
+        }
+        if (message.key() == null) {
+            local.clear();
+        } else {
+            local.evict(message.key());
+        }
+    }
+
+    private void publishEvict(Object key) {
+        // Only string keys survive the trip to another node unchanged; anything else falls back to a clear.
+        if (key instanceof String text) {
+            evictionBus.publish(new CacheEvictionMessage(nodeId, name, text));
+        } else {
+            publishClear();
+        }
+    }
+
+    private void publishClear() {
+        evictionBus.publish(new CacheEvictionMessage(nodeId, name, null));
+    }
+}
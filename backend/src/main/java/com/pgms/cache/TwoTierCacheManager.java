@@ -0,0 +1,57 @@
+package com.pgms.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Layers a per-node Caffeine L1 over a shared remote L2 (Redis in production). Remote caches are resolved once
+ * up front, and peer evictions arriving on the {@link CacheEvictionBus} are applied to the local tier only.
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new LinkedHashMap<>();
+
+    public TwoTierCacheManager(
+            Collection<String> cacheNames,
+            Caffeine<Object, Object> localSpec,
+            CacheManager remoteCacheManager,
+            Function<String, Collection<String>> remoteKeys,
+            CacheEvictionBus evictionBus
+    ) {
+        for (String cacheName : cacheNames) {
+            Cache remote = remoteCacheManager.getCache(cacheName);
+            if (remote == null) {
+                throw new IllegalStateException("Remote cache is not configured: " + cacheName);
+            }
+            CaffeineCache local = new CaffeineCache(cacheName, localSpec.build(), false);
+            caches.put(cacheName, new TwoTierCache(cacheName, local, remote, remoteKeys, evictionBus, nodeId));
+        }
+        evictionBus.subscribe(this::onRemoteEviction);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.get(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return caches.keySet();
+    }
+
+    private void onRemoteEviction(CacheEvictionMessage message) {
+        TwoTierCache cache = caches.get(message.cacheName());
+        if (cache != null) {
+            cache.onRemoteEviction(message);
+        }
+    }
+}
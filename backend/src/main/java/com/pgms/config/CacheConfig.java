@@ -1,6 +1,12 @@
 package com.pgms.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pgms.cache.DtoBinaryRedisSerializer;
+import com.pgms.cache.RedisCacheEvictionBus;
+import com.pgms.cache.RedisCacheKeyScanner;
+import com.pgms.cache.StaleWhileRevalidateCacheManager;
+import com.pgms.cache.TwoTierCacheManager;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
@@ -10,8 +16,11 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -28,21 +37,60 @@ public class CacheConfig {
     @ConditionalOnProperty(name = "app.cache.provider", havingValue = "redis")
     public CacheManager redisCacheManager(
             RedisConnectionFactory redisConnectionFactory,
-            @Value("${app.cache.ttl-seconds:60}") long ttlSeconds
+            @Value("${app.cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${app.cache.maximum-size:500}") long maxSize,
+            @Value("${app.cache.redis-serializer:binary}") String serializer,
+            @Value("${app.cache.redis-compression:lz4}") String compression,
+            @Value("${app.cache.revalidate-caches:rentDashboard,rentsDue}") List<String> revalidateCaches,
+            @Value("${app.cache.max-stale-seconds:10}") long maxStaleSeconds
     ) {
-        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofSeconds(Math.max(ttlSeconds, 1)))
-                .disableCachingNullValues()
-                .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(
-                                new GenericJackson2JsonRedisSerializer()
-                        )
-                );
+        RedisCacheManager cacheManager = redisCacheManager(
+                redisConnectionFactory,
+                redisCacheConfiguration(ttlSeconds, redisValueSerializer(serializer, compression))
+        );
+        cacheManager.initializeCaches();
+        return staleWhileRevalidate(cacheManager, revalidateCaches, ttlSeconds, maxStaleSeconds, maxSize);
+    }
 
-        return RedisCacheManager.builder(redisConnectionFactory)
-                .cacheDefaults(config)
-                .initialCacheNames(new HashSet<>(cacheNames()))
-                .build();
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.provider", havingValue = "two-tier")
+    public RedisMessageListenerContainer cacheEvictionListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        return container;
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "app.cache.provider", havingValue = "two-tier")
+    public CacheManager twoTierCacheManager(
+            RedisConnectionFactory redisConnectionFactory,
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer cacheEvictionListenerContainer,
+            ObjectMapper objectMapper,
+            @Value("${app.cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${app.cache.local-ttl-seconds:${app.cache.ttl-seconds:60}}") long localTtlSeconds,
+            @Value("${app.cache.maximum-size:500}") long maxSize,
+            @Value("${app.cache.eviction-channel:pgms:cache-evictions}") String evictionChannel,
+            @Value("${app.cache.redis-serializer:binary}") String serializer,
+            @Value("${app.cache.redis-compression:lz4}") String compression,
+            @Value("${app.cache.revalidate-caches:rentDashboard,rentsDue}") List<String> revalidateCaches,
+            @Value("${app.cache.max-stale-seconds:10}") long maxStaleSeconds
+    ) {
+        RedisCacheConfiguration remoteConfig = redisCacheConfiguration(
+                ttlSeconds,
+                redisValueSerializer(serializer, compression)
+        );
+        RedisCacheManager remote = redisCacheManager(redisConnectionFactory, remoteConfig);
+        remote.initializeCaches();
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(
+                cacheNames(),
+                localCacheSpec(Math.min(localTtlSeconds, ttlSeconds), maxSize),
+                remote,
+                new RedisCacheKeyScanner(redisConnectionFactory, remoteConfig),
+                new RedisCacheEvictionBus(redisTemplate, cacheEvictionListenerContainer, evictionChannel, objectMapper)
+        );
+        return staleWhileRevalidate(cacheManager, revalidateCaches, ttlSeconds, maxStaleSeconds, maxSize);
     }
 
     @Bean
@@ -50,16 +98,68 @@ public class CacheConfig {
     @ConditionalOnProperty(name = "app.cache.provider", havingValue = "local", matchIfMissing = true)
     public CacheManager cacheManager(
             @Value("${app.cache.ttl-seconds:60}") long ttlSeconds,
-            @Value("${app.cache.maximum-size:500}") long maxSize
+            @Value("${app.cache.maximum-size:500}") long maxSize,
+            @Value("${app.cache.revalidate-caches:rentDashboard,rentsDue}") List<String> revalidateCaches,
+            @Value("${app.cache.max-stale-seconds:10}") long maxStaleSeconds
     ) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         cacheManager.setCacheNames(cacheNames());
-        cacheManager.setCaffeine(
-                Caffeine.newBuilder()
-                        .expireAfterWrite(Duration.ofSeconds(Math.max(ttlSeconds, 1)))
-                        .maximumSize(Math.max(maxSize, 100))
+        cacheManager.setCaffeine(localCacheSpec(ttlSeconds, maxSize));
+        return staleWhileRevalidate(cacheManager, revalidateCaches, ttlSeconds, maxStaleSeconds, maxSize);
+    }
+
+    private CacheManager staleWhileRevalidate(
+            CacheManager cacheManager,
+            List<String> revalidateCaches,
+            long ttlSeconds,
+            long maxStaleSeconds,
+            long maxSize
+    ) {
+        return new StaleWhileRevalidateCacheManager(
+                cacheManager,
+                revalidateCaches,
+                Duration.ofSeconds(Math.max(ttlSeconds, 1)),
+                Duration.ofSeconds(maxStaleSeconds),
+                maxSize
         );
-        return cacheManager;
+    }
+
+    private Caffeine<Object, Object> localCacheSpec(long ttlSeconds, long maxSize) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(Math.max(ttlSeconds, 1)))
+                .maximumSize(Math.max(maxSize, 100))
+                .recordStats();
+    }
+
+    private RedisCacheConfiguration redisCacheConfiguration(long ttlSeconds, RedisSerializer<Object> valueSerializer) {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofSeconds(Math.max(ttlSeconds, 1)))
+                .disableCachingNullValues()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer));
+    }
+
+    private RedisSerializer<Object> redisValueSerializer(String serializer, String compression) {
+        if ("json".equalsIgnoreCase(serializer)) {
+            return new GenericJackson2JsonRedisSerializer();
+        }
+        if (!"binary".equalsIgnoreCase(serializer)) {
+            throw new IllegalStateException("Unsupported app.cache.redis-serializer: " + serializer);
+        }
+        if ("lz4".equalsIgnoreCase(compression)) {
+            return new DtoBinaryRedisSerializer(true);
+        }
+        if ("none".equalsIgnoreCase(compression)) {
+            return new DtoBinaryRedisSerializer(false);
+        }
+        throw new IllegalStateException("Unsupported app.cache.redis-compression: " + compression);
+    }
+
+    private RedisCacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory, RedisCacheConfiguration config) {
+        return RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(config)
+                .initialCacheNames(new HashSet<>(cacheNames()))
+                .enableStatistics()
+                .build();
     }
 
     private List<String> cacheNames() {
@@ -68,6 +168,7 @@ public class CacheConfig {
                 CacheNames.TENANTS_ACTIVE,
                 CacheNames.TENANTS_DAILY,
                 CacheNames.TENANTS_DELETED,
+                CacheNames.TENANTS_PAGE,
                 CacheNames.ACCOUNTS,
                 CacheNames.ROOMS,
                 CacheNames.EXPENSES,
@@ -8,6 +8,7 @@ public final class CacheNames {
     public static final String TENANTS_ACTIVE = "tenantsActive";
     public static final String TENANTS_DAILY = "tenantsDaily";
     public static final String TENANTS_DELETED = "tenantsDeleted";
+    public static final String TENANTS_PAGE = "tenantsPage";
     public static final String ACCOUNTS = "accounts";
     public static final String ROOMS = "rooms";
     public static final String EXPENSES = "expenses";
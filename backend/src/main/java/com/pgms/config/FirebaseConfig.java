@@ -1,10 +1,15 @@
 package com.pgms.config;
 
+import com.google.auth.oauth2.AccessToken;
 import com.google.auth.oauth2.GoogleCredentials;
+import com.google.auth.oauth2.ServiceAccountCredentials;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import com.google.firebase.cloud.FirestoreClient;
 import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.FirestoreOptions;
+import com.google.cloud.firestore.v1.FirestoreSettings;
+import com.pgms.metrics.FirestoreRpcMetrics;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -13,6 +18,7 @@ import org.springframework.context.annotation.Configuration;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
 
 @Configuration
 @ConditionalOnProperty(name = "app.data-provider", havingValue = "firebase")
@@ -20,17 +26,27 @@ import java.io.InputStream;
 public class FirebaseConfig {
 
     @Bean
-    public FirebaseApp firebaseApp(FirebaseProperties firebaseProperties) throws IOException {
+    public FirebaseApp firebaseApp(FirebaseProperties firebaseProperties, FirestoreRpcMetrics rpcMetrics) throws IOException {
         FirebaseApp existingApp = FirebaseApp.getApps().stream().findFirst().orElse(null);
         if (existingApp != null) {
             return existingApp;
         }
 
         GoogleCredentials credentials = resolveCredentials(firebaseProperties);
+        // FirestoreClient keeps this channel provider, which is how RPCs reach the metrics interceptor.
+        FirestoreOptions.Builder firestoreOptions = FirestoreOptions.newBuilder()
+                .setCredentials(credentials)
+                .setChannelProvider(FirestoreSettings.defaultGrpcTransportProviderBuilder()
+                        .setInterceptorProvider(() -> List.of(rpcMetrics))
+                        .build());
         FirebaseOptions.Builder optionsBuilder = FirebaseOptions.builder().setCredentials(credentials);
         if (hasText(firebaseProperties.getProjectId())) {
             optionsBuilder.setProjectId(firebaseProperties.getProjectId().trim());
+            firestoreOptions.setProjectId(firebaseProperties.getProjectId().trim());
+        } else if (credentials instanceof ServiceAccountCredentials serviceAccount) {
+            firestoreOptions.setProjectId(serviceAccount.getProjectId());
         }
+        optionsBuilder.setFirestoreOptions(firestoreOptions.build());
         return FirebaseApp.initializeApp(optionsBuilder.build());
     }
 
@@ -45,6 +61,10 @@ public class FirebaseConfig {
                 return GoogleCredentials.fromStream(stream);
             }
         }
+        if (hasText(System.getenv("FIRESTORE_EMULATOR_HOST"))) {
+            // The Firestore client routes to the emulator on its own; the emulator ignores the token.
+            return GoogleCredentials.create(new AccessToken("owner", null));
+        }
         return GoogleCredentials.getApplicationDefault();
     }
 
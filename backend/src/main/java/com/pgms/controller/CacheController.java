@@ -0,0 +1,26 @@
+package com.pgms.controller;
+
+import com.pgms.cache.CacheMetrics;
+import com.pgms.dto.CacheStatsResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final CacheMetrics cacheMetrics;
+
+    public CacheController(CacheMetrics cacheMetrics) {
+        this.cacheMetrics = cacheMetrics;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatsResponse>> getStats() {
+        return ResponseEntity.ok(cacheMetrics.snapshot());
+    }
+}
@@ -8,13 +8,12 @@ import com.pgms.dto.RentRecordUpdateRequest;
 import com.pgms.dto.RentTransactionResponse;
 import com.pgms.service.RentService;
 import jakarta.validation.Valid;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -30,25 +29,11 @@ public class RentController {
     }
 
     @PostMapping
-    @Caching(evict = {
-            @CacheEvict(cacheNames = CacheNames.RENTS_DUE, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENTS_COLLECTED, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENT_DASHBOARD, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ALL, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ACTIVE, allEntries = true)
-    })
     public ResponseEntity<RentRecordResponse> upsertRent(@Valid @RequestBody RentRecordRequest request) {
         return ResponseEntity.ok(rentService.upsertRentRecord(request));
     }
 
     @PutMapping("/{recordId}")
-    @Caching(evict = {
-            @CacheEvict(cacheNames = CacheNames.RENTS_DUE, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENTS_COLLECTED, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENT_DASHBOARD, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ALL, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ACTIVE, allEntries = true)
-    })
     public ResponseEntity<RentRecordResponse> updateRent(
             @PathVariable Long recordId,
             @Valid @RequestBody RentRecordUpdateRequest request
@@ -57,45 +42,24 @@ public class RentController {
     }
 
     @DeleteMapping("/{recordId}")
-    @Caching(evict = {
-            @CacheEvict(cacheNames = CacheNames.RENTS_DUE, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENTS_COLLECTED, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENT_DASHBOARD, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ALL, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ACTIVE, allEntries = true)
-    })
     public ResponseEntity<Void> deleteRent(@PathVariable Long recordId) {
         rentService.deleteRentRecord(recordId);
         return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/collected/{recordId}")
-    @Caching(evict = {
-            @CacheEvict(cacheNames = CacheNames.RENTS_DUE, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENTS_COLLECTED, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENT_DASHBOARD, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ALL, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ACTIVE, allEntries = true)
-    })
     public ResponseEntity<Void> deleteCollected(@PathVariable Long recordId) {
         rentService.deleteCollectedRecord(recordId);
         return ResponseEntity.noContent().build();
     }
 
     @PatchMapping("/{recordId}/pay")
-    @Caching(evict = {
-            @CacheEvict(cacheNames = CacheNames.RENTS_DUE, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENTS_COLLECTED, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENT_DASHBOARD, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ALL, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ACTIVE, allEntries = true)
-    })
     public ResponseEntity<RentRecordResponse> markPaid(@PathVariable Long recordId) {
         return ResponseEntity.ok(rentService.markAsPaid(recordId));
     }
 
     @GetMapping("/due")
-    @Cacheable(cacheNames = CacheNames.RENTS_DUE, key = "T(java.lang.String).valueOf(#from) + '|' + T(java.lang.String).valueOf(#to)")
+    @Cacheable(cacheNames = CacheNames.RENTS_DUE, key = "T(com.pgms.cache.CacheKeys).range(#from, #to)", sync = true)
     public ResponseEntity<List<RentRecordResponse>> getDueRents(
             @RequestParam(required = false) LocalDate from,
             @RequestParam(required = false) LocalDate to
@@ -104,7 +68,7 @@ public class RentController {
     }
 
     @GetMapping("/collected")
-    @Cacheable(cacheNames = CacheNames.RENTS_COLLECTED, key = "T(java.lang.String).valueOf(#from) + '|' + T(java.lang.String).valueOf(#to)")
+    @Cacheable(cacheNames = CacheNames.RENTS_COLLECTED, key = "T(com.pgms.cache.CacheKeys).range(#from, #to)")
     public ResponseEntity<List<RentRecordResponse>> getCollectedRents(
             @RequestParam(required = false) LocalDate from,
             @RequestParam(required = false) LocalDate to
@@ -118,12 +82,12 @@ public class RentController {
     }
 
     @GetMapping(value = "/collected/export", produces = "text/csv")
-    public ResponseEntity<byte[]> exportCollectedRents(
+    public ResponseEntity<StreamingResponseBody> exportCollectedRents(
             @RequestParam(required = false) LocalDate from,
             @RequestParam(required = false) LocalDate to,
             @RequestParam(required = false) Long accountId
     ) {
-        byte[] content = rentService.exportCollectionReportCsv(from, to, accountId);
+        StreamingResponseBody content = output -> rentService.exportCollectionReportCsv(from, to, accountId, output);
         String filename = "collection-report.csv";
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
@@ -132,11 +96,17 @@ public class RentController {
     }
 
     @GetMapping("/dashboard")
-    @Cacheable(cacheNames = CacheNames.RENT_DASHBOARD, key = "T(java.lang.String).valueOf(#from) + '|' + T(java.lang.String).valueOf(#to)")
+    @Cacheable(cacheNames = CacheNames.RENT_DASHBOARD, key = "T(com.pgms.cache.CacheKeys).range(#from, #to)", sync = true)
     public ResponseEntity<DashboardSummaryResponse> getDashboard(
             @RequestParam(required = false) LocalDate from,
             @RequestParam(required = false) LocalDate to
     ) {
         return ResponseEntity.ok(rentService.getDashboardSummary(from, to));
     }
+
+    @PostMapping("/dashboard/rebuild")
+    public ResponseEntity<Void> rebuildDashboard() {
+        rentService.rebuildDashboardAggregates();
+        return ResponseEntity.noContent().build();
+    }
 }
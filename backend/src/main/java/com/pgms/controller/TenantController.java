@@ -1,13 +1,14 @@
 package com.pgms.controller;
 
 import com.pgms.config.CacheNames;
+import com.pgms.dto.TenantListScope;
+import com.pgms.dto.TenantPageQuery;
+import com.pgms.dto.TenantPageResponse;
 import com.pgms.dto.TenantRequest;
 import com.pgms.dto.TenantResponse;
 import com.pgms.service.TenantService;
 import jakarta.validation.Valid;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -51,6 +52,30 @@ public class TenantController {
         return ResponseEntity.ok(tenantService.getDeletedTenants());
     }
 
+    @GetMapping("/page")
+    @Cacheable(cacheNames = CacheNames.TENANTS_PAGE, key = "T(com.pgms.cache.CacheKeys).tenantPage(T(com.pgms.dto.TenantListScope).ALL, #query)")
+    public ResponseEntity<TenantPageResponse> getTenantPage(TenantPageQuery query) {
+        return ResponseEntity.ok(tenantService.getTenantPage(TenantListScope.ALL, query));
+    }
+
+    @GetMapping("/active/page")
+    @Cacheable(cacheNames = CacheNames.TENANTS_PAGE, key = "T(com.pgms.cache.CacheKeys).tenantPage(T(com.pgms.dto.TenantListScope).ACTIVE, #query)")
+    public ResponseEntity<TenantPageResponse> getActiveTenantPage(TenantPageQuery query) {
+        return ResponseEntity.ok(tenantService.getTenantPage(TenantListScope.ACTIVE, query));
+    }
+
+    @GetMapping("/daily/page")
+    @Cacheable(cacheNames = CacheNames.TENANTS_PAGE, key = "T(com.pgms.cache.CacheKeys).tenantPage(T(com.pgms.dto.TenantListScope).DAILY, #query)")
+    public ResponseEntity<TenantPageResponse> getDailyTenantPage(TenantPageQuery query) {
+        return ResponseEntity.ok(tenantService.getTenantPage(TenantListScope.DAILY, query));
+    }
+
+    @GetMapping("/deleted/page")
+    @Cacheable(cacheNames = CacheNames.TENANTS_PAGE, key = "T(com.pgms.cache.CacheKeys).tenantPage(T(com.pgms.dto.TenantListScope).DELETED, #query)")
+    public ResponseEntity<TenantPageResponse> getDeletedTenantPage(TenantPageQuery query) {
+        return ResponseEntity.ok(tenantService.getTenantPage(TenantListScope.DELETED, query));
+    }
+
     @GetMapping(value = "/export", produces = "text/csv")
     public ResponseEntity<byte[]> exportTenantsCsv() {
         List<TenantResponse> tenants = tenantService.getAllTenants();
@@ -83,29 +108,11 @@ public class TenantController {
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
-    @Caching(evict = {
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ALL, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ACTIVE, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_DAILY, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_DELETED, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENTS_DUE, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENTS_COLLECTED, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENT_DASHBOARD, allEntries = true)
-    })
     public ResponseEntity<TenantResponse> createTenant(@Valid @RequestBody TenantRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED).body(tenantService.createTenant(request));
     }
 
     @PutMapping(value = "/{tenantId:\\d+}", consumes = MediaType.APPLICATION_JSON_VALUE)
-    @Caching(evict = {
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ALL, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ACTIVE, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_DAILY, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_DELETED, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENTS_DUE, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENTS_COLLECTED, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENT_DASHBOARD, allEntries = true)
-    })
     public ResponseEntity<TenantResponse> updateTenant(
             @PathVariable Long tenantId,
             @Valid @RequestBody TenantRequest request
@@ -114,71 +121,27 @@ public class TenantController {
     }
 
     @PatchMapping("/{tenantId:\\d+}/checkout")
-    @Caching(evict = {
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ALL, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ACTIVE, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_DAILY, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_DELETED, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENTS_DUE, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENTS_COLLECTED, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENT_DASHBOARD, allEntries = true)
-    })
     public ResponseEntity<TenantResponse> checkoutTenant(@PathVariable Long tenantId) {
         return ResponseEntity.ok(tenantService.checkoutTenant(tenantId));
     }
 
     @DeleteMapping("/{tenantId:\\d+}/daily-collection")
-    @Caching(evict = {
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ALL, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ACTIVE, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_DAILY, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_DELETED, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENTS_COLLECTED, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENT_DASHBOARD, allEntries = true)
-    })
     public ResponseEntity<TenantResponse> clearDailyCollection(@PathVariable Long tenantId) {
         return ResponseEntity.ok(tenantService.clearDailyCollection(tenantId));
     }
 
     @DeleteMapping("/{tenantId:\\d+}")
-    @Caching(evict = {
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ALL, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ACTIVE, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_DAILY, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_DELETED, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENTS_DUE, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENTS_COLLECTED, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENT_DASHBOARD, allEntries = true)
-    })
     public ResponseEntity<Void> deleteTenant(@PathVariable Long tenantId) {
         tenantService.deleteTenant(tenantId);
         return ResponseEntity.noContent().build();
     }
 
     @PatchMapping("/{tenantId:\\d+}/restore")
-    @Caching(evict = {
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ALL, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ACTIVE, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_DAILY, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_DELETED, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENTS_DUE, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENTS_COLLECTED, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENT_DASHBOARD, allEntries = true)
-    })
     public ResponseEntity<TenantResponse> restoreTenant(@PathVariable Long tenantId) {
         return ResponseEntity.ok(tenantService.restoreTenant(tenantId));
     }
 
     @DeleteMapping("/{tenantId:\\d+}/permanent")
-    @Caching(evict = {
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ALL, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_ACTIVE, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_DAILY, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.TENANTS_DELETED, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENTS_DUE, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENTS_COLLECTED, allEntries = true),
-            @CacheEvict(cacheNames = CacheNames.RENT_DASHBOARD, allEntries = true)
-    })
     public ResponseEntity<Void> permanentlyDeleteTenant(@PathVariable Long tenantId) {
         tenantService.permanentlyDeleteTenant(tenantId);
         return ResponseEntity.noContent().build();
@@ -0,0 +1,70 @@
+package com.pgms.dto;
+
+import java.time.OffsetDateTime;
+
+public class AccountDeletionResponse {
+
+    private String jobId;
+    private Long accountId;
+    private AccountDeletionStatus status;
+    private long clearedReferences;
+    private OffsetDateTime startedAt;
+    private OffsetDateTime completedAt;
+    private String error;
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public AccountDeletionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AccountDeletionStatus status) {
+        this.status = status;
+    }
+
+    public long getClearedReferences() {
+        return clearedReferences;
+    }
+
+    public void setClearedReferences(long clearedReferences) {
+        this.clearedReferences = clearedReferences;
+    }
+
+    public OffsetDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(OffsetDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public OffsetDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(OffsetDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
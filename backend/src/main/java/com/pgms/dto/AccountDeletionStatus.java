@@ -0,0 +1,7 @@
+package com.pgms.dto;
+
+public enum AccountDeletionStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,85 @@
+package com.pgms.dto;
+
+public class CacheStatsResponse {
+    private String cacheName;
+    private long hits;
+    private long misses;
+    private double hitRatio;
+    private long sizeEvictions;
+    private long evictedEntries;
+    private long clears;
+    private long staleHits;
+    private long coalescedLoads;
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public void setCacheName(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public double getHitRatio() {
+        return hitRatio;
+    }
+
+    public void setHitRatio(double hitRatio) {
+        this.hitRatio = hitRatio;
+    }
+
+    public long getSizeEvictions() {
+        return sizeEvictions;
+    }
+
+    public void setSizeEvictions(long sizeEvictions) {
+        this.sizeEvictions = sizeEvictions;
+    }
+
+    public long getEvictedEntries() {
+        return evictedEntries;
+    }
+
+    public void setEvictedEntries(long evictedEntries) {
+        this.evictedEntries = evictedEntries;
+    }
+
+    public long getClears() {
+        return clears;
+    }
+
+    public void setClears(long clears) {
+        this.clears = clears;
+    }
+
+    public long getStaleHits() {
+        return staleHits;
+    }
+
+    public void setStaleHits(long staleHits) {
+        this.staleHits = staleHits;
+    }
+
+    public long getCoalescedLoads() {
+        return coalescedLoads;
+    }
+
+    public void setCoalescedLoads(long coalescedLoads) {
+        this.coalescedLoads = coalescedLoads;
+    }
+}
@@ -0,0 +1,8 @@
+package com.pgms.dto;
+
+public enum TenantListScope {
+    ALL,
+    ACTIVE,
+    DAILY,
+    DELETED
+}
@@ -0,0 +1,82 @@
+package com.pgms.dto;
+
+import com.pgms.entity.PaymentStatus;
+import com.pgms.entity.VerificationStatus;
+
+public class TenantPageQuery {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private String cursor;
+    private Integer limit;
+    private String roomNumber;
+    private PaymentStatus paymentStatus;
+    private VerificationStatus verificationStatus;
+    private String namePrefix;
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+
+    public void setRoomNumber(String roomNumber) {
+        this.roomNumber = roomNumber;
+    }
+
+    public PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public void setPaymentStatus(PaymentStatus paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+
+    public VerificationStatus getVerificationStatus() {
+        return verificationStatus;
+    }
+
+    public void setVerificationStatus(VerificationStatus verificationStatus) {
+        this.verificationStatus = verificationStatus;
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    public int resolvedLimit() {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public String cacheKey() {
+        return String.join("|",
+                String.valueOf(cursor),
+                String.valueOf(resolvedLimit()),
+                String.valueOf(roomNumber),
+                String.valueOf(paymentStatus),
+                String.valueOf(verificationStatus),
+                String.valueOf(namePrefix));
+    }
+}
@@ -0,0 +1,24 @@
+package com.pgms.dto;
+
+import java.util.List;
+
+public class TenantPageResponse {
+    private List<TenantResponse> items;
+    private String nextCursor;
+
+    public List<TenantResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TenantResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -13,7 +13,8 @@ import java.time.OffsetDateTime;
 public class DueRent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "due_rents_id_seq")
+    @SequenceGenerator(name = "due_rents_id_seq", sequenceName = "due_rents_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
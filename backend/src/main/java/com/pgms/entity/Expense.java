@@ -11,7 +11,8 @@ import java.time.OffsetDateTime;
 public class Expense {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expenses_id_seq")
+    @SequenceGenerator(name = "expenses_id_seq", sequenceName = "expenses_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 255)
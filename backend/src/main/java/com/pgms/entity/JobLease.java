@@ -0,0 +1,77 @@
+package com.pgms.entity;
+
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "job_leases")
+public class JobLease {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "run_key", nullable = false, length = 64)
+    private String runKey;
+
+    @Column(nullable = false, length = 200)
+    private String holder;
+
+    @Column(name = "leased_until", nullable = false)
+    private OffsetDateTime leasedUntil;
+
+    @Column(name = "completed_at")
+    private OffsetDateTime completedAt;
+
+    @Column(nullable = false)
+    private OffsetDateTime updatedAt;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getRunKey() {
+        return runKey;
+    }
+
+    public void setRunKey(String runKey) {
+        this.runKey = runKey;
+    }
+
+    public String getHolder() {
+        return holder;
+    }
+
+    public void setHolder(String holder) {
+        this.holder = holder;
+    }
+
+    public OffsetDateTime getLeasedUntil() {
+        return leasedUntil;
+    }
+
+    public void setLeasedUntil(OffsetDateTime leasedUntil) {
+        this.leasedUntil = leasedUntil;
+    }
+
+    public OffsetDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(OffsetDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(OffsetDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
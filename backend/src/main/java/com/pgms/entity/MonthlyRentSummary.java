@@ -0,0 +1,79 @@
+package com.pgms.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "monthly_rent_summary")
+public class MonthlyRentSummary {
+
+    @Id
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    @Column(name = "collected_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal collectedAmount = BigDecimal.ZERO;
+
+    @Column(name = "due_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal dueAmount = BigDecimal.ZERO;
+
+    @Column(name = "joining_collection_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal joiningCollectionAmount = BigDecimal.ZERO;
+
+    @Column(name = "joining_pending_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal joiningPendingAmount = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private OffsetDateTime updatedAt;
+
+    public LocalDate getMonthStart() {
+        return monthStart;
+    }
+
+    public void setMonthStart(LocalDate monthStart) {
+        this.monthStart = monthStart;
+    }
+
+    public BigDecimal getCollectedAmount() {
+        return collectedAmount;
+    }
+
+    public void setCollectedAmount(BigDecimal collectedAmount) {
+        this.collectedAmount = collectedAmount;
+    }
+
+    public BigDecimal getDueAmount() {
+        return dueAmount;
+    }
+
+    public void setDueAmount(BigDecimal dueAmount) {
+        this.dueAmount = dueAmount;
+    }
+
+    public BigDecimal getJoiningCollectionAmount() {
+        return joiningCollectionAmount;
+    }
+
+    public void setJoiningCollectionAmount(BigDecimal joiningCollectionAmount) {
+        this.joiningCollectionAmount = joiningCollectionAmount;
+    }
+
+    public BigDecimal getJoiningPendingAmount() {
+        return joiningPendingAmount;
+    }
+
+    public void setJoiningPendingAmount(BigDecimal joiningPendingAmount) {
+        this.joiningPendingAmount = joiningPendingAmount;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(OffsetDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -13,7 +13,8 @@ import java.time.OffsetDateTime;
 public class RentRecord {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rent_records_id_seq")
+    @SequenceGenerator(name = "rent_records_id_seq", sequenceName = "rent_records_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
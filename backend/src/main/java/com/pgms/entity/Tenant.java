@@ -11,7 +11,8 @@ import java.time.OffsetDateTime;
 public class Tenant {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tenants_id_seq")
+    @SequenceGenerator(name = "tenants_id_seq", sequenceName = "tenants_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -3,6 +3,7 @@ package com.pgms.mapper;
 import com.pgms.dto.TenantRequest;
 import com.pgms.dto.TenantResponse;
 import com.pgms.entity.Tenant;
+import com.pgms.repository.TenantListView;
 
 public final class TenantMapper {
 
@@ -83,4 +84,39 @@ public final class TenantMapper {
         response.setUpdatedAt(tenant.getUpdatedAt());
         return response;
     }
+
+    public static TenantResponse toResponse(TenantListView view) {
+        TenantResponse response = new TenantResponse();
+        response.setId(view.getId());
+        response.setFullName(view.getFullName());
+        response.setTenantPhoneNumber(view.getTenantPhoneNumber());
+        response.setDailyAccommodation(Boolean.TRUE.equals(view.getDailyAccommodation()));
+        response.setDailyFoodOption(view.getDailyFoodOption());
+        response.setDailyCollectionAmount(view.getDailyCollectionAmount());
+        response.setDailyCollectionTransactionDate(view.getDailyCollectionTransactionDate());
+        response.setDailyCollectionAccountId(view.getDailyCollectionAccountId());
+        response.setDailyCollectionAccountName(view.getDailyCollectionAccountName());
+        response.setDailyStayDays(view.getDailyStayDays());
+        response.setRoomNumber(view.getRoomNumber());
+        response.setRent(view.getRent());
+        response.setDeposit(view.getDeposit());
+        response.setJoiningDate(view.getJoiningDate());
+        response.setEmergencyContactNumber(view.getEmergencyContactNumber());
+        response.setEmergencyContactRelationship(view.getEmergencyContactRelationship());
+        response.setSharing(view.getSharing());
+        response.setPaymentStatus(view.getPaymentStatus());
+        response.setCompanyName(view.getCompanyName());
+        response.setCompanyAddress(view.getCompanyAddress());
+        response.setRentDueAmount(view.getRentDueAmount());
+        response.setRentPaidAmount(view.getRentPaidAmount());
+        response.setDepositPaidAmount(view.getDepositPaidAmount());
+        response.setJoiningCollectionAccountId(view.getJoiningCollectionAccountId());
+        response.setJoiningCollectionAccountName(view.getJoiningCollectionAccountName());
+        response.setVerificationStatus(view.getVerificationStatus());
+        response.setActive(Boolean.TRUE.equals(view.getActive()));
+        response.setCheckoutDate(view.getCheckoutDate());
+        response.setCreatedAt(view.getCreatedAt());
+        response.setUpdatedAt(view.getUpdatedAt());
+        return response;
+    }
 }
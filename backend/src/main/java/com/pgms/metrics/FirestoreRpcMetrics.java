@@ -0,0 +1,109 @@
+package com.pgms.metrics;
+
+import com.google.firestore.v1.BatchGetDocumentsResponse;
+import com.google.firestore.v1.BatchWriteResponse;
+import com.google.firestore.v1.CommitResponse;
+import com.google.firestore.v1.ListenResponse;
+import com.google.firestore.v1.RunAggregationQueryResponse;
+import com.google.firestore.v1.RunQueryResponse;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * gRPC interceptor on the Firestore channel. Times each RPC and counts the documents it read or wrote the way
+ * Firestore bills them: one read per document returned by a lookup, query or listener, one per aggregation, and one
+ * write per committed write. Counts go to global counters and to the {@link RequestMetrics} bound on the thread that
+ * started the RPC, where the RPC also counts against the request's query budget. RPCs the client starts from its own
+ * threads (transaction retries, {@code BulkWriter} flushes) are only counted globally. The emulator replaces the
+ * channel, so nothing is recorded against it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.data-provider", havingValue = "firebase")
+public class FirestoreRpcMetrics implements ClientInterceptor {
+
+    private final MeterRegistry registry;
+
+    FirestoreRpcMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+            MethodDescriptor<ReqT, RespT> method,
+            CallOptions callOptions,
+            Channel next
+    ) {
+        String rpc = method.getBareMethodName();
+        RequestMetrics request = RequestMetrics.current();
+        if (request != null) {
+            request.incrementFirestoreRpcs();
+        }
+        // Listen and Write streams stay open for as long as their listener lives; their duration says nothing.
+        boolean timed = method.getType() != MethodDescriptor.MethodType.BIDI_STREAMING;
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                Timer.Sample sample = timed ? Timer.start(registry) : null;
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                    @Override
+                    public void onMessage(RespT message) {
+                        count(rpc, message, request);
+                        super.onMessage(message);
+                    }
+
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        if (sample != null) {
+                            sample.stop(Timer.builder("pgms.firestore.rpc")
+                                    .description("Firestore RPC latency")
+                                    .tags("rpc", rpc, "status", status.getCode().name())
+                                    .register(registry));
+                        }
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+        };
+    }
+
+    private void count(String rpc, Object message, RequestMetrics request) {
+        long reads = 0;
+        long writes = 0;
+        if (message instanceof RunQueryResponse response) {
+            reads = response.hasDocument() ? 1 : 0;
+        } else if (message instanceof BatchGetDocumentsResponse response) {
+            reads = response.hasFound() || !response.getMissing().isEmpty() ? 1 : 0;
+        } else if (message instanceof RunAggregationQueryResponse response) {
+            reads = response.hasResult() ? 1 : 0;
+        } else if (message instanceof ListenResponse response) {
+            reads = response.hasDocumentChange() ? 1 : 0;
+        } else if (message instanceof CommitResponse response) {
+            writes = response.getWriteResultsCount();
+        } else if (message instanceof BatchWriteResponse response) {
+            writes = response.getWriteResultsCount();
+        }
+        if (reads > 0) {
+            registry.counter("pgms.firestore.documents", "operation", "read", "rpc", rpc).increment(reads);
+            if (request != null) {
+                request.addFirestoreReads(reads);
+            }
+        }
+        if (writes > 0) {
+            registry.counter("pgms.firestore.documents", "operation", "write", "rpc", rpc).increment(writes);
+            if (request != null) {
+                request.addFirestoreWrites(writes);
+            }
+        }
+    }
+}
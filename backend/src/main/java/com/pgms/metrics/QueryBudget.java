@@ -0,0 +1,59 @@
+package com.pgms.metrics;
+
+import com.pgms.exception.QueryBudgetExceededException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Round trips one API request may make before it is reported: SQL statements for Postgres, RPCs for Firestore. A
+ * list endpoint that starts loading an association or document per row crosses the budget as soon as the page is
+ * larger than it. In {@code log} mode such requests are logged and counted when they finish; {@code strict} mode
+ * also throws {@link QueryBudgetExceededException} from the first statement or RPC over budget, so an integration
+ * test run with it fails with the offending call on the stack. {@code off} disables the check.
+ */
+@Component
+class QueryBudget {
+
+    enum Mode {
+        OFF, LOG, STRICT
+    }
+
+    private final Mode mode;
+    private final long sqlStatements;
+    private final long firestoreRpcs;
+
+    QueryBudget(
+            @Value("${app.query-budget.mode:log}") String mode,
+            @Value("${app.query-budget.sql-statements:20}") long sqlStatements,
+            @Value("${app.query-budget.firestore-rpcs:20}") long firestoreRpcs
+    ) {
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.sqlStatements = Math.max(sqlStatements, 1L);
+        this.firestoreRpcs = Math.max(firestoreRpcs, 1L);
+    }
+
+    boolean enabled() {
+        return mode != Mode.OFF;
+    }
+
+    long sqlStatements() {
+        return sqlStatements;
+    }
+
+    long firestoreRpcs() {
+        return firestoreRpcs;
+    }
+
+    /**
+     * Called with the running count after each statement or RPC. Throws once, on the call that crosses the budget,
+     * so error handling that runs after it is not failed again.
+     */
+    void check(String resource, long count, long budget) {
+        if (mode == Mode.STRICT && count == budget + 1) {
+            throw new QueryBudgetExceededException(
+                    "Request exceeded its budget of " + budget + " " + resource + " (app.query-budget)");
+        }
+    }
+}
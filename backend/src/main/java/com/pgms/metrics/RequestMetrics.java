@@ -0,0 +1,79 @@
+package com.pgms.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Data-store work done on behalf of one HTTP request. {@link RequestMetricsFilter} binds an instance to the request
+ * thread (and {@link RequestMetricsTaskDecorator} to the thread that writes an async response), and the Firestore
+ * interceptor and Hibernate statement inspector add to whatever is bound when they run. Work started outside a
+ * request, such as scheduled jobs, finds nothing bound and is not attributed. Statements and RPCs are also checked
+ * against the request's {@link QueryBudget} as they happen.
+ */
+public final class RequestMetrics {
+
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private final QueryBudget budget;
+    private final AtomicLong firestoreRpcs = new AtomicLong();
+    private final AtomicLong firestoreReads = new AtomicLong();
+    private final AtomicLong firestoreWrites = new AtomicLong();
+    private final AtomicLong sqlStatements = new AtomicLong();
+
+    RequestMetrics(QueryBudget budget) {
+        this.budget = budget;
+    }
+
+    static RequestMetrics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds {@code metrics} to the calling thread and returns what was bound before, to be handed back to
+     * {@link #restore(RequestMetrics)}.
+     */
+    static RequestMetrics bind(RequestMetrics metrics) {
+        RequestMetrics previous = CURRENT.get();
+        CURRENT.set(metrics);
+        return previous;
+    }
+
+    static void restore(RequestMetrics previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    void incrementFirestoreRpcs() {
+        budget.check("Firestore RPCs", firestoreRpcs.incrementAndGet(), budget.firestoreRpcs());
+    }
+
+    void addFirestoreReads(long count) {
+        firestoreReads.addAndGet(count);
+    }
+
+    void addFirestoreWrites(long count) {
+        firestoreWrites.addAndGet(count);
+    }
+
+    void incrementSqlStatements() {
+        budget.check("SQL statements", sqlStatements.incrementAndGet(), budget.sqlStatements());
+    }
+
+    long firestoreRpcs() {
+        return firestoreRpcs.get();
+    }
+
+    long firestoreReads() {
+        return firestoreReads.get();
+    }
+
+    long firestoreWrites() {
+        return firestoreWrites.get();
+    }
+
+    long sqlStatements() {
+        return sqlStatements.get();
+    }
+}
@@ -0,0 +1,118 @@
+package com.pgms.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many Firestore documents or SQL statements each API request cost, as distributions tagged with the
+ * request's method and route pattern, and reports requests that went over their {@link QueryBudget}. Streaming
+ * responses are recorded when the async write completes.
+ */
+@Component
+class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    private final MeterRegistry registry;
+    private final QueryBudget budget;
+    private final boolean firebase;
+
+    RequestMetricsFilter(
+            MeterRegistry registry,
+            QueryBudget budget,
+            @Value("${app.data-provider:postgres}") String dataProvider
+    ) {
+        this.registry = registry;
+        this.budget = budget;
+        this.firebase = "firebase".equals(dataProvider);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestMetrics metrics = new RequestMetrics(budget);
+        RequestMetrics previous = RequestMetrics.bind(metrics);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestMetrics.restore(previous);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, metrics);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, metrics);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestMetrics metrics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern == null ? "UNKNOWN" : pattern.toString());
+        if (firebase) {
+            summary("pgms.request.firestore.rpcs", "Firestore RPCs started per request", tags)
+                    .record(metrics.firestoreRpcs());
+            summary("pgms.request.firestore.reads", "Firestore documents read per request", tags)
+                    .record(metrics.firestoreReads());
+            summary("pgms.request.firestore.writes", "Firestore documents written per request", tags)
+                    .record(metrics.firestoreWrites());
+            checkBudget(request, tags, "firestore-rpcs", metrics.firestoreRpcs(), budget.firestoreRpcs());
+        } else {
+            summary("pgms.request.sql.statements", "SQL statements prepared per request", tags)
+                    .record(metrics.sqlStatements());
+            checkBudget(request, tags, "sql-statements", metrics.sqlStatements(), budget.sqlStatements());
+        }
+    }
+
+    private void checkBudget(HttpServletRequest request, Tags tags, String resource, long count, long limit) {
+        if (!budget.enabled() || count <= limit) {
+            return;
+        }
+        registry.counter("pgms.request.budget.exceeded", tags.and("resource", resource)).increment();
+        log.warn("{} {} used {} {} (budget {})",
+                request.getMethod(), request.getRequestURI(), count, resource.replace('-', ' '), limit);
+    }
+
+    private DistributionSummary summary(String name, String description, Tags tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit("operations")
+                .tags(tags)
+                .register(registry);
+    }
+}
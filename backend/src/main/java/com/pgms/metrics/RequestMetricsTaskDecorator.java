@@ -0,0 +1,28 @@
+package com.pgms.metrics;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carries the request's {@link RequestMetrics} onto the application task executor, which Spring MVC uses to write
+ * streaming responses such as the collection CSV export.
+ */
+@Component
+class RequestMetricsTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics == null) {
+            return runnable;
+        }
+        return () -> {
+            RequestMetrics previous = RequestMetrics.bind(metrics);
+            try {
+                runnable.run();
+            } finally {
+                RequestMetrics.restore(previous);
+            }
+        };
+    }
+}
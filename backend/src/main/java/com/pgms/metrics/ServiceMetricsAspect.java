@@ -0,0 +1,67 @@
+package com.pgms.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every method declared on a {@code com.pgms.service} interface, whichever provider implements it, as
+ * {@code pgms.service} tagged with the interface, the method and the exception thrown (if any). Calls a service
+ * makes on itself bypass the proxy and are not timed separately.
+ */
+@Aspect
+@Component
+class ServiceMetricsAspect {
+
+    private static final String SERVICE_PACKAGE = "com.pgms.service";
+
+    private final MeterRegistry registry;
+    private final Map<Method, Tags> methodTags = new ConcurrentHashMap<>();
+
+    ServiceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(* com.pgms.service.*Service.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("pgms.service")
+                    .description("Service method latency")
+                    .tags(tagsFor(((MethodSignature) joinPoint.getSignature()).getMethod()))
+                    .tag("exception", exception)
+                    .register(registry));
+        }
+    }
+
+    private Tags tagsFor(Method method) {
+        return methodTags.computeIfAbsent(method, key -> Tags.of("service", serviceName(key), "method", key.getName()));
+    }
+
+    // Class proxies report the implementation's method; tag it with the interface so both providers share series.
+    private String serviceName(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(declaringClass)) {
+            if (SERVICE_PACKAGE.equals(candidate.getPackageName())) {
+                return candidate.getSimpleName();
+            }
+        }
+        return declaringClass.getSimpleName();
+    }
+}
@@ -0,0 +1,32 @@
+package com.pgms.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts the statements Hibernate prepares against the current request. A JDBC batch is prepared once, so it counts
+ * as one however many rows it carries, which matches the round trips the request paid for.
+ */
+@Component
+@ConditionalOnProperty(name = "app.data-provider", havingValue = "postgres", matchIfMissing = true)
+class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    @Override
+    public String inspect(String sql) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            metrics.incrementSqlStatements();
+        }
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+}
@@ -1,39 +1,48 @@
 package com.pgms.repository;
 
 import com.pgms.entity.CollectionRent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CollectionRentRepository extends JpaRepository<CollectionRent, Long> {
 
-    @Query("select c from CollectionRent c where c.collectedAt >= :fromTs and c.collectedAt < :toTs order by c.collectedAt desc")
+    @Query("""
+            select c from CollectionRent c
+            join fetch c.tenant
+            join fetch c.dueRent
+            left join fetch c.account
+            where c.collectedAt >= :fromTs and c.collectedAt < :toTs
+            order by c.collectedAt desc
+            """)
     List<CollectionRent> findAllByCollectedAtBetweenOrderByCollectedAtDesc(
             @Param("fromTs") OffsetDateTime fromTs,
             @Param("toTs") OffsetDateTime toTs
     );
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
     @Query("""
             select c from CollectionRent c
+            join fetch c.tenant
+            left join fetch c.account a
             where c.collectedAt >= :fromTs and c.collectedAt < :toTs
-              and (:accountId is null or c.account.id = :accountId)
+              and (:accountId is null or a.id = :accountId)
             order by c.collectedAt desc
             """)
-    List<CollectionRent> findAllByCollectedAtBetweenAndAccountOrderByCollectedAtDesc(
+    Stream<CollectionRent> streamAllByCollectedAtBetweenAndAccountOrderByCollectedAtDesc(
             @Param("fromTs") OffsetDateTime fromTs,
             @Param("toTs") OffsetDateTime toTs,
             @Param("accountId") Long accountId
     );
 
-    @Query("select coalesce(sum(c.collectedAmount), 0) from CollectionRent c where c.collectedAt >= :fromTs and c.collectedAt < :toTs")
-    BigDecimal sumCollectedBetween(@Param("fromTs") OffsetDateTime fromTs, @Param("toTs") OffsetDateTime toTs);
-
     @Modifying
     @Query("update CollectionRent c set c.account = null where c.account.id = :accountId")
     int clearAccountByAccountId(@Param("accountId") Long accountId);
@@ -18,17 +18,34 @@ public interface DueRentRepository extends JpaRepository<DueRent, Long> {
 
     Optional<DueRent> findTopByTenant_IdOrderByBillingMonthDesc(Long tenantId);
 
+    @Query("""
+            select d from DueRent d
+            join fetch d.tenant
+            left join fetch d.account
+            where d.status in :statuses and d.billingMonth between :from and :to
+            order by d.billingMonth desc
+            """)
     List<DueRent> findAllByStatusInAndBillingMonthBetweenOrderByBillingMonthDesc(
-            List<RentRecordStatus> statuses,
-            LocalDate from,
-            LocalDate to
+            @Param("statuses") List<RentRecordStatus> statuses,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
     );
 
-    @Query("select d.tenant.id from DueRent d where d.billingMonth = :billingMonth")
-    List<Long> findTenantIdsByBillingMonth(@Param("billingMonth") LocalDate billingMonth);
-
-    @Query("select coalesce(sum(d.dueAmount), 0) from DueRent d where d.billingMonth between :from and :to")
-    BigDecimal sumDueBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+    /**
+     * Inserts this month's due row for every tenant that has one coming, skipping tenants that already have it, and
+     * returns the total due amount inserted.
+     */
+    @Query(value = """
+            with inserted as (
+                insert into due_rents (tenant_id, billing_month, due_amount, paid_amount, status, created_at, updated_at)
+                select t.id, cast(:billingMonth as date), coalesce(t.rent, 0), 0, 'DUE', now(), now()
+                from tenants t""" + TenantRepository.DUE_GENERATION_FILTER + """
+                on conflict (tenant_id, billing_month) do nothing
+                returning due_amount
+            )
+            select coalesce(sum(due_amount), 0) from inserted
+            """, nativeQuery = true)
+    BigDecimal insertGeneratedDues(@Param("billingMonth") LocalDate billingMonth, @Param("today") LocalDate today);
 
     @Modifying
     @Query("update DueRent d set d.account = null where d.account.id = :accountId")
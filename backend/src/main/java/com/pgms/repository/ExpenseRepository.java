@@ -13,5 +13,5 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
 
     @Modifying
     @Query("update Expense e set e.account = null where e.account.id = :accountId")
-    void clearAccountByAccountId(@Param("accountId") Long accountId);
+    int clearAccountByAccountId(@Param("accountId") Long accountId);
 }
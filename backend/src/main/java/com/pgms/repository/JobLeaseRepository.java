@@ -0,0 +1,56 @@
+package com.pgms.repository;
+
+import com.pgms.entity.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Each statement commits on its own so other instances see the lease while the job is still running.
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Takes the lease for {@code runKey} unless that run has already completed or another holder's lease on the
+     * job is still live. Returns 1 when taken. Concurrent callers serialise on the row, and all but one see 0.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = """
+            insert into job_leases as l (name, run_key, holder, leased_until, completed_at, updated_at)
+            values (:name, :runKey, :holder, now() + :leaseSeconds * interval '1 second', null, now())
+            on conflict (name) do update set
+                run_key = excluded.run_key,
+                holder = excluded.holder,
+                leased_until = excluded.leased_until,
+                completed_at = null,
+                updated_at = now()
+            where (l.run_key <> excluded.run_key or l.completed_at is null)
+              and (l.completed_at is not null or l.leased_until < now())
+            """, nativeQuery = true)
+    int tryAcquire(
+            @Param("name") String name,
+            @Param("runKey") String runKey,
+            @Param("holder") String holder,
+            @Param("leaseSeconds") long leaseSeconds
+    );
+
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = """
+            update job_leases
+            set completed_at = now(), leased_until = now(), updated_at = now()
+            where name = :name and run_key = :runKey and holder = :holder
+            """, nativeQuery = true)
+    int complete(@Param("name") String name, @Param("runKey") String runKey, @Param("holder") String holder);
+
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = """
+            update job_leases
+            set leased_until = now(), updated_at = now()
+            where name = :name and run_key = :runKey and holder = :holder and completed_at is null
+            """, nativeQuery = true)
+    int release(@Param("name") String name, @Param("runKey") String runKey, @Param("holder") String holder);
+}
@@ -0,0 +1,72 @@
+package com.pgms.repository;
+
+import com.pgms.entity.MonthlyRentSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface MonthlyRentSummaryRepository extends JpaRepository<MonthlyRentSummary, LocalDate> {
+
+    List<MonthlyRentSummary> findAllByMonthStartBetween(LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query(value = """
+            insert into monthly_rent_summary (
+                month_start, collected_amount, due_amount, joining_collection_amount, joining_pending_amount, updated_at
+            )
+            values (:monthStart, :collected, :due, :joiningCollection, :joiningPending, now())
+            on conflict (month_start) do update set
+                collected_amount = monthly_rent_summary.collected_amount + excluded.collected_amount,
+                due_amount = monthly_rent_summary.due_amount + excluded.due_amount,
+                joining_collection_amount = monthly_rent_summary.joining_collection_amount + excluded.joining_collection_amount,
+                joining_pending_amount = monthly_rent_summary.joining_pending_amount + excluded.joining_pending_amount,
+                updated_at = now()
+            """, nativeQuery = true)
+    void addToMonth(
+            @Param("monthStart") LocalDate monthStart,
+            @Param("collected") BigDecimal collected,
+            @Param("due") BigDecimal due,
+            @Param("joiningCollection") BigDecimal joiningCollection,
+            @Param("joiningPending") BigDecimal joiningPending
+    );
+
+    // Held until commit; row-level upserts from concurrent writes wait, so none of them is lost or double counted.
+    @Modifying
+    @Query(value = "lock table monthly_rent_summary in exclusive mode", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "delete from monthly_rent_summary", nativeQuery = true)
+    int deleteAllMonths();
+
+    @Modifying
+    @Query(value = """
+            insert into monthly_rent_summary (
+                month_start, collected_amount, due_amount, joining_collection_amount, joining_pending_amount, updated_at
+            )
+            select month_start, sum(collected), sum(due), sum(joining_collection), sum(joining_pending), now()
+            from (
+                select cast(date_trunc('month', c.collected_at at time zone :zone) as date) as month_start,
+                       c.collected_amount as collected, 0 as due, 0 as joining_collection, 0 as joining_pending
+                from collection_rents c
+                union all
+                select cast(date_trunc('month', d.billing_month) as date), 0, d.due_amount, 0, 0
+                from due_rents d
+                union all
+                select cast(date_trunc('month', t.joining_date) as date), 0, 0,
+                       coalesce(t.rent_paid_amount, 0) + coalesce(t.deposit_paid_amount, 0),
+                       coalesce(t.rent_due_amount, 0)
+                           + greatest(coalesce(t.deposit, 0) - coalesce(t.deposit_paid_amount, 0), 0)
+                from tenants t
+                where t.joining_date is not null
+                  and (t.daily_accommodation = false or t.daily_accommodation is null)
+            ) ledger
+            group by month_start
+            """, nativeQuery = true)
+    int insertFromLedger(@Param("zone") String zone);
+}
@@ -0,0 +1,109 @@
+package com.pgms.repository;
+
+import com.pgms.entity.DailyFoodOption;
+import com.pgms.entity.PaymentStatus;
+import com.pgms.entity.SharingType;
+import com.pgms.entity.VerificationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+public interface TenantListView {
+
+    String SELECT = """
+            select t.id as id,
+                   t.fullName as fullName,
+                   t.tenantPhoneNumber as tenantPhoneNumber,
+                   t.dailyAccommodation as dailyAccommodation,
+                   t.dailyFoodOption as dailyFoodOption,
+                   t.dailyCollectionAmount as dailyCollectionAmount,
+                   t.dailyCollectionTransactionDate as dailyCollectionTransactionDate,
+                   dca.id as dailyCollectionAccountId,
+                   dca.name as dailyCollectionAccountName,
+                   t.dailyStayDays as dailyStayDays,
+                   t.roomNumber as roomNumber,
+                   t.rent as rent,
+                   t.deposit as deposit,
+                   t.joiningDate as joiningDate,
+                   t.emergencyContactNumber as emergencyContactNumber,
+                   t.emergencyContactRelationship as emergencyContactRelationship,
+                   t.sharing as sharing,
+                   t.paymentStatus as paymentStatus,
+                   t.companyName as companyName,
+                   t.companyAddress as companyAddress,
+                   t.rentDueAmount as rentDueAmount,
+                   t.rentPaidAmount as rentPaidAmount,
+                   t.depositPaidAmount as depositPaidAmount,
+                   jca.id as joiningCollectionAccountId,
+                   jca.name as joiningCollectionAccountName,
+                   t.verificationStatus as verificationStatus,
+                   t.active as active,
+                   t.checkoutDate as checkoutDate,
+                   t.createdAt as createdAt,
+                   t.updatedAt as updatedAt
+            from Tenant t
+            left join t.dailyCollectionAccount dca
+            left join t.joiningCollectionAccount jca
+            """;
+
+    Long getId();
+
+    String getFullName();
+
+    String getTenantPhoneNumber();
+
+    Boolean getDailyAccommodation();
+
+    DailyFoodOption getDailyFoodOption();
+
+    BigDecimal getDailyCollectionAmount();
+
+    LocalDate getDailyCollectionTransactionDate();
+
+    Long getDailyCollectionAccountId();
+
+    String getDailyCollectionAccountName();
+
+    Integer getDailyStayDays();
+
+    String getRoomNumber();
+
+    BigDecimal getRent();
+
+    BigDecimal getDeposit();
+
+    LocalDate getJoiningDate();
+
+    String getEmergencyContactNumber();
+
+    String getEmergencyContactRelationship();
+
+    SharingType getSharing();
+
+    PaymentStatus getPaymentStatus();
+
+    String getCompanyName();
+
+    String getCompanyAddress();
+
+    BigDecimal getRentDueAmount();
+
+    BigDecimal getRentPaidAmount();
+
+    BigDecimal getDepositPaidAmount();
+
+    Long getJoiningCollectionAccountId();
+
+    String getJoiningCollectionAccountName();
+
+    VerificationStatus getVerificationStatus();
+
+    Boolean getActive();
+
+    LocalDate getCheckoutDate();
+
+    OffsetDateTime getCreatedAt();
+
+    OffsetDateTime getUpdatedAt();
+}
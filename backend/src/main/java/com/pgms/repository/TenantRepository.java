@@ -1,34 +1,99 @@
 package com.pgms.repository;
 
+import com.pgms.entity.PaymentStatus;
 import com.pgms.entity.Tenant;
+import com.pgms.entity.VerificationStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TenantRepository extends JpaRepository<Tenant, Long> {
+
+    // A month after the last generated due, or the day before the first monthly anniversary of joining.
+    String NEXT_DUE_DATE = """
+            cast(coalesce(t.last_due_generated_for + interval '1 month',
+                          t.joining_date + interval '1 month' - interval '1 day') as date)""";
+
+    // Active regular tenants (aliased t) whose next due date has arrived by :today.
+    String DUE_GENERATION_FILTER = """
+
+            where t.active = true
+              and (t.daily_accommodation = false or t.daily_accommodation is null)
+              and t.joining_date is not null
+              and """ + NEXT_DUE_DATE + " <= cast(:today as date)\n";
+
     List<Tenant> findAllByActiveTrueOrderByCreatedAtDesc();
     List<Tenant> findAllByActiveFalseOrderByCreatedAtDesc();
-    @Query("select t from Tenant t where t.active = true and (t.dailyAccommodation = false or t.dailyAccommodation is null) order by t.createdAt desc")
-    List<Tenant> findAllActiveRegularTenantsOrderByCreatedAtDesc();
     @Query("select t from Tenant t where t.active = true and t.dailyAccommodation = true order by t.createdAt desc")
     List<Tenant> findAllActiveDailyTenantsOrderByCreatedAtDesc();
+    @Query(TenantListView.SELECT + "order by t.createdAt desc, t.id desc")
+    List<TenantListView> findAllViewsOrderByCreatedAtDesc();
+
+    @Query(TenantListView.SELECT + """
+            where t.active = true and t.dailyAccommodation = false
+            order by t.createdAt desc, t.id desc
+            """)
+    List<TenantListView> findActiveRegularViewsOrderByCreatedAtDesc();
+
+    @Query(TenantListView.SELECT + """
+            where t.active = true and t.dailyAccommodation = true
+            order by t.createdAt desc, t.id desc
+            """)
+    List<TenantListView> findActiveDailyViewsOrderByCreatedAtDesc();
+
+    @Query(TenantListView.SELECT + """
+            where t.active = false
+            order by t.createdAt desc, t.id desc
+            """)
+    List<TenantListView> findInactiveViewsOrderByCreatedAtDesc();
+
+    @Query(TenantListView.SELECT + """
+            where (:active is null or t.active = :active)
+              and (:dailyAccommodation is null or t.dailyAccommodation = :dailyAccommodation)
+              and (:roomNumber is null or t.roomNumber = :roomNumber)
+              and (:paymentStatus is null or t.paymentStatus = :paymentStatus)
+              and (:verificationStatus is null or t.verificationStatus = :verificationStatus)
+              and (:namePattern is null or lower(t.fullName) like :namePattern escape '\\')
+              and (:afterCreatedAt is null
+                   or t.createdAt < :afterCreatedAt
+                   or (t.createdAt = :afterCreatedAt and t.id < :afterId))
+            order by t.createdAt desc, t.id desc
+            """)
+    List<TenantListView> findViewPage(
+            @Param("active") Boolean active,
+            @Param("dailyAccommodation") Boolean dailyAccommodation,
+            @Param("roomNumber") String roomNumber,
+            @Param("paymentStatus") PaymentStatus paymentStatus,
+            @Param("verificationStatus") VerificationStatus verificationStatus,
+            @Param("namePattern") String namePattern,
+            @Param("afterCreatedAt") OffsetDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
     List<Tenant> findAllByJoiningDateBetween(LocalDate from, LocalDate to);
-    @Query("select t from Tenant t where t.joiningDate between :from and :to and (t.dailyAccommodation = false or t.dailyAccommodation is null)")
-    List<Tenant> findAllRegularByJoiningDateBetween(LocalDate from, LocalDate to);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
     @Query("""
             select t from Tenant t
+            left join fetch t.dailyCollectionAccount a
             where t.dailyAccommodation = true
               and coalesce(t.dailyCollectionAmount, 0) > 0
               and t.dailyCollectionTransactionDate between :from and :to
-              and (:accountId is null or t.dailyCollectionAccount.id = :accountId)
+              and (:accountId is null or a.id = :accountId)
             order by t.dailyCollectionTransactionDate desc, t.createdAt desc
             """)
-    List<Tenant> findDailyCollectionsForReport(LocalDate from, LocalDate to, Long accountId);
+    Stream<Tenant> streamDailyCollectionsForReport(LocalDate from, LocalDate to, Long accountId);
 
     boolean existsByFullNameIgnoreCaseAndActiveTrue(String fullName);
     boolean existsByFullNameIgnoreCaseAndActiveTrueAndIdNot(String fullName, Long id);
@@ -41,4 +106,11 @@ public interface TenantRepository extends JpaRepository<Tenant, Long> {
     @Modifying
     @Query("update Tenant t set t.joiningCollectionAccount = null where t.joiningCollectionAccount.id = :accountId")
     int clearJoiningCollectionAccountByAccountId(@Param("accountId") Long accountId);
+
+    // No historical backfill: a next due date that fell in an earlier month moves to this month's start. Runs after
+    // DueRentRepository.insertGeneratedDues, which reads the previous last_due_generated_for.
+    @Modifying
+    @Query(value = "update tenants t set last_due_generated_for = greatest(" + NEXT_DUE_DATE
+            + ", cast(:billingMonth as date)), updated_at = now()" + DUE_GENERATION_FILTER, nativeQuery = true)
+    int advanceLastDueGeneratedFor(@Param("billingMonth") LocalDate billingMonth, @Param("today") LocalDate today);
 }
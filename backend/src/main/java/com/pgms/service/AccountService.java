@@ -1,5 +1,6 @@
 package com.pgms.service;
 
+import com.pgms.dto.AccountDeletionResponse;
 import com.pgms.dto.AccountRequest;
 import com.pgms.dto.AccountResponse;
 
@@ -8,6 +9,8 @@ import java.util.List;
 public interface AccountService {
     AccountResponse createAccount(AccountRequest request);
     AccountResponse updateAccount(Long accountId, AccountRequest request);
-    void deleteAccount(Long accountId);
+    AccountDeletionResponse deleteAccount(Long accountId);
+    AccountDeletionResponse getAccountDeletion(String jobId);
+    AccountDeletionResponse retryAccountDeletion(String jobId);
     List<AccountResponse> getAccounts();
 }
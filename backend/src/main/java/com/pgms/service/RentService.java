@@ -6,6 +6,7 @@ import com.pgms.dto.RentRecordResponse;
 import com.pgms.dto.RentRecordUpdateRequest;
 import com.pgms.dto.RentTransactionResponse;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -18,6 +19,7 @@ public interface RentService {
     List<RentRecordResponse> getDueRentRecords(LocalDate from, LocalDate to);
     List<RentRecordResponse> getCollectedRentRecords(LocalDate from, LocalDate to);
     List<RentTransactionResponse> getRentTransactions(Long recordId);
-    byte[] exportCollectionReportCsv(LocalDate from, LocalDate to, Long accountId);
+    void exportCollectionReportCsv(LocalDate from, LocalDate to, Long accountId, OutputStream output);
     DashboardSummaryResponse getDashboardSummary(LocalDate from, LocalDate to);
+    void rebuildDashboardAggregates();
 }
@@ -1,5 +1,8 @@
 package com.pgms.service;
 
+import com.pgms.dto.TenantListScope;
+import com.pgms.dto.TenantPageQuery;
+import com.pgms.dto.TenantPageResponse;
 import com.pgms.dto.TenantRequest;
 import com.pgms.dto.TenantResponse;
 
@@ -17,4 +20,5 @@ public interface TenantService {
     List<TenantResponse> getDailyTenants();
     List<TenantResponse> getDeletedTenants();
     List<TenantResponse> getAllTenants();
+    TenantPageResponse getTenantPage(TenantListScope scope, TenantPageQuery query);
 }
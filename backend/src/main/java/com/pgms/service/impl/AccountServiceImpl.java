@@ -1,5 +1,8 @@
 package com.pgms.service.impl;
 
+import com.pgms.cache.CacheInvalidator;
+import com.pgms.dto.AccountDeletionResponse;
+import com.pgms.dto.AccountDeletionStatus;
 import com.pgms.dto.AccountRequest;
 import com.pgms.dto.AccountResponse;
 import com.pgms.entity.Account;
@@ -15,6 +18,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 @Service
@@ -27,19 +31,22 @@ public class AccountServiceImpl implements AccountService {
     private final CollectionRentRepository collectionRentRepository;
     private final TenantRepository tenantRepository;
     private final ExpenseRepository expenseRepository;
+    private final CacheInvalidator cacheInvalidator;
 
     public AccountServiceImpl(
             AccountRepository accountRepository,
             DueRentRepository dueRentRepository,
             CollectionRentRepository collectionRentRepository,
             TenantRepository tenantRepository,
-            ExpenseRepository expenseRepository
+            ExpenseRepository expenseRepository,
+            CacheInvalidator cacheInvalidator
     ) {
         this.accountRepository = accountRepository;
         this.dueRentRepository = dueRentRepository;
         this.collectionRentRepository = collectionRentRepository;
         this.tenantRepository = tenantRepository;
         this.expenseRepository = expenseRepository;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     @Override
@@ -52,7 +59,9 @@ public class AccountServiceImpl implements AccountService {
         Account account = new Account();
         account.setName(name);
         account.setMode(mode);
-        return toResponse(accountRepository.save(account));
+        Account saved = accountRepository.save(account);
+        cacheInvalidator.evictAccounts();
+        return toResponse(saved);
     }
 
     @Override
@@ -66,19 +75,44 @@ public class AccountServiceImpl implements AccountService {
         }
         account.setName(name);
         account.setMode(mode);
-        return toResponse(accountRepository.save(account));
+        Account saved = accountRepository.save(account);
+        cacheInvalidator.evictAccountReferences();
+        return toResponse(saved);
     }
 
     @Override
-    public void deleteAccount(Long accountId) {
+    public AccountDeletionResponse deleteAccount(Long accountId) {
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + accountId));
-        dueRentRepository.clearAccountByAccountId(accountId);
-        collectionRentRepository.clearAccountByAccountId(accountId);
-        tenantRepository.clearDailyCollectionAccountByAccountId(accountId);
-        tenantRepository.clearJoiningCollectionAccountByAccountId(accountId);
-        expenseRepository.clearAccountByAccountId(accountId);
+        OffsetDateTime startedAt = OffsetDateTime.now();
+        long cleared = dueRentRepository.clearAccountByAccountId(accountId)
+                + collectionRentRepository.clearAccountByAccountId(accountId)
+                + tenantRepository.clearDailyCollectionAccountByAccountId(accountId)
+                + tenantRepository.clearJoiningCollectionAccountByAccountId(accountId)
+                + expenseRepository.clearAccountByAccountId(accountId);
         accountRepository.delete(account);
+        cacheInvalidator.evictAccountReferences();
+
+        // The bulk updates above finish inside this transaction, so there is no job to follow.
+        AccountDeletionResponse response = new AccountDeletionResponse();
+        response.setAccountId(accountId);
+        response.setStatus(AccountDeletionStatus.COMPLETED);
+        response.setClearedReferences(cleared);
+        response.setStartedAt(startedAt);
+        response.setCompletedAt(OffsetDateTime.now());
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AccountDeletionResponse getAccountDeletion(String jobId) {
+        throw new ResourceNotFoundException("Account deletion job not found with id: " + jobId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AccountDeletionResponse retryAccountDeletion(String jobId) {
+        throw new ResourceNotFoundException("Account deletion job not found with id: " + jobId);
     }
 
     @Override
@@ -0,0 +1,62 @@
+package com.pgms.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+final class CollectionReportCsvWriter {
+
+    private static final String HEADER =
+            "Type,Transaction Date-Time,Tenant Name,Room Number,Billing Month,Amount,Account Name,Account Mode\n";
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final Writer writer;
+
+    CollectionReportCsvWriter(OutputStream output) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    void writeHeader() {
+        try {
+            writer.write(HEADER);
+            // Push the header out immediately so the client sees the download start before the first page is read.
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write collection report header", e);
+        }
+    }
+
+    void writeRow(Object... cells) {
+        try {
+            for (int i = 0; i < cells.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvCell(cells[i]));
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write collection report row", e);
+        }
+    }
+
+    void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to flush collection report", e);
+        }
+    }
+
+    static String csvCell(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = String.valueOf(value).replace("\"", "\"\"");
+        return "\"" + text + "\"";
+    }
+}
@@ -0,0 +1,172 @@
+package com.pgms.service.impl;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentChange;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.ListenerRegistration;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.pgms.cache.EntityCache;
+import com.pgms.cache.EntityCaches;
+import com.pgms.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Read-through cache of account documents for the rent and expense write paths, which only need an account's
+ * name and mode. Writes made through {@link FirestoreAccountServiceImpl} invalidate the entry on this instance;
+ * other instances pick the change up after the TTL, or immediately when the optional snapshot listener is on.
+ * A deleted account can therefore still be written onto rents and expenses elsewhere until the TTL runs out, which
+ * is why {@link FirestoreAccountCleanupJobs} sweeps the account's references once more after it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.data-provider", havingValue = "firebase")
+class FirestoreAccountCache implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(FirestoreAccountCache.class);
+    private static final String ACCOUNTS_COLLECTION = "accounts";
+
+    private final Firestore firestore;
+    private final EntityCache<Long, AccountSnapshot> cache;
+    private final boolean listen;
+    private volatile ListenerRegistration listener;
+
+    FirestoreAccountCache(
+            Firestore firestore,
+            EntityCaches entityCaches,
+            @Value("${app.firebase.account-cache-ttl-seconds:300}") long ttlSeconds,
+            @Value("${app.firebase.account-cache-listen:false}") boolean listen
+    ) {
+        this.firestore = firestore;
+        this.cache = entityCaches.create("accountSnapshots", Duration.ofSeconds(Math.max(ttlSeconds, 1L)), 1_000);
+        this.listen = listen;
+    }
+
+    /**
+     * Completes with the account, or with {@code null} when {@code accountId} is null or no such account exists.
+     */
+    ApiFuture<AccountSnapshot> read(Long accountId) {
+        if (accountId == null) {
+            return ApiFutures.immediateFuture(null);
+        }
+        AccountSnapshot cached = cache.getIfPresent(accountId);
+        if (cached != null) {
+            return ApiFutures.immediateFuture(cached);
+        }
+        long generation = cache.generation();
+        return ApiFutures.transform(
+                accounts().document(String.valueOf(accountId)).get(),
+                snapshot -> {
+                    if (!snapshot.exists()) {
+                        return null;
+                    }
+                    AccountSnapshot account = toAccount(snapshot);
+                    cache.putIfCurrent(accountId, account, version(snapshot), generation);
+                    return account;
+                },
+                MoreExecutors.directExecutor()
+        );
+    }
+
+    AccountSnapshot get(Long accountId) {
+        if (accountId == null) {
+            return null;
+        }
+        try {
+            AccountSnapshot account = read(accountId).get();
+            if (account == null) {
+                throw new ResourceNotFoundException("Account not found with id: " + accountId);
+            }
+            return account;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading account", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to read account", e);
+        }
+    }
+
+    void invalidate(Long accountId) {
+        cache.invalidate(accountId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startListening() {
+        if (!listen) {
+            return;
+        }
+        listener = accounts().addSnapshotListener((snapshot, error) -> {
+            if (error != null) {
+                log.warn("Account snapshot listener failed; falling back to TTL expiry", error);
+                cache.invalidateAll();
+                return;
+            }
+            for (DocumentChange change : snapshot.getDocumentChanges()) {
+                DocumentSnapshot doc = change.getDocument();
+                Long accountId = readLong(doc.get("id"), doc.getId());
+                if (accountId == null) {
+                    continue;
+                }
+                if (change.getType() == DocumentChange.Type.REMOVED) {
+                    cache.invalidate(accountId);
+                } else {
+                    cache.putIfNewer(accountId, toAccount(doc), version(doc));
+                }
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        ListenerRegistration registration = listener;
+        if (registration != null) {
+            registration.remove();
+        }
+    }
+
+    private CollectionReference accounts() {
+        return firestore.collection(ACCOUNTS_COLLECTION);
+    }
+
+    private AccountSnapshot toAccount(DocumentSnapshot snapshot) {
+        return new AccountSnapshot(
+                readLong(snapshot.get("id"), snapshot.getId()),
+                snapshot.get("name") == null ? null : String.valueOf(snapshot.get("name")),
+                snapshot.get("mode") == null ? null : String.valueOf(snapshot.get("mode"))
+        );
+    }
+
+    private long version(DocumentSnapshot snapshot) {
+        Timestamp updateTime = snapshot.getUpdateTime();
+        return updateTime == null ? 0L : updateTime.getSeconds() * 1_000_000L + updateTime.getNanos() / 1_000;
+    }
+
+    private Long readLong(Object value, String fallback) {
+        try {
+            if (value == null) {
+                return fallback == null ? null : Long.parseLong(fallback);
+            }
+            if (value instanceof Number number) {
+                return number.longValue();
+            }
+            return Long.parseLong(String.valueOf(value));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    record AccountSnapshot(Long id, String name, String mode) {
+    }
+}
@@ -0,0 +1,402 @@
+package com.pgms.service.impl;
+
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.FieldPath;
+import com.google.cloud.firestore.FieldValue;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.Transaction;
+import com.pgms.cache.CacheInvalidator;
+import com.pgms.dto.AccountDeletionResponse;
+import com.pgms.dto.AccountDeletionStatus;
+import com.pgms.exception.BadRequestException;
+import com.pgms.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clears every reference to a deleted account in the background, tracked by a {@code _jobs/{jobId}} document.
+ * Each referencing collection is drained in pages: the documents still pointing at the account are read, their
+ * account fields nulled and the job's counters incremented in one batch. Cleared documents drop out of the query, so
+ * the next page is simply the next query and a job interrupted at any point is resumed by running it again.
+ * <p>
+ * A job is run by the instance that owns it. The owner is claimed in a transaction and every page refreshes its
+ * heartbeat in the same transaction that clears the page, after checking the job is still owned; a job whose owner
+ * stopped heartbeating is claimed by the next instance that sweeps for {@code RUNNING} jobs, so a rolling deploy
+ * neither runs a job twice nor counts its references twice. {@code FAILED} jobs are claimed again through
+ * {@link #retry(String)}. A job stays {@code RUNNING} for one account-cache TTL after its first pass and is then
+ * swept once more, see {@link #finish(DocumentReference, Long, Throwable)}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.data-provider", havingValue = "firebase")
+class FirestoreAccountCleanupJobs implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(FirestoreAccountCleanupJobs.class);
+    private static final String JOBS_COLLECTION = "_jobs";
+    private static final String ACCOUNTS_COLLECTION = "accounts";
+    private static final String JOB_TYPE = "accountCleanup";
+    // One write in every batch goes to the job document.
+    private static final int MAX_PAGE_SIZE = 499;
+
+    private static final List<ReferenceTarget> TARGETS = List.of(
+            new ReferenceTarget("tenantsDaily", "tenants", "dailyCollectionAccountId",
+                    List.of("dailyCollectionAccountId")),
+            new ReferenceTarget("tenantsJoining", "tenants", "joiningCollectionAccountId",
+                    List.of("joiningCollectionAccountId")),
+            new ReferenceTarget("expenses", "expenses", "accountId",
+                    List.of("accountId", "accountName")),
+            new ReferenceTarget("dueRents", "dueRents", "accountId",
+                    List.of("accountId", "accountName")),
+            new ReferenceTarget("collectionRents", "collectionRents", "accountId",
+                    List.of("accountId", "accountName", "accountMode"))
+    );
+
+    private final Firestore firestore;
+    private final CacheInvalidator cacheInvalidator;
+    private final int pageSize;
+    private final long claimSeconds;
+    private final long accountCacheTtlSeconds;
+    private final String owner;
+    private final ExecutorService executor;
+
+    FirestoreAccountCleanupJobs(
+            Firestore firestore,
+            CacheInvalidator cacheInvalidator,
+            @Value("${app.firebase.cleanup-batch-size:400}") int pageSize,
+            @Value("${app.firebase.cleanup-parallelism:2}") int parallelism,
+            @Value("${app.firebase.cleanup-claim-seconds:120}") long claimSeconds,
+            @Value("${app.firebase.account-cache-ttl-seconds:300}") long accountCacheTtlSeconds
+    ) {
+        this.firestore = firestore;
+        this.cacheInvalidator = cacheInvalidator;
+        this.pageSize = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
+        this.claimSeconds = Math.max(claimSeconds, 1L);
+        this.accountCacheTtlSeconds = Math.max(accountCacheTtlSeconds, 1L);
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(parallelism, 1), runnable -> {
+            Thread thread = new Thread(runnable, "account-cleanup-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Records a {@code RUNNING} job for the account, owned by this instance; call {@link #run(String, Long)} once the
+     * account is gone.
+     */
+    AccountDeletionResponse create(Long accountId) {
+        DocumentReference job = jobs().document(UUID.randomUUID().toString());
+        Map<String, Object> doc = new HashMap<>();
+        doc.put("type", JOB_TYPE);
+        doc.put("accountId", accountId);
+        doc.put("status", AccountDeletionStatus.RUNNING.name());
+        doc.put("clearedReferences", 0L);
+        doc.put("startedAt", Timestamp.now());
+        doc.put("owner", owner);
+        doc.put("heartbeatAt", Timestamp.now());
+        try {
+            job.set(doc).get();
+            return toResponse(job.get().get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while creating account cleanup job", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to create account cleanup job", e);
+        }
+    }
+
+    void run(String jobId, Long accountId) {
+        DocumentReference job = jobs().document(jobId);
+        CompletableFuture<?>[] targets = TARGETS.stream()
+                .map(target -> CompletableFuture.runAsync(() -> clear(job, accountId, target), executor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(targets).whenComplete((ignored, error) -> finish(job, accountId, error));
+    }
+
+    AccountDeletionResponse find(String jobId) {
+        try {
+            DocumentSnapshot snapshot = jobs().document(jobId).get().get();
+            if (!snapshot.exists() || !JOB_TYPE.equals(snapshot.getString("type"))) {
+                throw new ResourceNotFoundException("Account deletion job not found with id: " + jobId);
+            }
+            return toResponse(snapshot);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading account cleanup job", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to read account cleanup job", e);
+        }
+    }
+
+    /**
+     * Claims a {@code FAILED} job for this instance and runs it again. References cleared by the failed attempt are
+     * not counted twice: they no longer match the account and drop out of the query.
+     */
+    AccountDeletionResponse retry(String jobId) {
+        DocumentReference job = jobs().document(jobId);
+        DocumentSnapshot snapshot = runTransaction("retry", job, transaction -> {
+            DocumentSnapshot current = transaction.get(job).get();
+            if (!current.exists() || !JOB_TYPE.equals(current.getString("type"))) {
+                throw new ResourceNotFoundException("Account deletion job not found with id: " + jobId);
+            }
+            if (!AccountDeletionStatus.FAILED.name().equals(current.getString("status"))) {
+                throw new BadRequestException("Only failed account deletion jobs can be retried");
+            }
+            Map<String, Object> claim = claimUpdate();
+            claim.put("finalSweepAt", null);
+            transaction.update(job, claim);
+            return current;
+        });
+        Long accountId = snapshot.getLong("accountId");
+        log.info("Retrying account cleanup job {} for account {}", jobId, accountId);
+        executor.execute(() -> deleteAccountDocument(accountId));
+        run(jobId, accountId);
+        return find(jobId);
+    }
+
+    /**
+     * Claims and runs the {@code RUNNING} jobs nobody is working on: those left behind by a stopped instance and
+     * those whose owner has not heartbeated within the claim timeout. Runs at startup and then periodically, so a
+     * job abandoned mid-deploy is taken over without waiting for the next restart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            initialDelayString = "${app.firebase.cleanup-resume-interval-ms:60000}",
+            fixedDelayString = "${app.firebase.cleanup-resume-interval-ms:60000}"
+    )
+    public void resumeRunningJobs() {
+        try {
+            List<QueryDocumentSnapshot> running = jobs()
+                    .whereEqualTo("type", JOB_TYPE)
+                    .whereEqualTo("status", AccountDeletionStatus.RUNNING.name())
+                    .get()
+                    .get()
+                    .getDocuments();
+            for (QueryDocumentSnapshot job : running) {
+                if (!claimAbandoned(job.getReference())) {
+                    continue;
+                }
+                Long accountId = job.getLong("accountId");
+                log.info("Resuming account cleanup job {} for account {}", job.getId(), accountId);
+                executor.execute(() -> deleteAccountDocument(accountId));
+                run(job.getId(), accountId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while resuming account cleanup jobs", e);
+        } catch (ExecutionException e) {
+            log.warn("Could not read pending account cleanup jobs; they will be resumed on the next sweep", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Clears one page per transaction. The transaction reads the job first and gives up once this instance no
+     * longer owns it, so a page is never cleared and counted by two owners.
+     */
+    private void clear(DocumentReference job, Long accountId, ReferenceTarget target) {
+        Query pageQuery = firestore.collection(target.collection())
+                .whereEqualTo(target.field(), accountId)
+                .orderBy(FieldPath.documentId())
+                .limit(pageSize);
+        Map<String, Object> cleared = new HashMap<>();
+        target.clearedFields().forEach(field -> cleared.put(field, null));
+        while (true) {
+            int clearedCount = runTransaction("clear " + target.key() + " references for", job, transaction -> {
+                if (!ownedByThisInstance(transaction.get(job).get())) {
+                    throw new IllegalStateException("Account cleanup job " + job.getId() + " was claimed by another instance");
+                }
+                List<QueryDocumentSnapshot> page = transaction.get(pageQuery).get().getDocuments();
+                if (page.isEmpty()) {
+                    return 0;
+                }
+                for (QueryDocumentSnapshot doc : page) {
+                    transaction.update(doc.getReference(), cleared);
+                }
+                Map<String, Object> progress = new HashMap<>();
+                progress.put("clearedReferences", FieldValue.increment(page.size()));
+                progress.put("progress." + target.key(), FieldValue.increment(page.size()));
+                progress.put("heartbeatAt", Timestamp.now());
+                progress.put("updatedAt", FieldValue.serverTimestamp());
+                transaction.update(job, progress);
+                return page.size();
+            });
+            if (clearedCount < pageSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Records the outcome of a pass. The first successful pass does not complete the job: other instances may still
+     * resolve the account from {@link FirestoreAccountCache} until its TTL runs out and write it back onto a rent or
+     * expense, so the job is released with a {@code finalSweepAt} one TTL later and the sweep that claims it after
+     * that runs the pass again and completes it.
+     */
+    private void finish(DocumentReference job, Long accountId, Throwable error) {
+        try {
+            boolean recorded = runTransaction("finish", job, transaction -> {
+                DocumentSnapshot snapshot = transaction.get(job).get();
+                if (!ownedByThisInstance(snapshot)) {
+                    return false;
+                }
+                Map<String, Object> update = new HashMap<>();
+                update.put("owner", null);
+                if (error != null) {
+                    update.put("status", AccountDeletionStatus.FAILED.name());
+                    update.put("error", String.valueOf(error.getMessage()));
+                    update.put("completedAt", Timestamp.now());
+                } else if (snapshot.getTimestamp("finalSweepAt") == null) {
+                    update.put("finalSweepAt", timestamp(Instant.now().plusSeconds(accountCacheTtlSeconds)));
+                } else {
+                    update.put("status", AccountDeletionStatus.COMPLETED.name());
+                    update.put("completedAt", Timestamp.now());
+                }
+                transaction.update(job, update);
+                return true;
+            });
+            if (!recorded) {
+                log.info("Account cleanup job {} was taken over by another instance; leaving its outcome to it", job.getId());
+                return;
+            }
+            if (error != null) {
+                log.warn("Account cleanup job {} for account {} failed", job.getId(), accountId, error);
+            }
+        } catch (IllegalStateException e) {
+            log.warn("Could not record the outcome of account cleanup job {}", job.getId(), e);
+        }
+        cacheInvalidator.evictAccountReferences();
+    }
+
+    /**
+     * Claims a {@code RUNNING} job that has no owner, or whose owner stopped heartbeating. Jobs this instance already
+     * owns are running here and are left alone, and a job waiting for its final sweep is left until it is due.
+     */
+    private boolean claimAbandoned(DocumentReference job) {
+        try {
+            return runTransaction("claim", job, transaction -> {
+                DocumentSnapshot snapshot = transaction.get(job).get();
+                if (!snapshot.exists() || !AccountDeletionStatus.RUNNING.name().equals(snapshot.getString("status"))) {
+                    return false;
+                }
+                Instant now = Instant.now();
+                Timestamp finalSweepAt = snapshot.getTimestamp("finalSweepAt");
+                if (finalSweepAt != null && finalSweepAt.toDate().toInstant().isAfter(now)) {
+                    return false;
+                }
+                String currentOwner = snapshot.getString("owner");
+                Timestamp heartbeatAt = snapshot.getTimestamp("heartbeatAt");
+                boolean live = heartbeatAt != null
+                        && heartbeatAt.toDate().toInstant().plusSeconds(claimSeconds).isAfter(now);
+                if (currentOwner != null && (currentOwner.equals(owner) || live)) {
+                    return false;
+                }
+                transaction.update(job, claimUpdate());
+                return true;
+            });
+        } catch (IllegalStateException e) {
+            log.warn("Could not claim account cleanup job {}; it will be retried on the next sweep", job.getId(), e);
+            return false;
+        }
+    }
+
+    private Map<String, Object> claimUpdate() {
+        Map<String, Object> claim = new HashMap<>();
+        claim.put("status", AccountDeletionStatus.RUNNING.name());
+        claim.put("owner", owner);
+        claim.put("heartbeatAt", Timestamp.now());
+        claim.put("completedAt", null);
+        claim.put("error", null);
+        claim.put("attempts", FieldValue.increment(1));
+        return claim;
+    }
+
+    private boolean ownedByThisInstance(DocumentSnapshot job) {
+        return job.exists()
+                && owner.equals(job.getString("owner"))
+                && AccountDeletionStatus.RUNNING.name().equals(job.getString("status"));
+    }
+
+    private <T> T runTransaction(String action, DocumentReference job, Transaction.Function<T> body) {
+        try {
+            return firestore.runTransaction(body).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while trying to " + action + " account cleanup job " + job.getId(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause
+                    && (cause instanceof ResourceNotFoundException || cause instanceof BadRequestException)) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to " + action + " account cleanup job " + job.getId(), e);
+        }
+    }
+
+    private void deleteAccountDocument(Long accountId) {
+        try {
+            firestore.collection(ACCOUNTS_COLLECTION).document(String.valueOf(accountId)).delete().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Could not delete account {} while resuming its cleanup job", accountId, e);
+        }
+    }
+
+    private CollectionReference jobs() {
+        return firestore.collection(JOBS_COLLECTION);
+    }
+
+    private AccountDeletionResponse toResponse(DocumentSnapshot snapshot) {
+        AccountDeletionResponse response = new AccountDeletionResponse();
+        response.setJobId(snapshot.getId());
+        response.setAccountId(snapshot.getLong("accountId"));
+        response.setStatus(AccountDeletionStatus.valueOf(snapshot.getString("status")));
+        Long cleared = snapshot.getLong("clearedReferences");
+        response.setClearedReferences(cleared == null ? 0L : cleared);
+        response.setStartedAt(toOffsetDateTime(snapshot.getTimestamp("startedAt")));
+        response.setCompletedAt(toOffsetDateTime(snapshot.getTimestamp("completedAt")));
+        response.setError(snapshot.getString("error"));
+        return response;
+    }
+
+    private static Timestamp timestamp(Instant instant) {
+        return Timestamp.ofTimeSecondsAndNanos(instant.getEpochSecond(), instant.getNano());
+    }
+
+    private OffsetDateTime toOffsetDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : OffsetDateTime.ofInstant(timestamp.toDate().toInstant(), ZoneOffset.UTC);
+    }
+
+    private record ReferenceTarget(String key, String collection, String field, List<String> clearedFields) {
+    }
+}
@@ -1,17 +1,16 @@
 package com.pgms.service.impl;
 
-import com.google.cloud.Timestamp;
 import com.google.cloud.firestore.CollectionReference;
-import com.google.cloud.firestore.DocumentReference;
 import com.google.cloud.firestore.DocumentSnapshot;
 import com.google.cloud.firestore.Firestore;
 import com.google.cloud.firestore.Query;
 import com.google.cloud.firestore.QueryDocumentSnapshot;
 import com.google.cloud.firestore.QuerySnapshot;
-import com.google.cloud.firestore.SetOptions;
-import com.google.cloud.firestore.WriteBatch;
+import com.google.cloud.firestore.WriteResult;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
+import com.pgms.cache.CacheInvalidator;
+import com.pgms.dto.AccountDeletionResponse;
 import com.pgms.dto.AccountRequest;
 import com.pgms.dto.AccountResponse;
 import com.pgms.exception.BadRequestException;
@@ -23,6 +22,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -36,15 +36,48 @@ public class FirestoreAccountServiceImpl implements AccountService {
 
     private static final Logger log = LoggerFactory.getLogger(FirestoreAccountServiceImpl.class);
     private static final String ACCOUNTS_COLLECTION = "accounts";
-    private static final String TENANTS_COLLECTION = "tenants";
-    private static final String EXPENSES_COLLECTION = "expenses";
-    private static final String META_COLLECTION = "_meta";
     private static final String ACCOUNT_COUNTER_DOC = "accountSeq";
 
     private final Firestore firestore;
+    private final FirestoreIdAllocator idAllocator;
+    private final FirestoreAccountCache accountCache;
+    private final FirestoreAccountCleanupJobs cleanupJobs;
+    private final CacheInvalidator cacheInvalidator;
+    private final FirestoreCollectionView<AccountPayload> accountView;
 
-    public FirestoreAccountServiceImpl(Firestore firestore) {
+    public FirestoreAccountServiceImpl(
+            Firestore firestore,
+            FirestoreIdAllocator idAllocator,
+            FirestoreAccountCache accountCache,
+            FirestoreAccountCleanupJobs cleanupJobs,
+            FirestoreLiveViews liveViews,
+            CacheInvalidator cacheInvalidator
+    ) {
         this.firestore = firestore;
+        this.idAllocator = idAllocator;
+        this.accountCache = accountCache;
+        this.cleanupJobs = cleanupJobs;
+        this.cacheInvalidator = cacheInvalidator;
+        this.accountView = liveViews.register(
+                ACCOUNTS_COLLECTION,
+                this::toPayload,
+                Map.of(),
+                new FirestoreCollectionView.ChangeListener<AccountPayload>() {
+                    @Override
+                    public void changed(AccountPayload previous, AccountPayload current) {
+                        if (previous == null) {
+                            cacheInvalidator.evictAccounts();
+                        } else {
+                            cacheInvalidator.evictAccountReferences();
+                        }
+                    }
+
+                    @Override
+                    public void resynced() {
+                        cacheInvalidator.evictAccountReferences();
+                    }
+                }
+        );
     }
 
     @Override
@@ -59,6 +92,7 @@ public class FirestoreAccountServiceImpl implements AccountService {
         payload.name = name;
         payload.mode = mode;
         writeAccount(payload);
+        cacheInvalidator.evictAccounts();
         return toResponse(payload);
     }
 
@@ -71,26 +105,49 @@ public class FirestoreAccountServiceImpl implements AccountService {
         payload.name = name;
         payload.mode = mode;
         writeAccount(payload);
+        cacheInvalidator.evictAccountReferences();
         return toResponse(payload);
     }
 
     @Override
-    public void deleteAccount(Long accountId) {
+    public AccountDeletionResponse deleteAccount(Long accountId) {
         getAccountPayload(accountId);
-        clearTenantAccountReferences(accountId);
-        clearExpenseAccountReferences(accountId);
+        // The job is recorded before the account goes so a restart in between still clears its references.
+        AccountDeletionResponse deletion = cleanupJobs.create(accountId);
         try {
-            accounts().document(String.valueOf(accountId)).delete().get();
+            WriteResult result = accounts().document(String.valueOf(accountId)).delete().get();
+            accountView.applyLocalWrite(String.valueOf(accountId), null, result.getUpdateTime());
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new IllegalStateException("Interrupted while deleting account", e);
         } catch (ExecutionException e) {
             throw new IllegalStateException("Failed to delete account", e);
+        } finally {
+            accountCache.invalidate(accountId);
         }
+        cacheInvalidator.evictAccountReferences();
+        cleanupJobs.run(deletion.getJobId(), accountId);
+        return deletion;
+    }
+
+    @Override
+    public AccountDeletionResponse getAccountDeletion(String jobId) {
+        return cleanupJobs.find(jobId);
+    }
+
+    @Override
+    public AccountDeletionResponse retryAccountDeletion(String jobId) {
+        return cleanupJobs.retry(jobId);
     }
 
     @Override
     public List<AccountResponse> getAccounts() {
+        if (accountView.isReady()) {
+            return accountView.all().stream()
+                    .sorted(Comparator.comparing((AccountPayload payload) -> payload.name.toUpperCase(Locale.ROOT)))
+                    .map(this::toResponse)
+                    .toList();
+        }
         try {
             QuerySnapshot snapshot = accounts().orderBy("nameUpper", Query.Direction.ASCENDING).get().get();
             List<AccountResponse> responses = new ArrayList<>(snapshot.size());
@@ -126,35 +183,8 @@ public class FirestoreAccountServiceImpl implements AccountService {
         return firestore.collection(ACCOUNTS_COLLECTION);
     }
 
-    private CollectionReference tenants() {
-        return firestore.collection(TENANTS_COLLECTION);
-    }
-
-    private CollectionReference expenses() {
-        return firestore.collection(EXPENSES_COLLECTION);
-    }
-
     private Long nextAccountId() {
-        try {
-            return firestore.runTransaction(transaction -> {
-                DocumentReference counterRef = firestore.collection(META_COLLECTION).document(ACCOUNT_COUNTER_DOC);
-                DocumentSnapshot counterSnapshot = transaction.get(counterRef).get();
-                long nextId = 1L;
-                if (counterSnapshot.exists() && counterSnapshot.getLong("nextId") != null) {
-                    nextId = counterSnapshot.getLong("nextId");
-                }
-                Map<String, Object> update = new HashMap<>();
-                update.put("nextId", nextId + 1L);
-                update.put("updatedAt", Timestamp.now());
-                transaction.set(counterRef, update, SetOptions.merge());
-                return nextId;
-            }).get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while generating account id", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to generate account id", e);
-        }
+        return idAllocator.next(ACCOUNT_COUNTER_DOC);
     }
 
     private AccountPayload getAccountPayload(Long accountId) {
@@ -199,50 +229,15 @@ public class FirestoreAccountServiceImpl implements AccountService {
         document.put("nameUpper", payload.name.toUpperCase(Locale.ROOT));
         document.put("mode", payload.mode);
         try {
-            accounts().document(String.valueOf(payload.id)).set(document).get();
+            WriteResult result = accounts().document(String.valueOf(payload.id)).set(document).get();
+            accountView.applyLocalWrite(String.valueOf(payload.id), payload, result.getUpdateTime());
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new IllegalStateException("Interrupted while writing account", e);
         } catch (ExecutionException e) {
             throw new IllegalStateException("Failed to write account", e);
-        }
-    }
-
-    private void clearTenantAccountReferences(Long accountId) {
-        try {
-            QuerySnapshot dailyRefDocs = tenants().whereEqualTo("dailyCollectionAccountId", accountId).get().get();
-            QuerySnapshot joiningRefDocs = tenants().whereEqualTo("joiningCollectionAccountId", accountId).get().get();
-
-            WriteBatch batch = firestore.batch();
-            for (DocumentSnapshot doc : dailyRefDocs.getDocuments()) {
-                batch.update(doc.getReference(), "dailyCollectionAccountId", null);
-            }
-            for (DocumentSnapshot doc : joiningRefDocs.getDocuments()) {
-                batch.update(doc.getReference(), "joiningCollectionAccountId", null);
-            }
-            batch.commit().get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while clearing account references", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to clear account references", e);
-        }
-    }
-
-    private void clearExpenseAccountReferences(Long accountId) {
-        try {
-            QuerySnapshot expenseDocs = expenses().whereEqualTo("accountId", accountId).get().get();
-            WriteBatch batch = firestore.batch();
-            for (DocumentSnapshot doc : expenseDocs.getDocuments()) {
-                batch.update(doc.getReference(), "accountId", null);
-                batch.update(doc.getReference(), "accountName", null);
-            }
-            batch.commit().get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while clearing expense account references", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to clear expense account references", e);
+        } finally {
+            accountCache.invalidate(payload.id);
         }
     }
 
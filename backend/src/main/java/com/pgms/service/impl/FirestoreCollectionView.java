@@ -0,0 +1,243 @@
+package com.pgms.service.impl;
+
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.DocumentChange;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * In-memory copy of one Firestore collection, fed by {@link FirestoreLiveViews} from a snapshot listener and by
+ * the owning service right after its own writes. Entries carry the document update time and an older version never
+ * replaces a newer one, so a listener event that trails a local write cannot roll it back. Deletes leave a versioned
+ * tombstone for the same reason; it only has to outlive the writes in flight when it was made, so tombstones more
+ * than {@link #TOMBSTONE_RETENTION_SECONDS} behind the latest snapshot are dropped. Until the first full snapshot
+ * has arrived (and again after a listener failure until it has been re-established) the view reports not ready and
+ * callers read from Firestore instead.
+ */
+final class FirestoreCollectionView<T> {
+
+    static final long TOMBSTONE_RETENTION_SECONDS = 60;
+
+    interface ChangeListener<T> {
+        void changed(T previous, T current);
+
+        /**
+         * Called once instead of per document when a full snapshot changed the view.
+         */
+        void resynced();
+    }
+
+    private final String collection;
+    private final Function<DocumentSnapshot, T> mapper;
+    private final Map<String, Function<T, Object>> indexKeys;
+    private final ChangeListener<T> changeListener;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Entry<T>> entries = new HashMap<>();
+    private final Map<String, Map<Object, Set<String>>> indexes = new HashMap<>();
+    private volatile boolean ready;
+    private boolean resyncPending = true;
+    private Timestamp prunedBefore;
+
+    FirestoreCollectionView(
+            String collection,
+            Function<DocumentSnapshot, T> mapper,
+            Map<String, Function<T, Object>> indexKeys,
+            ChangeListener<T> changeListener
+    ) {
+        this.collection = collection;
+        this.mapper = mapper;
+        this.indexKeys = Map.copyOf(indexKeys);
+        this.changeListener = changeListener;
+        this.indexKeys.keySet().forEach(name -> indexes.put(name, new HashMap<>()));
+    }
+
+    String collection() {
+        return collection;
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+
+    List<T> all() {
+        lock.readLock().lock();
+        try {
+            List<T> values = new ArrayList<>(entries.size());
+            for (Entry<T> entry : entries.values()) {
+                if (entry.value() != null) {
+                    values.add(entry.value());
+                }
+            }
+            return values;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<T> where(String index, Object key) {
+        lock.readLock().lock();
+        try {
+            Set<String> ids = indexes.get(index).getOrDefault(key, Set.of());
+            List<T> values = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                values.add(entries.get(id).value());
+            }
+            return values;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Records a write this instance has just committed; {@code value} is {@code null} for a delete.
+     */
+    void applyLocalWrite(String documentId, T value, Timestamp updateTime) {
+        T previous;
+        lock.writeLock().lock();
+        try {
+            Entry<T> current = entries.get(documentId);
+            if (current != null && current.version().compareTo(updateTime) > 0) {
+                return;
+            }
+            previous = put(documentId, new Entry<>(value, updateTime));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        notifyChanged(previous, value);
+    }
+
+    void applySnapshot(QuerySnapshot snapshot) {
+        List<Change<T>> changes = new ArrayList<>();
+        boolean resynced = false;
+        lock.writeLock().lock();
+        try {
+            if (resyncPending) {
+                resynced = resync(snapshot);
+                resyncPending = false;
+                ready = true;
+            } else {
+                for (DocumentChange change : snapshot.getDocumentChanges()) {
+                    QueryDocumentSnapshot doc = change.getDocument();
+                    Entry<T> current = entries.get(doc.getId());
+                    Timestamp version = change.getType() == DocumentChange.Type.REMOVED
+                            ? snapshot.getReadTime()
+                            : doc.getUpdateTime();
+                    if (current != null && current.version().compareTo(version) > 0) {
+                        continue;
+                    }
+                    T value = change.getType() == DocumentChange.Type.REMOVED ? null : mapper.apply(doc);
+                    changes.add(new Change<>(put(doc.getId(), new Entry<>(value, version)), value));
+                }
+            }
+            pruneTombstones(snapshot.getReadTime());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (resynced && changeListener != null) {
+            changeListener.resynced();
+        }
+        changes.forEach(change -> notifyChanged(change.previous(), change.current()));
+    }
+
+    /**
+     * Called when the listener has failed; the next snapshot after re-subscribing replaces the whole view.
+     */
+    void markStale() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            resyncPending = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean resync(QuerySnapshot snapshot) {
+        boolean changed = false;
+        Set<String> seen = new HashSet<>();
+        for (QueryDocumentSnapshot doc : snapshot.getDocuments()) {
+            seen.add(doc.getId());
+            Entry<T> current = entries.get(doc.getId());
+            if (current != null && current.version().compareTo(doc.getUpdateTime()) >= 0) {
+                continue;
+            }
+            put(doc.getId(), new Entry<>(mapper.apply(doc), doc.getUpdateTime()));
+            changed = true;
+        }
+        for (String id : new ArrayList<>(entries.keySet())) {
+            Entry<T> current = entries.get(id);
+            if (!seen.contains(id)
+                    && current.value() != null
+                    && current.version().compareTo(snapshot.getReadTime()) <= 0) {
+                put(id, new Entry<>(null, snapshot.getReadTime()));
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Drops tombstones older than the retention window behind {@code readTime}. Sweeps at most once per window, so
+     * a busy listener does not scan the whole view on every snapshot.
+     */
+    private void pruneTombstones(Timestamp readTime) {
+        if (readTime == null) {
+            return;
+        }
+        Timestamp cutoff = Timestamp.ofTimeSecondsAndNanos(
+                readTime.getSeconds() - TOMBSTONE_RETENTION_SECONDS,
+                readTime.getNanos()
+        );
+        if (prunedBefore != null && prunedBefore.getSeconds() + TOMBSTONE_RETENTION_SECONDS > cutoff.getSeconds()) {
+            return;
+        }
+        entries.values().removeIf(entry -> entry.value() == null && entry.version().compareTo(cutoff) < 0);
+        prunedBefore = cutoff;
+    }
+
+    private T put(String documentId, Entry<T> entry) {
+        Entry<T> previous = entries.put(documentId, entry);
+        T previousValue = previous == null ? null : previous.value();
+        indexKeys.forEach((name, key) -> {
+            Map<Object, Set<String>> index = indexes.get(name);
+            if (previousValue != null) {
+                Object previousKey = key.apply(previousValue);
+                Set<String> ids = index.get(previousKey);
+                if (ids != null) {
+                    ids.remove(documentId);
+                    if (ids.isEmpty()) {
+                        index.remove(previousKey);
+                    }
+                }
+            }
+            if (entry.value() != null) {
+                index.computeIfAbsent(key.apply(entry.value()), ignored -> new HashSet<>()).add(documentId);
+            }
+        });
+        return previousValue;
+    }
+
+    private void notifyChanged(T previous, T current) {
+        if (changeListener != null && !Objects.equals(previous, current)) {
+            changeListener.changed(previous, current);
+        }
+    }
+
+    private record Entry<T>(T value, Timestamp version) {
+    }
+
+    private record Change<T>(T previous, T current) {
+    }
+}
@@ -2,13 +2,11 @@ package com.pgms.service.impl;
 
 import com.google.cloud.Timestamp;
 import com.google.cloud.firestore.CollectionReference;
-import com.google.cloud.firestore.DocumentReference;
 import com.google.cloud.firestore.DocumentSnapshot;
 import com.google.cloud.firestore.Firestore;
 import com.google.cloud.firestore.Query;
 import com.google.cloud.firestore.QueryDocumentSnapshot;
 import com.google.cloud.firestore.QuerySnapshot;
-import com.google.cloud.firestore.SetOptions;
 import com.pgms.dto.ExpenseRequest;
 import com.pgms.dto.ExpenseResponse;
 import com.pgms.exception.ResourceNotFoundException;
@@ -36,14 +34,20 @@ public class FirestoreExpenseServiceImpl implements ExpenseService {
 
     private static final Logger log = LoggerFactory.getLogger(FirestoreExpenseServiceImpl.class);
     private static final String EXPENSES_COLLECTION = "expenses";
-    private static final String ACCOUNTS_COLLECTION = "accounts";
-    private static final String META_COLLECTION = "_meta";
     private static final String EXPENSE_COUNTER_DOC = "expenseSeq";
 
     private final Firestore firestore;
+    private final FirestoreIdAllocator idAllocator;
+    private final FirestoreAccountCache accountCache;
 
-    public FirestoreExpenseServiceImpl(Firestore firestore) {
+    public FirestoreExpenseServiceImpl(
+            Firestore firestore,
+            FirestoreIdAllocator idAllocator,
+            FirestoreAccountCache accountCache
+    ) {
         this.firestore = firestore;
+        this.idAllocator = idAllocator;
+        this.accountCache = accountCache;
     }
 
     @Override
@@ -121,31 +125,8 @@ public class FirestoreExpenseServiceImpl implements ExpenseService {
         return firestore.collection(EXPENSES_COLLECTION);
     }
 
-    private CollectionReference accounts() {
-        return firestore.collection(ACCOUNTS_COLLECTION);
-    }
-
     private Long nextExpenseId() {
-        try {
-            return firestore.runTransaction(transaction -> {
-                DocumentReference counterRef = firestore.collection(META_COLLECTION).document(EXPENSE_COUNTER_DOC);
-                DocumentSnapshot counterSnapshot = transaction.get(counterRef).get();
-                long nextId = 1L;
-                if (counterSnapshot.exists() && counterSnapshot.getLong("nextId") != null) {
-                    nextId = counterSnapshot.getLong("nextId");
-                }
-                Map<String, Object> update = new HashMap<>();
-                update.put("nextId", nextId + 1L);
-                update.put("updatedAt", Timestamp.now());
-                transaction.set(counterRef, update, SetOptions.merge());
-                return nextId;
-            }).get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while generating expense id", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to generate expense id", e);
-        }
+        return idAllocator.next(EXPENSE_COUNTER_DOC);
     }
 
     private ExpensePayload getExpensePayload(Long expenseId) {
@@ -173,20 +154,7 @@ public class FirestoreExpenseServiceImpl implements ExpenseService {
     }
 
     private String resolveAccountName(Long accountId) {
-        if (accountId == null) return null;
-        try {
-            DocumentSnapshot snapshot = accounts().document(String.valueOf(accountId)).get().get();
-            if (!snapshot.exists()) {
-                throw new ResourceNotFoundException("Account not found with id: " + accountId);
-            }
-            Object name = snapshot.get("name");
-            return name == null ? null : String.valueOf(name);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while reading account", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to read account", e);
-        }
+        return accountId == null ? null : accountCache.get(accountId).name();
     }
 
     private void writeExpense(ExpensePayload payload) {
@@ -0,0 +1,113 @@
+package com.pgms.service.impl;
+
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.SetOptions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out numeric ids from the {@code _meta/{sequence}} counters. Each instance reserves a block of ids with one
+ * transaction and serves them from memory until the block runs out, so the counter document sees one write per
+ * block instead of one per insert. Ids stay unique across instances; unused ids in a block are skipped when the
+ * instance stops, which leaves gaps but never duplicates. Reserving a block goes through {@link BlockLease}, so the
+ * in-memory hand-out can be exercised without Firestore.
+ */
+@Component
+@ConditionalOnProperty(name = "app.data-provider", havingValue = "firebase")
+class FirestoreIdAllocator {
+
+    private static final String META_COLLECTION = "_meta";
+
+    private final BlockLease blockLease;
+    private final long blockSize;
+    private final Map<String, Sequence> sequences = new ConcurrentHashMap<>();
+
+    @Autowired
+    FirestoreIdAllocator(Firestore firestore, @Value("${app.firebase.id-block-size:100}") long blockSize) {
+        this((sequence, size) -> reserveInFirestore(firestore, sequence, size), blockSize);
+    }
+
+    FirestoreIdAllocator(BlockLease blockLease, long blockSize) {
+        this.blockLease = blockLease;
+        this.blockSize = Math.max(blockSize, 1L);
+    }
+
+    long next(String sequence) {
+        return sequences.computeIfAbsent(sequence, Sequence::new).next();
+    }
+
+    private Block lease(String sequence) {
+        long start = blockLease.reserve(sequence, blockSize);
+        return new Block(new AtomicLong(start), start + blockSize);
+    }
+
+    private static long reserveInFirestore(Firestore firestore, String sequence, long blockSize) {
+        try {
+            return firestore.runTransaction(transaction -> {
+                DocumentReference counterRef = firestore.collection(META_COLLECTION).document(sequence);
+                DocumentSnapshot counterSnapshot = transaction.get(counterRef).get();
+                long nextId = 1L;
+                if (counterSnapshot.exists() && counterSnapshot.getLong("nextId") != null) {
+                    nextId = counterSnapshot.getLong("nextId");
+                }
+                Map<String, Object> update = new HashMap<>();
+                update.put("nextId", nextId + blockSize);
+                update.put("updatedAt", Timestamp.now());
+                transaction.set(counterRef, update, SetOptions.merge());
+                return nextId;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while leasing ids for " + sequence, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to lease ids for " + sequence, e);
+        }
+    }
+
+    /**
+     * Reserves {@code blockSize} consecutive ids of {@code sequence} for this instance and returns the first.
+     */
+    @FunctionalInterface
+    interface BlockLease {
+        long reserve(String sequence, long blockSize);
+    }
+
+    private record Block(AtomicLong next, long end) {
+        static final Block EMPTY = new Block(new AtomicLong(), 0L);
+    }
+
+    private final class Sequence {
+        private final String name;
+        private volatile Block block = Block.EMPTY;
+
+        private Sequence(String name) {
+            this.name = name;
+        }
+
+        long next() {
+            while (true) {
+                Block current = block;
+                long id = current.next().getAndIncrement();
+                if (id < current.end()) {
+                    return id;
+                }
+                synchronized (this) {
+                    if (block == current) {
+                        block = lease(name);
+                    }
+                }
+            }
+        }
+    }
+}
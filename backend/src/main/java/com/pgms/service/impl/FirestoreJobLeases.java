@@ -0,0 +1,129 @@
+package com.pgms.service.impl;
+
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Firestore counterpart of {@link JobLeases}: one {@code _jobs/{job}} document per job records the run key, the
+ * holder and how long its lease lasts. Taking the lease is a transaction, so of the instances that race for a run
+ * exactly one wins; the others see it held or already complete and skip the run. The holder marks the run complete
+ * when it finishes or releases it when it fails, and a holder that dies leaves the lease to expire. Expiry uses the
+ * instances' clocks, so the lease should be much longer than the expected clock skew.
+ */
+@Component
+@ConditionalOnProperty(name = "app.data-provider", havingValue = "firebase")
+class FirestoreJobLeases {
+
+    private static final Logger log = LoggerFactory.getLogger(FirestoreJobLeases.class);
+    private static final String JOBS_COLLECTION = "_jobs";
+    private static final String LEASE_TYPE = "lease";
+
+    private final Firestore firestore;
+    private final long leaseSeconds;
+    private final String holder;
+
+    FirestoreJobLeases(Firestore firestore, @Value("${app.jobs.lease-seconds:600}") long leaseSeconds) {
+        this.firestore = firestore;
+        this.leaseSeconds = Math.max(leaseSeconds, 1L);
+        this.holder = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+    }
+
+    /**
+     * Takes the lease on {@code job} for {@code runKey}. Returns {@code false} when the run has already completed or
+     * another instance holds a live lease on the job.
+     */
+    boolean tryAcquire(String job, String runKey) {
+        DocumentReference lease = lease(job);
+        boolean acquired = runTransaction("acquire", job, transaction -> {
+            DocumentSnapshot snapshot = transaction.get(lease).get();
+            Instant now = Instant.now();
+            if (snapshot.exists()) {
+                boolean completed = snapshot.getTimestamp("completedAt") != null;
+                Timestamp leasedUntil = snapshot.getTimestamp("leasedUntil");
+                if (completed && runKey.equals(snapshot.getString("runKey"))) {
+                    return false;
+                }
+                if (!completed && leasedUntil != null && leasedUntil.toDate().toInstant().isAfter(now)) {
+                    return false;
+                }
+            }
+            Map<String, Object> doc = new HashMap<>();
+            doc.put("type", LEASE_TYPE);
+            doc.put("runKey", runKey);
+            doc.put("holder", holder);
+            doc.put("leasedUntil", timestamp(now.plusSeconds(leaseSeconds)));
+            doc.put("completedAt", null);
+            doc.put("updatedAt", timestamp(now));
+            transaction.set(lease, doc);
+            return true;
+        });
+        if (!acquired) {
+            log.debug("Skipping {} for {}: completed or leased by another instance", job, runKey);
+        }
+        return acquired;
+    }
+
+    void complete(String job, String runKey) {
+        finish(job, runKey, true);
+    }
+
+    void release(String job, String runKey) {
+        finish(job, runKey, false);
+    }
+
+    private void finish(String job, String runKey, boolean completed) {
+        DocumentReference lease = lease(job);
+        runTransaction(completed ? "complete" : "release", job, transaction -> {
+            DocumentSnapshot snapshot = transaction.get(lease).get();
+            if (!snapshot.exists()
+                    || !holder.equals(snapshot.getString("holder"))
+                    || !runKey.equals(snapshot.getString("runKey"))
+                    || snapshot.getTimestamp("completedAt") != null) {
+                return false;
+            }
+            Timestamp now = timestamp(Instant.now());
+            Map<String, Object> update = new HashMap<>();
+            update.put("leasedUntil", now);
+            update.put("updatedAt", now);
+            if (completed) {
+                update.put("completedAt", now);
+            }
+            transaction.update(lease, update);
+            return true;
+        });
+    }
+
+    private boolean runTransaction(String action, String job, Transaction.Function<Boolean> body) {
+        try {
+            return firestore.runTransaction(body).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while trying to " + action + " the " + job + " lease", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to " + action + " the " + job + " lease", e);
+        }
+    }
+
+    private DocumentReference lease(String job) {
+        return firestore.collection(JOBS_COLLECTION).document(job);
+    }
+
+    private static Timestamp timestamp(Instant instant) {
+        return Timestamp.ofTimeSecondsAndNanos(instant.getEpochSecond(), instant.getNano());
+    }
+}
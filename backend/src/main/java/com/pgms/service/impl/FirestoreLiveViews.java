@@ -0,0 +1,127 @@
+package com.pgms.service.impl;
+
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.ListenerRegistration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Keeps {@link FirestoreCollectionView}s up to date through snapshot listeners when {@code app.firebase.live-view}
+ * is on. Transient disconnects are handled inside the Firestore client, which resumes the stream; when a listener
+ * fails outright its view is marked stale and the listener is re-created with backoff, and the first snapshot of the
+ * new listener resynchronises the whole view. With the flag off, views are created but never become ready.
+ */
+@Component
+@ConditionalOnProperty(name = "app.data-provider", havingValue = "firebase")
+class FirestoreLiveViews implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(FirestoreLiveViews.class);
+    private static final long INITIAL_BACKOFF_MILLIS = 1_000L;
+    private static final long MAX_BACKOFF_MILLIS = 60_000L;
+
+    private final Firestore firestore;
+    private final boolean enabled;
+    private final List<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService resubscribeExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "firestore-live-view");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean started;
+
+    FirestoreLiveViews(Firestore firestore, @Value("${app.firebase.live-view:false}") boolean enabled) {
+        this.firestore = firestore;
+        this.enabled = enabled;
+    }
+
+    <T> FirestoreCollectionView<T> register(
+            String collection,
+            Function<DocumentSnapshot, T> mapper,
+            Map<String, Function<T, Object>> indexKeys,
+            FirestoreCollectionView.ChangeListener<T> changeListener
+    ) {
+        FirestoreCollectionView<T> view = new FirestoreCollectionView<>(collection, mapper, indexKeys, changeListener);
+        Subscription<T> subscription = new Subscription<>(view);
+        subscriptions.add(subscription);
+        if (started) {
+            subscription.subscribe();
+        }
+        return view;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || started) {
+            return;
+        }
+        started = true;
+        subscriptions.forEach(Subscription::subscribe);
+    }
+
+    @Override
+    public void destroy() {
+        started = false;
+        resubscribeExecutor.shutdownNow();
+        subscriptions.forEach(Subscription::close);
+    }
+
+    private final class Subscription<T> {
+        private final FirestoreCollectionView<T> view;
+        private ListenerRegistration registration;
+        private long backoffMillis = INITIAL_BACKOFF_MILLIS;
+
+        private Subscription(FirestoreCollectionView<T> view) {
+            this.view = view;
+        }
+
+        synchronized void subscribe() {
+            if (!started) {
+                return;
+            }
+            view.markStale();
+            registration = firestore.collection(view.collection()).addSnapshotListener((snapshot, error) -> {
+                if (error != null) {
+                    failed(error);
+                    return;
+                }
+                view.applySnapshot(snapshot);
+                synchronized (this) {
+                    backoffMillis = INITIAL_BACKOFF_MILLIS;
+                }
+            });
+        }
+
+        synchronized void close() {
+            if (registration != null) {
+                registration.remove();
+                registration = null;
+            }
+        }
+
+        private synchronized void failed(Exception error) {
+            view.markStale();
+            close();
+            if (!started) {
+                return;
+            }
+            log.warn("Live view listener for {} failed; re-subscribing in {} ms", view.collection(), backoffMillis, error);
+            resubscribeExecutor.schedule(this::subscribe, backoffMillis, TimeUnit.MILLISECONDS);
+            backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+}
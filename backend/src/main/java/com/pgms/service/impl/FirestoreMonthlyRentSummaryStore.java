@@ -0,0 +1,311 @@
+package com.pgms.service.impl;
+
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.FieldPath;
+import com.google.cloud.firestore.FieldValue;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.SetOptions;
+import com.google.cloud.firestore.UpdateBuilder;
+import com.google.cloud.firestore.WriteBatch;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Per-month dashboard totals in {@code _aggregates/{yyyy-MM}}, stored as integer paise so concurrent writers can
+ * apply {@link FieldValue#increment(long)} without a read. Callers collect deltas in {@link Changes} and write
+ * them into the same {@link WriteBatch} or transaction as the document change they describe, so both land or neither
+ * does.
+ */
+@Component
+@ConditionalOnProperty(name = "app.data-provider", havingValue = "firebase")
+class FirestoreMonthlyRentSummaryStore {
+
+    private static final String AGGREGATES_COLLECTION = "_aggregates";
+    private static final String DUE_RENTS_COLLECTION = "dueRents";
+    private static final String COLLECTION_RENTS_COLLECTION = "collectionRents";
+    private static final String TENANTS_COLLECTION = "tenants";
+    private static final String COLLECTED = "collectedPaise";
+    private static final String DUE = "duePaise";
+    private static final String JOINING_COLLECTION = "joiningCollectionPaise";
+    private static final String JOINING_PENDING = "joiningPendingPaise";
+    private static final int MAX_BATCH_WRITES = 500;
+
+    private final Firestore firestore;
+
+    FirestoreMonthlyRentSummaryStore(Firestore firestore) {
+        this.firestore = firestore;
+    }
+
+    Changes changes() {
+        return new Changes();
+    }
+
+    MonthlyRentTotals totals(LocalDate start, LocalDate end) {
+        try {
+            List<QueryDocumentSnapshot> months = aggregates()
+                    .whereGreaterThanOrEqualTo("month", YearMonth.from(start).toString())
+                    .whereLessThanOrEqualTo("month", YearMonth.from(end).toString())
+                    .get()
+                    .get()
+                    .getDocuments();
+            MonthlyRentTotals totals = MonthlyRentTotals.ZERO;
+            for (QueryDocumentSnapshot month : months) {
+                totals = totals.plus(
+                        fromPaise(month.getLong(COLLECTED)),
+                        fromPaise(month.getLong(DUE)),
+                        fromPaise(month.getLong(JOINING_COLLECTION)),
+                        fromPaise(month.getLong(JOINING_PENDING))
+                );
+            }
+            return totals;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading monthly rent aggregates", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to read monthly rent aggregates", e);
+        }
+    }
+
+    boolean isEmpty() {
+        try {
+            return aggregates().limit(1).get().get().isEmpty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading monthly rent aggregates", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to read monthly rent aggregates", e);
+        }
+    }
+
+    /**
+     * Recomputes every month from the source collections and overwrites {@code _aggregates}. The scan is not
+     * isolated from concurrent writes, so it is meant for reconciling drift during quiet periods.
+     */
+    int rebuild() {
+        Map<YearMonth, Map<String, Long>> months = new TreeMap<>();
+
+        Iterator<QueryDocumentSnapshot> collections = scan(COLLECTION_RENTS_COLLECTION);
+        while (collections.hasNext()) {
+            QueryDocumentSnapshot doc = collections.next();
+            OffsetDateTime collectedAt = readOffsetDateTime(doc.get("collectedAt"));
+            if (collectedAt != null) {
+                addPaise(month(months, collectionMonth(collectedAt)), COLLECTED, readBigDecimal(doc.get("collectedAmount")));
+            }
+        }
+
+        Iterator<QueryDocumentSnapshot> dueRents = scan(DUE_RENTS_COLLECTION);
+        while (dueRents.hasNext()) {
+            QueryDocumentSnapshot doc = dueRents.next();
+            LocalDate billingMonth = readLocalDate(doc.get("billingMonth"));
+            if (billingMonth != null) {
+                addPaise(month(months, YearMonth.from(billingMonth)), DUE, readBigDecimal(doc.get("dueAmount")));
+            }
+        }
+
+        Iterator<QueryDocumentSnapshot> tenants = scan(TENANTS_COLLECTION);
+        while (tenants.hasNext()) {
+            QueryDocumentSnapshot doc = tenants.next();
+            JoiningContribution joining = JoiningContribution.of(
+                    Boolean.TRUE.equals(doc.getBoolean("dailyAccommodation")),
+                    readLocalDate(doc.get("joiningDate")),
+                    readBigDecimal(doc.get("rentPaidAmount")),
+                    readBigDecimal(doc.get("depositPaidAmount")),
+                    readBigDecimal(doc.get("deposit")),
+                    readBigDecimal(doc.get("rentDueAmount"))
+            );
+            if (joining != null) {
+                Map<String, Long> month = month(months, joining.month());
+                addPaise(month, JOINING_COLLECTION, joining.collection());
+                addPaise(month, JOINING_PENDING, joining.pending());
+            }
+        }
+
+        List<DocumentReference> stale = new ArrayList<>();
+        for (DocumentReference existing : aggregates().listDocuments()) {
+            if (!months.containsKey(YearMonth.parse(existing.getId()))) {
+                stale.add(existing);
+            }
+        }
+
+        BatchWriter writer = new BatchWriter();
+        for (DocumentReference reference : stale) {
+            writer.batch().delete(reference);
+            writer.written();
+        }
+        for (Map.Entry<YearMonth, Map<String, Long>> month : months.entrySet()) {
+            Map<String, Object> doc = new HashMap<>();
+            doc.put("month", month.getKey().toString());
+            doc.put(COLLECTED, month.getValue().getOrDefault(COLLECTED, 0L));
+            doc.put(DUE, month.getValue().getOrDefault(DUE, 0L));
+            doc.put(JOINING_COLLECTION, month.getValue().getOrDefault(JOINING_COLLECTION, 0L));
+            doc.put(JOINING_PENDING, month.getValue().getOrDefault(JOINING_PENDING, 0L));
+            doc.put("updatedAt", FieldValue.serverTimestamp());
+            writer.batch().set(aggregates().document(month.getKey().toString()), doc);
+            writer.written();
+        }
+        writer.commit();
+        return months.size();
+    }
+
+    private CollectionReference aggregates() {
+        return firestore.collection(AGGREGATES_COLLECTION);
+    }
+
+    private Iterator<QueryDocumentSnapshot> scan(String collection) {
+        return FirestorePages.iterate(
+                firestore.collection(collection).orderBy(FieldPath.documentId()),
+                FirestorePages.DEFAULT_PAGE_SIZE
+        );
+    }
+
+    private Map<String, Long> month(Map<YearMonth, Map<String, Long>> months, YearMonth month) {
+        return months.computeIfAbsent(month, key -> new HashMap<>());
+    }
+
+    private YearMonth collectionMonth(OffsetDateTime collectedAt) {
+        return YearMonth.from(collectedAt.atZoneSameInstant(ZoneId.systemDefault()));
+    }
+
+    private void addPaise(Map<String, Long> fields, String field, BigDecimal amount) {
+        long paise = nvl(amount).movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        fields.merge(field, paise, Long::sum);
+    }
+
+    private BigDecimal fromPaise(Long paise) {
+        return paise == null ? BigDecimal.ZERO : BigDecimal.valueOf(paise, 2);
+    }
+
+    private BigDecimal nvl(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+
+    private BigDecimal readBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        if (value instanceof Number number) {
+            return BigDecimal.valueOf(number.doubleValue());
+        }
+        String text = String.valueOf(value);
+        return text.isBlank() ? BigDecimal.ZERO : new BigDecimal(text);
+    }
+
+    private LocalDate readLocalDate(Object value) {
+        if (value == null || String.valueOf(value).isBlank()) {
+            return null;
+        }
+        return LocalDate.parse(String.valueOf(value));
+    }
+
+    private OffsetDateTime readOffsetDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return OffsetDateTime.ofInstant(timestamp.toDate().toInstant(), ZoneId.systemDefault());
+        }
+        if (value instanceof String text && !text.isBlank()) {
+            return OffsetDateTime.parse(text);
+        }
+        return null;
+    }
+
+    /**
+     * Deltas for one write batch or transaction, merged per month so each aggregate document is written at most once per commit.
+     */
+    final class Changes {
+        private final Map<YearMonth, Map<String, Long>> months = new TreeMap<>();
+
+        Changes dueChanged(LocalDate billingMonth, BigDecimal previousDue, BigDecimal currentDue) {
+            if (billingMonth != null) {
+                addPaise(month(months, YearMonth.from(billingMonth)), DUE, nvl(currentDue).subtract(nvl(previousDue)));
+            }
+            return this;
+        }
+
+        Changes collectionChanged(OffsetDateTime collectedAt, BigDecimal amountDelta) {
+            if (collectedAt != null) {
+                addPaise(month(months, collectionMonth(collectedAt)), COLLECTED, amountDelta);
+            }
+            return this;
+        }
+
+        Changes joiningChanged(JoiningContribution previous, JoiningContribution current) {
+            if (Objects.equals(previous, current)) {
+                return this;
+            }
+            if (previous != null) {
+                Map<String, Long> month = month(months, previous.month());
+                addPaise(month, JOINING_COLLECTION, previous.collection().negate());
+                addPaise(month, JOINING_PENDING, previous.pending().negate());
+            }
+            if (current != null) {
+                Map<String, Long> month = month(months, current.month());
+                addPaise(month, JOINING_COLLECTION, current.collection());
+                addPaise(month, JOINING_PENDING, current.pending());
+            }
+            return this;
+        }
+
+        void writeTo(UpdateBuilder<?> writes) {
+            months.forEach((month, deltas) -> {
+                deltas.values().removeIf(delta -> delta == 0L);
+                if (deltas.isEmpty()) {
+                    return;
+                }
+                Map<String, Object> update = new HashMap<>();
+                update.put("month", month.toString());
+                deltas.forEach((field, delta) -> update.put(field, FieldValue.increment(delta)));
+                update.put("updatedAt", FieldValue.serverTimestamp());
+                writes.set(aggregates().document(month.toString()), update, SetOptions.merge());
+            });
+        }
+    }
+
+    private final class BatchWriter {
+        private WriteBatch batch = firestore.batch();
+        private int writes;
+
+        WriteBatch batch() {
+            return batch;
+        }
+
+        void written() {
+            if (++writes == MAX_BATCH_WRITES) {
+                commit();
+            }
+        }
+
+        void commit() {
+            if (writes == 0) {
+                return;
+            }
+            try {
+                batch.commit().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while writing monthly rent aggregates", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to write monthly rent aggregates", e);
+            }
+            batch = firestore.batch();
+            writes = 0;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.pgms.service.impl;
+
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+
+final class FirestorePages {
+
+    static final int DEFAULT_PAGE_SIZE = 500;
+
+    private FirestorePages() {
+    }
+
+    /**
+     * Lazily walks an ordered query one page at a time using {@code startAfter} cursors,
+     * so callers only ever hold a single page of documents in memory.
+     */
+    static Iterator<QueryDocumentSnapshot> iterate(Query orderedQuery, int pageSize) {
+        return new PageIterator(orderedQuery, pageSize);
+    }
+
+    private static final class PageIterator implements Iterator<QueryDocumentSnapshot> {
+        private final Query query;
+        private final int pageSize;
+        private List<QueryDocumentSnapshot> page = Collections.emptyList();
+        private int position;
+        private QueryDocumentSnapshot lastDocument;
+        private boolean exhausted;
+
+        private PageIterator(Query query, int pageSize) {
+            this.query = query;
+            this.pageSize = Math.max(pageSize, 1);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (position < page.size()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+            fetchNextPage();
+            return position < page.size();
+        }
+
+        @Override
+        public QueryDocumentSnapshot next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastDocument = page.get(position++);
+            return lastDocument;
+        }
+
+        private void fetchNextPage() {
+            Query pageQuery = lastDocument == null ? query : query.startAfter(lastDocument);
+            try {
+                page = pageQuery.limit(pageSize).get().get().getDocuments();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while reading query page", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to read query page", e);
+            }
+            position = 0;
+            exhausted = page.size() < pageSize;
+        }
+    }
+}
@@ -1,16 +1,24 @@
 package com.pgms.service.impl;
 
+import com.google.api.core.ApiFuture;
 import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.BulkWriter;
+import com.google.cloud.firestore.BulkWriterException;
 import com.google.cloud.firestore.CollectionReference;
 import com.google.cloud.firestore.DocumentReference;
 import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.FieldPath;
 import com.google.cloud.firestore.Firestore;
 import com.google.cloud.firestore.Query;
 import com.google.cloud.firestore.QueryDocumentSnapshot;
 import com.google.cloud.firestore.QuerySnapshot;
 import com.google.cloud.firestore.SetOptions;
+import com.google.cloud.firestore.Transaction;
+import com.google.cloud.firestore.WriteBatch;
+import com.google.cloud.firestore.WriteResult;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
+import com.pgms.cache.CacheInvalidator;
 import com.pgms.dto.DashboardSummaryResponse;
 import com.pgms.dto.RentRecordRequest;
 import com.pgms.dto.RentRecordResponse;
@@ -18,28 +26,39 @@ import com.pgms.dto.RentRecordUpdateRequest;
 import com.pgms.dto.RentTransactionResponse;
 import com.pgms.entity.PaymentStatus;
 import com.pgms.entity.RentRecordStatus;
+import com.pgms.exception.BadRequestException;
 import com.pgms.exception.ResourceNotFoundException;
 import com.pgms.service.RentService;
+import com.pgms.service.impl.FirestoreAccountCache.AccountSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.YearMonth;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 @Service
 @ConditionalOnProperty(name = "app.data-provider", havingValue = "firebase")
@@ -51,104 +70,194 @@ public class FirestoreRentServiceImpl implements RentService {
     private static final String COLLECTION_RENTS_COLLECTION = "collectionRents";
     private static final String COLLECTION_TRANSACTIONS_COLLECTION = "collectionTransactions";
     private static final String TENANTS_COLLECTION = "tenants";
-    private static final String ACCOUNTS_COLLECTION = "accounts";
-    private static final String META_COLLECTION = "_meta";
-    private static final String DUE_RENT_COUNTER_DOC = "dueRentSeq";
+    private static final String DUE_GENERATION_JOB = "dueGeneration";
+    private static final int STARTUP_REBUILD_AGGREGATES = 0;
+    private static final int STARTUP_GENERATE_DUES = 1;
+    // New due rents take their id from the tenant and month instead of the allocator, so due generation and a manual
+    // upsert of the same month address the same document and the loser of a race is rejected rather than duplicated.
+    // The ids sit above anything the allocator ever handed out and stay below 2^53 for JS clients. Due rents created
+    // before this keep their allocated ids and are still found by tenant and month.
+    private static final long KEYED_DUE_RENT_ID_BASE = 1L << 52;
+    private static final int KEYED_DUE_RENT_MONTH_BITS = 15;
+    private static final long KEYED_DUE_RENT_MAX_TENANT_ID = 1L << (52 - KEYED_DUE_RENT_MONTH_BITS);
+    private static final YearMonth KEYED_DUE_RENT_FIRST_MONTH = YearMonth.of(2000, 1);
+    private static final YearMonth KEYED_DUE_RENT_LAST_MONTH =
+            KEYED_DUE_RENT_FIRST_MONTH.plusMonths((1L << KEYED_DUE_RENT_MONTH_BITS) - 1);
 
     private final Firestore firestore;
-
-    public FirestoreRentServiceImpl(Firestore firestore) {
+    private final FirestoreMonthlyRentSummaryStore monthlyRentSummaryStore;
+    private final FirestoreAccountCache accountCache;
+    private final FirestoreJobLeases jobLeases;
+    private final CacheInvalidator cacheInvalidator;
+
+    public FirestoreRentServiceImpl(
+            Firestore firestore,
+            FirestoreMonthlyRentSummaryStore monthlyRentSummaryStore,
+            FirestoreAccountCache accountCache,
+            FirestoreJobLeases jobLeases,
+            CacheInvalidator cacheInvalidator
+    ) {
         this.firestore = firestore;
+        this.monthlyRentSummaryStore = monthlyRentSummaryStore;
+        this.accountCache = accountCache;
+        this.jobLeases = jobLeases;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     @Override
     public RentRecordResponse upsertRentRecord(RentRecordRequest request) {
-        TenantSnapshot tenant = getTenantSnapshot(request.getTenantId());
+        YearMonth month = YearMonth.from(request.getBillingMonth());
+        if (month.isBefore(KEYED_DUE_RENT_FIRST_MONTH) || month.isAfter(KEYED_DUE_RENT_LAST_MONTH)) {
+            throw new BadRequestException("Billing month must be between " + KEYED_DUE_RENT_FIRST_MONTH
+                    + " and " + KEYED_DUE_RENT_LAST_MONTH);
+        }
+        try {
+            return upsertRentRecordOnce(request);
+        } catch (IllegalStateException e) {
+            if (!hasStatus(e, Status.Code.ALREADY_EXISTS)) {
+                throw e;
+            }
+            // Due generation or another upsert created this month's due rent after it was looked up; update that one.
+            return upsertRentRecordOnce(request);
+        }
+    }
+
+    private RentRecordResponse upsertRentRecordOnce(RentRecordRequest request) {
         LocalDate billingMonth = YearMonth.from(request.getBillingMonth()).atDay(1);
-        DueRentPayload dueRent = findDueRentByTenantAndMonth(request.getTenantId(), billingMonth);
-        BigDecimal previousPaid = dueRent != null ? nvl(dueRent.paidAmount) : ZERO;
-        if (dueRent == null) {
-            dueRent = new DueRentPayload();
-            dueRent.id = nextDueRentId();
-            dueRent.tenantId = tenant.id;
-            dueRent.tenantName = tenant.fullName;
-            dueRent.roomNumber = tenant.roomNumber;
-            dueRent.billingMonth = billingMonth;
-        }
-
-        AccountSnapshot account = resolveAccount(request.getAccountId());
-        dueRent.dueAmount = nvl(request.getDueAmount());
-        dueRent.paidAmount = nvl(request.getPaidAmount()).min(dueRent.dueAmount).max(ZERO);
-        dueRent.status = resolveStatus(dueRent.dueAmount, dueRent.paidAmount);
-        dueRent.accountId = account != null ? account.id : null;
-        dueRent.accountName = account != null ? account.name : null;
-        dueRent.updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
-
-        writeDueRent(dueRent);
-        syncCollectionFromDue(dueRent, null);
-        logCollectionTransaction(dueRent, dueRent.paidAmount.subtract(previousPaid), null);
-        syncTenantDueAndPayment(tenant, dueRent);
-        return toResponse(dueRent);
+        RentChange change = runRentChange("rent upsert", transaction -> {
+            ApiFuture<DocumentSnapshot> tenantRead = transaction.get(tenant(request.getTenantId()));
+            ApiFuture<QuerySnapshot> dueRentRead = transaction.get(dueRents()
+                    .whereEqualTo("tenantId", request.getTenantId())
+                    .whereEqualTo("billingMonth", billingMonth.toString())
+                    .limit(1));
+            ApiFuture<AccountSnapshot> accountRead = accountCache.read(request.getAccountId());
+
+            TenantSnapshot tenant = requireTenant(tenantRead, request.getTenantId());
+            QuerySnapshot existing = await(dueRentRead, "due rent");
+            DueRentPayload dueRent = existing.isEmpty() ? null : toDueRentPayload(existing.getDocuments().get(0));
+            ApiFuture<DocumentSnapshot> collectionRead =
+                    dueRent != null ? readCollection(transaction, dueRent.id) : null;
+            AccountSnapshot account = toAccount(accountRead, request.getAccountId());
+
+            BigDecimal previousPaid = dueRent != null ? nvl(dueRent.paidAmount) : ZERO;
+            BigDecimal previousDue = dueRent != null ? nvl(dueRent.dueAmount) : ZERO;
+            boolean newDueRent = dueRent == null;
+            if (newDueRent) {
+                dueRent = new DueRentPayload();
+                dueRent.id = keyedDueRentId(tenant.id, YearMonth.from(billingMonth));
+                dueRent.tenantId = tenant.id;
+                dueRent.tenantName = tenant.fullName;
+                dueRent.roomNumber = tenant.roomNumber;
+                dueRent.billingMonth = billingMonth;
+            }
+            CollectionPayload previousCollection = collectionRead != null ? toCollection(collectionRead) : null;
+
+            dueRent.dueAmount = nvl(request.getDueAmount());
+            dueRent.paidAmount = nvl(request.getPaidAmount()).min(dueRent.dueAmount).max(ZERO);
+            dueRent.status = resolveStatus(dueRent.dueAmount, dueRent.paidAmount);
+            dueRent.accountId = account != null ? account.id() : null;
+            dueRent.accountName = account != null ? account.name() : null;
+            dueRent.updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
+
+            return writeRentChange(
+                    transaction, tenant, dueRent, newDueRent, previousDue, previousPaid, previousCollection, account);
+        });
+        return toResponse(change.dueRent());
     }
 
     @Override
     public RentRecordResponse updateRentRecord(Long recordId, RentRecordUpdateRequest request) {
-        DueRentPayload dueRent = getDueRentById(recordId);
-        BigDecimal previousPaid = nvl(dueRent.paidAmount);
-        TenantSnapshot tenant = getTenantSnapshot(dueRent.tenantId);
-        AccountSnapshot account = resolveAccount(request.getAccountId());
-
-        dueRent.dueAmount = nvl(request.getDueAmount());
-        dueRent.paidAmount = nvl(request.getPaidAmount()).min(dueRent.dueAmount).max(ZERO);
-        dueRent.status = resolveStatus(dueRent.dueAmount, dueRent.paidAmount);
-        dueRent.accountId = account != null ? account.id : null;
-        dueRent.accountName = account != null ? account.name : null;
-        dueRent.updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
-
-        writeDueRent(dueRent);
-        syncCollectionFromDue(dueRent, request.getTransactionDate());
-        logCollectionTransaction(dueRent, dueRent.paidAmount.subtract(previousPaid), request.getTransactionDate());
-        syncTenantDueAndPayment(tenant, dueRent);
-        return toResponse(dueRent);
+        RentChange change = runRentChange("rent update", transaction -> {
+            ApiFuture<DocumentSnapshot> dueRentRead = transaction.get(dueRent(recordId));
+            ApiFuture<DocumentSnapshot> collectionRead = readCollection(transaction, recordId);
+            ApiFuture<AccountSnapshot> accountRead = accountCache.read(request.getAccountId());
+
+            DueRentPayload dueRent = requireDueRent(dueRentRead, recordId);
+            ApiFuture<DocumentSnapshot> tenantRead = transaction.get(tenant(dueRent.tenantId));
+            AccountSnapshot account = toAccount(accountRead, request.getAccountId());
+            CollectionPayload previousCollection = toCollection(collectionRead);
+            TenantSnapshot tenant = requireTenant(tenantRead, dueRent.tenantId);
+
+            BigDecimal previousPaid = nvl(dueRent.paidAmount);
+            BigDecimal previousDue = nvl(dueRent.dueAmount);
+            dueRent.dueAmount = nvl(request.getDueAmount());
+            dueRent.paidAmount = nvl(request.getPaidAmount()).min(dueRent.dueAmount).max(ZERO);
+            dueRent.status = resolveStatus(dueRent.dueAmount, dueRent.paidAmount);
+            dueRent.accountId = account != null ? account.id() : null;
+            dueRent.accountName = account != null ? account.name() : null;
+            dueRent.updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
+
+            return writeRentChange(
+                    transaction, tenant, dueRent, false, previousDue, previousPaid, previousCollection, account);
+        });
+        return toResponse(change.dueRent());
     }
 
     @Override
     public void deleteRentRecord(Long recordId) {
-        DueRentPayload dueRent = getDueRentById(recordId);
-        TenantSnapshot tenant = getTenantSnapshot(dueRent.tenantId);
-        dueRent.dueAmount = ZERO;
-        dueRent.status = resolveStatus(dueRent.dueAmount, dueRent.paidAmount);
-        dueRent.updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
-        writeDueRent(dueRent);
-        syncCollectionFromDue(dueRent, null);
-        syncTenantDueAndPayment(tenant, dueRent);
+        runRentChange("rent delete", transaction -> {
+            ApiFuture<DocumentSnapshot> dueRentRead = transaction.get(dueRent(recordId));
+            ApiFuture<DocumentSnapshot> collectionRead = readCollection(transaction, recordId);
+
+            DueRentPayload dueRent = requireDueRent(dueRentRead, recordId);
+            ApiFuture<DocumentSnapshot> tenantRead = transaction.get(tenant(dueRent.tenantId));
+            ApiFuture<AccountSnapshot> accountRead = accountCache.read(dueRent.accountId);
+            CollectionPayload previousCollection = toCollection(collectionRead);
+            TenantSnapshot tenant = requireTenant(tenantRead, dueRent.tenantId);
+            AccountSnapshot account = toAccount(accountRead, dueRent.accountId);
+
+            BigDecimal previousPaid = nvl(dueRent.paidAmount);
+            BigDecimal previousDue = nvl(dueRent.dueAmount);
+            dueRent.dueAmount = ZERO;
+            dueRent.status = resolveStatus(dueRent.dueAmount, dueRent.paidAmount);
+            dueRent.updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
+
+            return writeRentChange(
+                    transaction, tenant, dueRent, false, previousDue, previousPaid, previousCollection, account);
+        });
     }
 
     @Override
     public void deleteCollectedRecord(Long recordId) {
-        try {
-            collectionRents().document(String.valueOf(recordId)).delete().get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while deleting collected record", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to delete collected record", e);
+        CollectionPayload collection = runTransaction("collected record delete", transaction -> {
+            CollectionPayload existing = toCollection(readCollection(transaction, recordId));
+            if (existing == null) {
+                return null;
+            }
+            transaction.delete(collectionRents().document(String.valueOf(recordId)));
+            monthlyRentSummaryStore.changes()
+                    .collectionChanged(existing.collectedAt, existing.collectedAmount.negate())
+                    .writeTo(transaction);
+            return existing;
+        });
+        if (collection != null) {
+            cacheInvalidator.evictCollectedAt(collection.collectedAt);
         }
     }
 
     @Override
     public RentRecordResponse markAsPaid(Long recordId) {
-        DueRentPayload dueRent = getDueRentById(recordId);
-        BigDecimal previousPaid = nvl(dueRent.paidAmount);
-        TenantSnapshot tenant = getTenantSnapshot(dueRent.tenantId);
-        dueRent.paidAmount = dueRent.dueAmount;
-        dueRent.status = RentRecordStatus.PAID;
-        dueRent.updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
-        writeDueRent(dueRent);
-        syncCollectionFromDue(dueRent, null);
-        logCollectionTransaction(dueRent, dueRent.paidAmount.subtract(previousPaid), null);
-        syncTenantDueAndPayment(tenant, dueRent);
-        return toResponse(dueRent);
+        RentChange change = runRentChange("mark as paid", transaction -> {
+            ApiFuture<DocumentSnapshot> dueRentRead = transaction.get(dueRent(recordId));
+            ApiFuture<DocumentSnapshot> collectionRead = readCollection(transaction, recordId);
+
+            DueRentPayload dueRent = requireDueRent(dueRentRead, recordId);
+            ApiFuture<DocumentSnapshot> tenantRead = transaction.get(tenant(dueRent.tenantId));
+            ApiFuture<AccountSnapshot> accountRead = accountCache.read(dueRent.accountId);
+            CollectionPayload previousCollection = toCollection(collectionRead);
+            TenantSnapshot tenant = requireTenant(tenantRead, dueRent.tenantId);
+            AccountSnapshot account = toAccount(accountRead, dueRent.accountId);
+
+            BigDecimal previousPaid = nvl(dueRent.paidAmount);
+            BigDecimal previousDue = nvl(dueRent.dueAmount);
+            dueRent.paidAmount = dueRent.dueAmount;
+            dueRent.status = RentRecordStatus.PAID;
+            dueRent.updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
+
+            return writeRentChange(
+                    transaction, tenant, dueRent, false, previousDue, previousPaid, previousCollection, account);
+        });
+        return toResponse(change.dueRent());
     }
 
     @Override
@@ -238,67 +347,187 @@ public class FirestoreRentServiceImpl implements RentService {
     }
 
     @Override
-    public byte[] exportCollectionReportCsv(LocalDate from, LocalDate to, Long accountId) {
+    public void exportCollectionReportCsv(LocalDate from, LocalDate to, Long accountId, OutputStream output) {
         LocalDate start = normalizeStart(from);
         LocalDate end = normalizeEnd(to);
+        ZoneId zone = ZoneId.systemDefault();
+        OffsetDateTime startTs = start.atStartOfDay(zone).toOffsetDateTime();
+        OffsetDateTime endTs = end.plusDays(1).atStartOfDay(zone).toOffsetDateTime();
 
-        List<ExportRow> rows = new ArrayList<>();
-        for (CollectionPayload regular : getCollectionPayloads(start, end)) {
-            if (accountId == null || Objects.equals(regular.accountId, accountId)) {
-                rows.add(ExportRow.regular(regular));
-            }
+        // Served by the accountId, collectedAt index in firestore.indexes.json when filtering by account.
+        Query regularQuery = collectionRents();
+        if (accountId != null) {
+            regularQuery = regularQuery.whereEqualTo("accountId", accountId);
         }
-        for (TenantSnapshot tenant : getDailyCollectionTenants(start, end, accountId)) {
-            rows.add(ExportRow.daily(tenant));
+        Iterator<QueryDocumentSnapshot> regularDocs = FirestorePages.iterate(
+                regularQuery.whereGreaterThanOrEqualTo("collectedAt", timestamp(startTs))
+                        .whereLessThan("collectedAt", timestamp(endTs))
+                        .orderBy("collectedAt", Query.Direction.DESCENDING),
+                FirestorePages.DEFAULT_PAGE_SIZE
+        );
+        Iterator<ExportRow> regularRows = exportRows(regularDocs, doc -> ExportRow.regular(toCollectionPayload(doc)));
+        Iterator<ExportRow> dailyRows = exportRows(dailyCollectionTenants(start, end, accountId), doc -> {
+            TenantSnapshot tenant = toTenantSnapshot(doc);
+            return nvl(tenant.dailyCollectionAmount).compareTo(ZERO) > 0 ? ExportRow.daily(tenant) : null;
+        });
+
+        Iterator<ExportRow> rows = new SortedMergeIterator<>(List.of(regularRows, dailyRows), ExportRow.NEWEST_FIRST);
+        CollectionReportCsvWriter csv = new CollectionReportCsvWriter(output);
+        csv.writeHeader();
+        while (rows.hasNext()) {
+            ExportRow row = rows.next();
+            csv.writeRow(
+                    row.type(),
+                    row.transactionDateTime(),
+                    row.tenantName(),
+                    row.roomNumber(),
+                    row.billingMonth(),
+                    row.amount(),
+                    row.accountName(),
+                    row.accountMode()
+            );
         }
-        rows.sort(Comparator.comparing(ExportRow::transactionDateTime).reversed());
+        csv.flush();
+    }
 
-        StringBuilder csv = new StringBuilder();
-        csv.append("Type,Transaction Date-Time,Tenant Name,Room Number,Billing Month,Amount,Account Name,Account Mode\n");
-        for (ExportRow row : rows) {
-            csv.append(csvCell(row.type())).append(',')
-                    .append(csvCell(row.transactionDateTime())).append(',')
-                    .append(csvCell(row.tenantName())).append(',')
-                    .append(csvCell(row.roomNumber())).append(',')
-                    .append(csvCell(row.billingMonth())).append(',')
-                    .append(csvCell(row.amount())).append(',')
-                    .append(csvCell(row.accountName())).append(',')
-                    .append(csvCell(row.accountMode()))
-                    .append('\n');
-        }
-        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    /**
+     * Maps documents to export rows lazily, skipping documents for which {@code toRow} returns {@code null}.
+     */
+    private Iterator<ExportRow> exportRows(
+            Iterator<QueryDocumentSnapshot> docs,
+            Function<QueryDocumentSnapshot, ExportRow> toRow
+    ) {
+        return new Iterator<>() {
+            private ExportRow next = advance();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public ExportRow next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                ExportRow current = next;
+                next = advance();
+                return current;
+            }
+
+            private ExportRow advance() {
+                while (docs.hasNext()) {
+                    ExportRow row = toRow.apply(docs.next());
+                    if (row != null) {
+                        return row;
+                    }
+                }
+                return null;
+            }
+        };
     }
 
     @Override
     public DashboardSummaryResponse getDashboardSummary(LocalDate from, LocalDate to) {
         LocalDate start = normalizeStart(from);
         LocalDate end = normalizeEnd(to);
+        return monthlyRentSummaryStore.totals(start, end).toDashboard(countActiveTenants());
+    }
 
-        BigDecimal rentRecordPaid = getCollectionPayloads(start, end).stream()
-                .map(p -> p.collectedAmount)
-                .reduce(ZERO, BigDecimal::add);
-        BigDecimal rentRecordDue = getDueRentPayloads(start, end).stream()
-                .map(p -> p.dueAmount)
-                .reduce(ZERO, BigDecimal::add);
-        BigDecimal pendingRentRecords = rentRecordDue.subtract(rentRecordPaid).max(ZERO);
-
-        List<TenantSnapshot> joiningTenants = getRegularJoiningTenants(start, end);
-        BigDecimal joiningCollection = joiningTenants.stream()
-                .map(t -> nvl(t.rentPaidAmount).add(nvl(t.depositPaidAmount)))
-                .reduce(ZERO, BigDecimal::add);
-        BigDecimal joiningPending = joiningTenants.stream()
-                .map(t -> nvl(t.rentDueAmount).add(nvl(t.deposit).subtract(nvl(t.depositPaidAmount)).max(ZERO)))
-                .reduce(ZERO, BigDecimal::add);
-
-        BigDecimal totalCollection = rentRecordPaid.add(joiningCollection);
-        BigDecimal totalDue = pendingRentRecords.add(joiningPending);
-
-        DashboardSummaryResponse response = new DashboardSummaryResponse();
-        response.setTotalRentCollection(totalCollection);
-        response.setTotalDueAmount(totalDue);
-        response.setTotalPendingCollection(totalDue);
-        response.setActiveTenants(countActiveTenants());
-        return response;
+    @Override
+    public void rebuildDashboardAggregates() {
+        monthlyRentSummaryStore.rebuild();
+        cacheInvalidator.evictDashboard();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(STARTUP_REBUILD_AGGREGATES)
+    public void initializeDashboardAggregates() {
+        if (monthlyRentSummaryStore.isEmpty()) {
+            monthlyRentSummaryStore.rebuild();
+        }
+    }
+
+    /**
+     * Creates this month's due rent for every active regular tenant whose due date has arrived, mirroring the
+     * Postgres job. Tenants are read a page at a time and each page is written through one {@link BulkWriter}: due
+     * rents are created under deterministic ids, so a document that already exists (from an earlier run or a
+     * concurrent upsert) is rejected rather than duplicated, and a tenant's {@code lastDueGeneratedFor} only moves
+     * once its due rent is known to exist. Tenants that already have a due rent for the month under an allocated id are skipped.
+     * <p>
+     * Only the instance holding the day's {@code _jobs/dueGeneration} lease does the work, and at startup it runs
+     * after {@link #initializeDashboardAggregates()} so a first generated due cannot stop the empty-summary rebuild.
+     * Each page's due total is committed after its creates are flushed; if the instance dies between the two, the
+     * retry finds those dues already created and the month's summary stays short until the next rebuild.
+     */
+    @Scheduled(cron = "${app.rent.due-generation-cron:0 5 0 * * *}")
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(STARTUP_GENERATE_DUES)
+    public void generateDueRecords() {
+        LocalDate today = LocalDate.now();
+        if (!jobLeases.tryAcquire(DUE_GENERATION_JOB, today.toString())) {
+            return;
+        }
+        boolean completed = false;
+        try {
+            generateDueRecords(today);
+            completed = true;
+        } finally {
+            if (completed) {
+                jobLeases.complete(DUE_GENERATION_JOB, today.toString());
+            } else {
+                jobLeases.release(DUE_GENERATION_JOB, today.toString());
+            }
+        }
+    }
+
+    private void generateDueRecords(LocalDate today) {
+        LocalDate billingMonth = YearMonth.from(today).atDay(1);
+        Set<Long> tenantsWithDue = tenantIdsWithDue(billingMonth);
+        Iterator<QueryDocumentSnapshot> candidates = FirestorePages.iterate(
+                tenants()
+                        .whereEqualTo("active", true)
+                        .whereEqualTo("dailyAccommodation", false)
+                        .orderBy(FieldPath.documentId()),
+                FirestorePages.DEFAULT_PAGE_SIZE
+        );
+
+        BulkWriter writer = firestore.bulkWriter();
+        int generated = 0;
+        try {
+            List<GeneratedDue> page = new ArrayList<>(FirestorePages.DEFAULT_PAGE_SIZE);
+            while (candidates.hasNext()) {
+                GeneratedDue due = nextGeneratedDue(candidates.next(), today, billingMonth);
+                if (due == null) {
+                    continue;
+                }
+                if (!tenantsWithDue.contains(due.payload.tenantId)) {
+                    due.created = writer.create(
+                            dueRents().document(String.valueOf(due.payload.id)),
+                            dueRentDocument(due.payload)
+                    );
+                }
+                page.add(due);
+                if (page.size() == FirestorePages.DEFAULT_PAGE_SIZE) {
+                    generated += finishGeneratedPage(writer, page, billingMonth);
+                    page.clear();
+                }
+            }
+            generated += finishGeneratedPage(writer, page, billingMonth);
+        } finally {
+            try {
+                writer.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while writing generated due rents", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to write generated due rents", e);
+            }
+        }
+        if (generated > 0) {
+            log.info("Generated {} due rents for {}", generated, YearMonth.from(billingMonth));
+            cacheInvalidator.evictDueMonth(billingMonth);
+        }
     }
 
     private CollectionReference dueRents() {
@@ -317,107 +546,248 @@ public class FirestoreRentServiceImpl implements RentService {
         return firestore.collection(TENANTS_COLLECTION);
     }
 
-    private CollectionReference accounts() {
-        return firestore.collection(ACCOUNTS_COLLECTION);
+    private DocumentReference dueRent(Long id) {
+        return dueRents().document(String.valueOf(id));
+    }
+
+    private DocumentReference tenant(Long id) {
+        return tenants().document(String.valueOf(id));
+    }
+
+    private ApiFuture<DocumentSnapshot> readCollection(Transaction transaction, Long dueRentId) {
+        return transaction.get(collectionRents().document(String.valueOf(dueRentId)));
+    }
+
+    private DueRentPayload requireDueRent(ApiFuture<DocumentSnapshot> read, Long id) {
+        DocumentSnapshot snapshot = await(read, "due rent");
+        if (!snapshot.exists()) {
+            throw new ResourceNotFoundException("Rent record not found with id: " + id);
+        }
+        return toDueRentPayload(snapshot);
+    }
+
+    private TenantSnapshot requireTenant(ApiFuture<DocumentSnapshot> read, Long tenantId) {
+        DocumentSnapshot snapshot = await(read, "tenant");
+        if (!snapshot.exists()) {
+            throw new ResourceNotFoundException("Tenant not found with id: " + tenantId);
+        }
+        TenantSnapshot tenant = toTenantSnapshot(snapshot);
+        tenant.reference = snapshot.getReference();
+        return tenant;
     }
 
-    private Long nextDueRentId() {
+    private AccountSnapshot toAccount(ApiFuture<AccountSnapshot> read, Long accountId) {
+        if (accountId == null) {
+            return null;
+        }
+        AccountSnapshot account = await(read, "account");
+        if (account == null) {
+            throw new ResourceNotFoundException("Account not found with id: " + accountId);
+        }
+        return account;
+    }
+
+    private CollectionPayload toCollection(ApiFuture<DocumentSnapshot> read) {
+        DocumentSnapshot snapshot = await(read, "collection record");
+        return snapshot.exists() ? toCollectionPayload(snapshot) : null;
+    }
+
+    private <T> T await(ApiFuture<T> read, String what) {
         try {
-            return firestore.runTransaction(transaction -> {
-                DocumentReference counterRef = firestore.collection(META_COLLECTION).document(DUE_RENT_COUNTER_DOC);
-                DocumentSnapshot counterSnapshot = transaction.get(counterRef).get();
-                long nextId = 1L;
-                if (counterSnapshot.exists() && counterSnapshot.getLong("nextId") != null) {
-                    nextId = counterSnapshot.getLong("nextId");
-                }
-                Map<String, Object> update = new HashMap<>();
-                update.put("nextId", nextId + 1L);
-                update.put("updatedAt", Timestamp.now());
-                transaction.set(counterRef, update, SetOptions.merge());
-                return nextId;
-            }).get();
+            return read.get();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while generating due rent id", e);
+            throw new IllegalStateException("Interrupted while reading " + what, e);
         } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to generate due rent id", e);
+            throw new IllegalStateException("Failed to read " + what, e);
         }
     }
 
-    private DueRentPayload findDueRentByTenantAndMonth(Long tenantId, LocalDate billingMonth) {
+    private void commit(WriteBatch batch, String what) {
         try {
-            QuerySnapshot snapshot = dueRents()
-                    .whereEqualTo("tenantId", tenantId)
-                    .whereEqualTo("billingMonth", billingMonth.toString())
-                    .get()
-                    .get();
-            if (snapshot.isEmpty()) {
-                return null;
-            }
-            return toDueRentPayload(snapshot.getDocuments().get(0));
+            batch.commit().get();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while finding due rent", e);
+            throw new IllegalStateException("Interrupted while committing " + what, e);
         } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to find due rent", e);
+            throw new IllegalStateException("Failed to commit " + what, e);
         }
     }
 
-    private DueRentPayload getDueRentById(Long id) {
+    private <T> T runTransaction(String what, Transaction.Function<T> body) {
         try {
-            DocumentSnapshot snapshot = dueRents().document(String.valueOf(id)).get().get();
-            if (!snapshot.exists()) {
-                throw new ResourceNotFoundException("Rent record not found with id: " + id);
-            }
-            return toDueRentPayload(snapshot);
+            return firestore.runTransaction(body).get();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while reading due rent", e);
+            throw new IllegalStateException("Interrupted while committing " + what, e);
         } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to read due rent", e);
+            if (e.getCause() instanceof RuntimeException cause
+                    && (cause instanceof ResourceNotFoundException || cause instanceof BadRequestException)) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to commit " + what, e);
         }
     }
 
-    private AccountSnapshot resolveAccount(Long accountId) {
-        if (accountId == null) {
-            return null;
+    /**
+     * Runs a rent change as one transaction and evicts what it touched once it has committed. The due rent, its
+     * collection and the tenant are read inside the transaction, so the dashboard deltas are taken against the
+     * values actually replaced: a concurrent payment makes one of the two retry against the other's result instead
+     * of both counting the same previous amount.
+     */
+    private RentChange runRentChange(String what, Transaction.Function<RentChange> body) {
+        RentChange change = runTransaction(what, body);
+        evictJoiningMonths(change.previousJoining(), joining(change.tenant()));
+        cacheInvalidator.evictTenantLists(change.tenant().active, change.tenant().dailyAccommodation);
+        evictRentChange(change.dueRent(), change.previousCollection(), change.collectedAt());
+        return change;
+    }
+
+    /**
+     * Writes the due rent, its collection mirror, the payment transaction, the tenant balance and the matching
+     * dashboard deltas into {@code transaction}, so a payment is either fully recorded or not at all. A new due rent
+     * is created rather than set, so the commit fails with {@code ALREADY_EXISTS} if its month was created
+     * concurrently. The returned change carries the new collection's {@code collectedAt}, or {@code null} when
+     * nothing is collected any more.
+     */
+    private RentChange writeRentChange(
+            Transaction transaction,
+            TenantSnapshot tenant,
+            DueRentPayload dueRent,
+            boolean newDueRent,
+            BigDecimal previousDue,
+            BigDecimal previousPaid,
+            CollectionPayload previousCollection,
+            AccountSnapshot account
+    ) {
+        FirestoreMonthlyRentSummaryStore.Changes changes = monthlyRentSummaryStore.changes();
+        JoiningContribution previousJoining = joining(tenant);
+
+        putDueRent(transaction, dueRent, newDueRent);
+        changes.dueChanged(dueRent.billingMonth, previousDue, dueRent.dueAmount);
+        OffsetDateTime collectedAt = putCollection(transaction, changes, dueRent, previousCollection, account);
+        putCollectionTransaction(transaction, dueRent, dueRent.paidAmount.subtract(previousPaid));
+        putTenantDueAndPayment(transaction, changes, tenant, dueRent);
+        changes.writeTo(transaction);
+        return new RentChange(dueRent, previousCollection, collectedAt, tenant, previousJoining);
+    }
+
+    // The tenant's rent balance counts towards their joining month on the dashboard, not only the billing month.
+    private void evictJoiningMonths(JoiningContribution previous, JoiningContribution current) {
+        if (previous != null) {
+            cacheInvalidator.evictJoiningDate(previous.month().atDay(1));
         }
-        try {
-            DocumentSnapshot snapshot = accounts().document(String.valueOf(accountId)).get().get();
-            if (!snapshot.exists()) {
-                throw new ResourceNotFoundException("Account not found with id: " + accountId);
+        if (current != null && (previous == null || !current.month().equals(previous.month()))) {
+            cacheInvalidator.evictJoiningDate(current.month().atDay(1));
+        }
+    }
+
+    private Set<Long> tenantIdsWithDue(LocalDate billingMonth) {
+        Set<Long> tenantIds = new HashSet<>();
+        Iterator<QueryDocumentSnapshot> docs = FirestorePages.iterate(
+                dueRents()
+                        .whereEqualTo("billingMonth", billingMonth.toString())
+                        .select("tenantId")
+                        .orderBy(FieldPath.documentId()),
+                FirestorePages.DEFAULT_PAGE_SIZE
+        );
+        while (docs.hasNext()) {
+            Long tenantId = readLong(docs.next().get("tenantId"), null);
+            if (tenantId != null) {
+                tenantIds.add(tenantId);
             }
-            AccountSnapshot account = new AccountSnapshot();
-            account.id = readLong(snapshot.get("id"), snapshot.getId());
-            account.name = asString(snapshot.get("name"));
-            account.mode = asString(snapshot.get("mode"));
-            return account;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while reading account", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to read account", e);
         }
+        return tenantIds;
+    }
+
+    private GeneratedDue nextGeneratedDue(QueryDocumentSnapshot doc, LocalDate today, LocalDate billingMonth) {
+        TenantSnapshot tenant = toTenantSnapshot(doc);
+        if (tenant.id == null || tenant.joiningDate == null) {
+            return null;
+        }
+        LocalDate nextDueDate = tenant.lastDueGeneratedFor != null
+                ? tenant.lastDueGeneratedFor.plusMonths(1)
+                : tenant.joiningDate.plusMonths(1).minusDays(1);
+        if (nextDueDate.isAfter(today)) {
+            return null;
+        }
+
+        DueRentPayload payload = new DueRentPayload();
+        payload.id = keyedDueRentId(tenant.id, YearMonth.from(billingMonth));
+        payload.tenantId = tenant.id;
+        payload.tenantName = tenant.fullName;
+        payload.roomNumber = tenant.roomNumber;
+        payload.billingMonth = billingMonth;
+        payload.dueAmount = nvl(tenant.rent);
+        payload.updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
+        // No historical backfill: a due date that fell in an earlier month is moved to this month's start.
+        LocalDate generatedFor = nextDueDate.isBefore(billingMonth) ? billingMonth : nextDueDate;
+        return new GeneratedDue(doc.getReference(), payload, generatedFor);
     }
 
-    private TenantSnapshot getTenantSnapshot(Long tenantId) {
+    /**
+     * Waits for the page's creates, queues the tenant updates for the due rents that now exist and records the
+     * created amounts in the monthly summary. Returns how many due rents the page created.
+     */
+    private int finishGeneratedPage(BulkWriter writer, List<GeneratedDue> page, LocalDate billingMonth) {
         try {
-            DocumentSnapshot snapshot = tenants().document(String.valueOf(tenantId)).get().get();
-            if (!snapshot.exists()) {
-                throw new ResourceNotFoundException("Tenant not found with id: " + tenantId);
-            }
-            TenantSnapshot tenant = toTenantSnapshot(snapshot);
-            tenant.reference = snapshot.getReference();
-            return tenant;
+            writer.flush().get();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while reading tenant", e);
+            throw new IllegalStateException("Interrupted while writing generated due rents", e);
         } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to read tenant", e);
+            throw new IllegalStateException("Failed to write generated due rents", e);
+        }
+        int created = 0;
+        BigDecimal createdDue = ZERO;
+        for (GeneratedDue due : page) {
+            if (due.created != null) {
+                try {
+                    due.created.get();
+                    created++;
+                    createdDue = createdDue.add(due.payload.dueAmount);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while generating due rents", e);
+                } catch (ExecutionException e) {
+                    if (!(e.getCause() instanceof BulkWriterException failure)
+                            || failure.getStatus().getCode() != Status.Code.ALREADY_EXISTS) {
+                        log.warn("Could not generate due rent for tenant {}", due.payload.tenantId, e.getCause());
+                        continue;
+                    }
+                }
+            }
+            writer.update(due.tenant, "lastDueGeneratedFor", due.generatedFor.toString());
+        }
+        if (createdDue.signum() != 0) {
+            WriteBatch batch = firestore.batch();
+            monthlyRentSummaryStore.changes().dueChanged(billingMonth, ZERO, createdDue).writeTo(batch);
+            commit(batch, "generated due totals");
+        }
+        return created;
+    }
+
+    private static long keyedDueRentId(long tenantId, YearMonth month) {
+        if (tenantId <= 0 || tenantId >= KEYED_DUE_RENT_MAX_TENANT_ID) {
+            throw new IllegalStateException("Tenant id out of range for keyed due rents: " + tenantId);
+        }
+        if (month.isBefore(KEYED_DUE_RENT_FIRST_MONTH) || month.isAfter(KEYED_DUE_RENT_LAST_MONTH)) {
+            throw new IllegalStateException("Billing month out of range for keyed due rents: " + month);
+        }
+        long monthIndex = ChronoUnit.MONTHS.between(KEYED_DUE_RENT_FIRST_MONTH, month);
+        return KEYED_DUE_RENT_ID_BASE | (tenantId << KEYED_DUE_RENT_MONTH_BITS) | monthIndex;
+    }
+
+    private void putDueRent(Transaction transaction, DueRentPayload payload, boolean create) {
+        DocumentReference reference = dueRent(payload.id);
+        if (create) {
+            transaction.create(reference, dueRentDocument(payload));
+        } else {
+            transaction.set(reference, dueRentDocument(payload));
         }
     }
 
-    private void writeDueRent(DueRentPayload payload) {
+    private Map<String, Object> dueRentDocument(DueRentPayload payload) {
         Map<String, Object> doc = new HashMap<>();
         doc.put("id", payload.id);
         doc.put("tenantId", payload.tenantId);
@@ -430,32 +800,28 @@ public class FirestoreRentServiceImpl implements RentService {
         doc.put("accountId", payload.accountId);
         doc.put("accountName", payload.accountName);
         doc.put("updatedAt", timestamp(payload.updatedAt));
-        try {
-            dueRents().document(String.valueOf(payload.id)).set(doc).get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while writing due rent", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to write due rent", e);
-        }
+        return doc;
     }
 
-    private void syncCollectionFromDue(DueRentPayload dueRent, LocalDate transactionDate) {
+    private OffsetDateTime putCollection(
+            Transaction transaction,
+            FirestoreMonthlyRentSummaryStore.Changes changes,
+            DueRentPayload dueRent,
+            CollectionPayload previous,
+            AccountSnapshot account
+    ) {
+        DocumentReference reference = collectionRents().document(String.valueOf(dueRent.id));
+        if (previous != null) {
+            changes.collectionChanged(previous.collectedAt, previous.collectedAmount.negate());
+        }
         if (dueRent.paidAmount.compareTo(ZERO) <= 0) {
-            try {
-                collectionRents().document(String.valueOf(dueRent.id)).delete().get();
-                return;
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new IllegalStateException("Interrupted while deleting collection record", e);
-            } catch (ExecutionException e) {
-                throw new IllegalStateException("Failed to delete collection record", e);
+            if (previous != null) {
+                transaction.delete(reference);
             }
+            return null;
         }
 
         OffsetDateTime collectedAt = OffsetDateTime.now();
-
-        AccountSnapshot account = resolveAccount(dueRent.accountId);
         Map<String, Object> doc = new HashMap<>();
         doc.put("id", dueRent.id);
         doc.put("dueRentId", dueRent.id);
@@ -465,22 +831,16 @@ public class FirestoreRentServiceImpl implements RentService {
         doc.put("billingMonth", dueRent.billingMonth.toString());
         doc.put("dueAmount", dueRent.dueAmount.toPlainString());
         doc.put("collectedAmount", dueRent.paidAmount.toPlainString());
-        doc.put("accountId", account != null ? account.id : null);
-        doc.put("accountName", account != null ? account.name : null);
-        doc.put("accountMode", account != null ? account.mode : null);
+        doc.put("accountId", account != null ? account.id() : null);
+        doc.put("accountName", account != null ? account.name() : null);
+        doc.put("accountMode", account != null ? account.mode() : null);
         doc.put("collectedAt", timestamp(collectedAt));
-
-        try {
-            collectionRents().document(String.valueOf(dueRent.id)).set(doc).get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while writing collection record", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to write collection record", e);
-        }
+        transaction.set(reference, doc);
+        changes.collectionChanged(collectedAt, dueRent.paidAmount);
+        return collectedAt;
     }
 
-    private void logCollectionTransaction(DueRentPayload dueRent, BigDecimal deltaPaid, LocalDate transactionDate) {
+    private void putCollectionTransaction(Transaction transaction, DueRentPayload dueRent, BigDecimal deltaPaid) {
         if (deltaPaid == null || deltaPaid.compareTo(ZERO) <= 0) {
             return;
         }
@@ -494,17 +854,15 @@ public class FirestoreRentServiceImpl implements RentService {
         doc.put("accountId", dueRent.accountId);
         doc.put("accountName", dueRent.accountName);
         doc.put("transactionAt", timestamp(txAt));
-        try {
-            collectionTransactions().document().set(doc).get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while writing transaction", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to write transaction", e);
-        }
+        transaction.set(collectionTransactions().document(), doc);
     }
 
-    private void syncTenantDueAndPayment(TenantSnapshot tenant, DueRentPayload dueRent) {
+    private void putTenantDueAndPayment(
+            Transaction transaction,
+            FirestoreMonthlyRentSummaryStore.Changes changes,
+            TenantSnapshot tenant,
+            DueRentPayload dueRent
+    ) {
         BigDecimal balance = dueRent.dueAmount.subtract(dueRent.paidAmount).max(ZERO);
         String paymentStatus = balance.compareTo(ZERO) == 0
                 ? PaymentStatus.ON_TIME.name()
@@ -513,72 +871,29 @@ public class FirestoreRentServiceImpl implements RentService {
         update.put("rentPaidAmount", dueRent.paidAmount.toPlainString());
         update.put("rentDueAmount", balance.toPlainString());
         update.put("paymentStatus", paymentStatus);
-        try {
-            tenant.reference.set(update, SetOptions.merge()).get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while updating tenant due", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to update tenant due", e);
-        }
+        JoiningContribution previousJoining = joining(tenant);
+        tenant.rentPaidAmount = dueRent.paidAmount;
+        tenant.rentDueAmount = balance;
+        transaction.set(tenant.reference, update, SetOptions.merge());
+        changes.joiningChanged(previousJoining, joining(tenant));
     }
 
-    private List<CollectionPayload> getCollectionPayloads(LocalDate start, LocalDate end) {
-        ZoneId zone = ZoneId.systemDefault();
-        OffsetDateTime startTs = start.atStartOfDay(zone).toOffsetDateTime();
-        OffsetDateTime endTs = end.plusDays(1).atStartOfDay(zone).toOffsetDateTime();
-        try {
-            QuerySnapshot snapshot = collectionRents()
-                    .whereGreaterThanOrEqualTo("collectedAt", timestamp(startTs))
-                    .whereLessThan("collectedAt", timestamp(endTs))
-                    .get()
-                    .get();
-            List<CollectionPayload> items = new ArrayList<>(snapshot.size());
-            for (QueryDocumentSnapshot doc : snapshot.getDocuments()) {
-                items.add(toCollectionPayload(doc));
-            }
-            return items;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while reading collection data", e);
-        } catch (ExecutionException e) {
-            if (isQuotaExceeded(e)) {
-                log.warn("Firestore quota exceeded while reading collection data. Returning empty list.");
-                return List.of();
-            }
-            throw new IllegalStateException("Failed to read collection data", e);
+    private void evictRentChange(DueRentPayload dueRent, CollectionPayload previousCollection, OffsetDateTime collectedAt) {
+        cacheInvalidator.evictDueMonth(dueRent.billingMonth);
+        if (previousCollection != null) {
+            cacheInvalidator.evictCollectedAt(previousCollection.collectedAt);
         }
+        cacheInvalidator.evictCollectedAt(collectedAt);
     }
 
-    private List<DueRentPayload> getDueRentPayloads(LocalDate start, LocalDate end) {
-        try {
-            QuerySnapshot snapshot = dueRents()
-                    .whereGreaterThanOrEqualTo("billingMonth", start.toString())
-                    .whereLessThanOrEqualTo("billingMonth", end.toString())
-                    .get()
-                    .get();
-            List<DueRentPayload> items = new ArrayList<>(snapshot.size());
-            for (QueryDocumentSnapshot doc : snapshot.getDocuments()) {
-                items.add(toDueRentPayload(doc));
-            }
-            return items;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while reading due rent data", e);
-        } catch (ExecutionException e) {
-            if (isQuotaExceeded(e)) {
-                log.warn("Firestore quota exceeded while reading due rent data. Returning empty list.");
-                return List.of();
-            }
-            throw new IllegalStateException("Failed to read due rent data", e);
-        }
+    private boolean isQuotaExceeded(Throwable error) {
+        return hasStatus(error, Status.Code.RESOURCE_EXHAUSTED);
     }
 
-    private boolean isQuotaExceeded(Throwable error) {
+    private boolean hasStatus(Throwable error, Status.Code code) {
         Throwable current = error;
         while (current != null) {
-            if (current instanceof StatusRuntimeException statusError
-                    && statusError.getStatus().getCode() == Status.Code.RESOURCE_EXHAUSTED) {
+            if (current instanceof StatusRuntimeException statusError && statusError.getStatus().getCode() == code) {
                 return true;
             }
             current = current.getCause();
@@ -586,62 +901,35 @@ public class FirestoreRentServiceImpl implements RentService {
         return false;
     }
 
-    private List<TenantSnapshot> getRegularJoiningTenants(LocalDate start, LocalDate end) {
-        try {
-            QuerySnapshot snapshot = tenants().get().get();
-            List<TenantSnapshot> items = new ArrayList<>();
-            for (QueryDocumentSnapshot doc : snapshot.getDocuments()) {
-                TenantSnapshot tenant = toTenantSnapshot(doc);
-                boolean dailyAccommodation = Boolean.TRUE.equals(doc.getBoolean("dailyAccommodation"));
-                if (dailyAccommodation || tenant.joiningDate == null) {
-                    continue;
-                }
-                if (tenant.joiningDate.isBefore(start) || tenant.joiningDate.isAfter(end)) {
-                    continue;
-                }
-                items.add(tenant);
-            }
-            return items;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while reading joining tenants", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to read joining tenants", e);
+    // Served by the dailyAccommodation[, dailyCollectionAccountId], dailyCollectionTransactionDate indexes in
+    // firestore.indexes.json; only the amount, stored as a decimal string, is still checked in memory.
+    private Iterator<QueryDocumentSnapshot> dailyCollectionTenants(LocalDate start, LocalDate end, Long accountId) {
+        Query query = tenants().whereEqualTo("dailyAccommodation", true);
+        if (accountId != null) {
+            query = query.whereEqualTo("dailyCollectionAccountId", accountId);
         }
+        return FirestorePages.iterate(
+                query.whereGreaterThanOrEqualTo("dailyCollectionTransactionDate", start.toString())
+                        .whereLessThanOrEqualTo("dailyCollectionTransactionDate", end.toString())
+                        .orderBy("dailyCollectionTransactionDate", Query.Direction.DESCENDING),
+                FirestorePages.DEFAULT_PAGE_SIZE
+        );
     }
 
-    private List<TenantSnapshot> getDailyCollectionTenants(LocalDate start, LocalDate end, Long accountId) {
-        try {
-            QuerySnapshot snapshot = tenants().whereEqualTo("dailyAccommodation", true).get().get();
-            List<TenantSnapshot> items = new ArrayList<>();
-            for (QueryDocumentSnapshot doc : snapshot.getDocuments()) {
-                TenantSnapshot tenant = toTenantSnapshot(doc);
-                if (nvl(tenant.dailyCollectionAmount).compareTo(ZERO) <= 0) {
-                    continue;
-                }
-                if (tenant.dailyCollectionTransactionDate == null) {
-                    continue;
-                }
-                if (tenant.dailyCollectionTransactionDate.isBefore(start) || tenant.dailyCollectionTransactionDate.isAfter(end)) {
-                    continue;
-                }
-                if (accountId != null && !Objects.equals(accountId, tenant.dailyCollectionAccountId)) {
-                    continue;
-                }
-                items.add(tenant);
-            }
-            return items;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while reading daily collections", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to read daily collections", e);
-        }
+    private JoiningContribution joining(TenantSnapshot tenant) {
+        return JoiningContribution.of(
+                tenant.dailyAccommodation,
+                tenant.joiningDate,
+                tenant.rentPaidAmount,
+                tenant.depositPaidAmount,
+                tenant.deposit,
+                tenant.rentDueAmount
+        );
     }
 
     private long countActiveTenants() {
         try {
-            return tenants().whereEqualTo("active", true).get().get().size();
+            return tenants().whereEqualTo("active", true).count().get().get().getCount();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new IllegalStateException("Interrupted while counting active tenants", e);
@@ -717,18 +1005,26 @@ public class FirestoreRentServiceImpl implements RentService {
     }
 
     private DueRentPayload toDueRentPayload(DocumentSnapshot snapshot) {
+        return toDueRentPayload(snapshot.getId(), snapshot::get);
+    }
+
+    /**
+     * Decodes a due rent from its document id and field lookup, so the decoding can be measured apart from the
+     * client's snapshot parsing.
+     */
+    static DueRentPayload toDueRentPayload(String documentId, Function<String, Object> fields) {
         DueRentPayload payload = new DueRentPayload();
-        payload.id = readLong(snapshot.get("id"), snapshot.getId());
-        payload.tenantId = readLong(snapshot.get("tenantId"), null);
-        payload.tenantName = asString(snapshot.get("tenantName"));
-        payload.roomNumber = asString(snapshot.get("roomNumber"));
-        payload.billingMonth = parseDate(snapshot.get("billingMonth"));
-        payload.dueAmount = toBigDecimal(snapshot.get("dueAmount"));
-        payload.paidAmount = toBigDecimal(snapshot.get("paidAmount"));
-        payload.status = RentRecordStatus.valueOf(asString(snapshot.get("status")));
-        payload.accountId = readLong(snapshot.get("accountId"), null);
-        payload.accountName = asString(snapshot.get("accountName"));
-        payload.updatedAt = toOffsetDateTime(snapshot.get("updatedAt"));
+        payload.id = readLong(fields.apply("id"), documentId);
+        payload.tenantId = readLong(fields.apply("tenantId"), null);
+        payload.tenantName = asString(fields.apply("tenantName"));
+        payload.roomNumber = asString(fields.apply("roomNumber"));
+        payload.billingMonth = parseDate(fields.apply("billingMonth"));
+        payload.dueAmount = toBigDecimal(fields.apply("dueAmount"));
+        payload.paidAmount = toBigDecimal(fields.apply("paidAmount"));
+        payload.status = RentRecordStatus.valueOf(asString(fields.apply("status")));
+        payload.accountId = readLong(fields.apply("accountId"), null);
+        payload.accountName = asString(fields.apply("accountName"));
+        payload.updatedAt = toOffsetDateTime(fields.apply("updatedAt"));
         return payload;
     }
 
@@ -763,10 +1059,14 @@ public class FirestoreRentServiceImpl implements RentService {
         tenant.dailyCollectionAccountName = asString(snapshot.get("dailyCollectionAccountName"));
         tenant.dailyCollectionTransactionDate = parseDate(snapshot.get("dailyCollectionTransactionDate"));
         tenant.joiningDate = parseDate(snapshot.get("joiningDate"));
+        tenant.active = Boolean.TRUE.equals(snapshot.getBoolean("active"));
+        tenant.dailyAccommodation = Boolean.TRUE.equals(snapshot.getBoolean("dailyAccommodation"));
+        tenant.rent = toBigDecimal(snapshot.get("rent"));
+        tenant.lastDueGeneratedFor = parseDate(snapshot.get("lastDueGeneratedFor"));
         return tenant;
     }
 
-    private OffsetDateTime toOffsetDateTime(Object value) {
+    static OffsetDateTime toOffsetDateTime(Object value) {
         if (value instanceof Timestamp timestamp) {
             return OffsetDateTime.ofInstant(timestamp.toDate().toInstant(), ZoneOffset.UTC);
         }
@@ -781,11 +1081,11 @@ public class FirestoreRentServiceImpl implements RentService {
         return Timestamp.ofTimeSecondsAndNanos(instant.getEpochSecond(), instant.getNano());
     }
 
-    private String asString(Object value) {
+    private static String asString(Object value) {
         return value == null ? null : String.valueOf(value);
     }
 
-    private Long readLong(Object value, String fallback) {
+    private static Long readLong(Object value, String fallback) {
         try {
             if (value == null) {
                 return fallback == null ? null : Long.parseLong(fallback);
@@ -799,7 +1099,7 @@ public class FirestoreRentServiceImpl implements RentService {
         }
     }
 
-    private BigDecimal toBigDecimal(Object value) {
+    static BigDecimal toBigDecimal(Object value) {
         if (value == null) {
             return ZERO;
         }
@@ -809,7 +1109,7 @@ public class FirestoreRentServiceImpl implements RentService {
         return new BigDecimal(String.valueOf(value));
     }
 
-    private LocalDate parseDate(Object value) {
+    static LocalDate parseDate(Object value) {
         if (value == null) {
             return null;
         }
@@ -824,16 +1124,18 @@ public class FirestoreRentServiceImpl implements RentService {
         return value == null ? ZERO : value;
     }
 
-    private String csvCell(Object value) {
-        if (value == null) {
-            return "";
-        }
-        String text = String.valueOf(value).replace("\"", "\"\"");
-        return "\"" + text + "\"";
+    private record RentChange(
+            DueRentPayload dueRent,
+            CollectionPayload previousCollection,
+            OffsetDateTime collectedAt,
+            TenantSnapshot tenant,
+            JoiningContribution previousJoining
+    ) {
     }
 
     private record ExportRow(
             String type,
+            OffsetDateTime transactionAt,
             String transactionDateTime,
             String tenantName,
             String roomNumber,
@@ -842,9 +1144,15 @@ public class FirestoreRentServiceImpl implements RentService {
             String accountName,
             String accountMode
     ) {
+        static final Comparator<ExportRow> NEWEST_FIRST = Comparator.comparing(
+                ExportRow::transactionAt,
+                Comparator.nullsFirst(OffsetDateTime.timeLineOrder())
+        ).reversed();
+
         static ExportRow regular(CollectionPayload record) {
             return new ExportRow(
                     "REGULAR_RENT",
+                    record.collectedAt,
                     record.collectedAt != null ? record.collectedAt.toString() : "",
                     record.tenantName,
                     record.roomNumber,
@@ -856,11 +1164,13 @@ public class FirestoreRentServiceImpl implements RentService {
         }
 
         static ExportRow daily(TenantSnapshot tenant) {
+            OffsetDateTime transactionAt = tenant.dailyCollectionTransactionDate != null
+                    ? tenant.dailyCollectionTransactionDate.atStartOfDay().atOffset(ZoneOffset.UTC)
+                    : null;
             return new ExportRow(
                     "DAILY_COLLECTION",
-                    tenant.dailyCollectionTransactionDate != null
-                            ? tenant.dailyCollectionTransactionDate.atStartOfDay().atOffset(ZoneOffset.UTC).toString()
-                            : "",
+                    transactionAt,
+                    transactionAt != null ? transactionAt.toString() : "",
                     tenant.fullName,
                     tenant.roomNumber,
                     tenant.dailyCollectionTransactionDate != null
@@ -873,7 +1183,7 @@ public class FirestoreRentServiceImpl implements RentService {
         }
     }
 
-    private static final class DueRentPayload {
+    static final class DueRentPayload {
         private Long id;
         private Long tenantId;
         private String tenantName;
@@ -915,12 +1225,23 @@ public class FirestoreRentServiceImpl implements RentService {
         private String dailyCollectionAccountName;
         private LocalDate dailyCollectionTransactionDate;
         private LocalDate joiningDate;
+        private boolean active;
+        private boolean dailyAccommodation;
+        private BigDecimal rent;
+        private LocalDate lastDueGeneratedFor;
         private DocumentReference reference;
     }
 
-    private static final class AccountSnapshot {
-        private Long id;
-        private String name;
-        private String mode;
+    private static final class GeneratedDue {
+        private final DocumentReference tenant;
+        private final DueRentPayload payload;
+        private final LocalDate generatedFor;
+        private ApiFuture<WriteResult> created;
+
+        private GeneratedDue(DocumentReference tenant, DueRentPayload payload, LocalDate generatedFor) {
+            this.tenant = tenant;
+            this.payload = payload;
+            this.generatedFor = generatedFor;
+        }
     }
 }
@@ -1,14 +1,11 @@
 package com.pgms.service.impl;
 
-import com.google.cloud.Timestamp;
 import com.google.cloud.firestore.CollectionReference;
-import com.google.cloud.firestore.DocumentReference;
 import com.google.cloud.firestore.DocumentSnapshot;
 import com.google.cloud.firestore.Firestore;
 import com.google.cloud.firestore.Query;
 import com.google.cloud.firestore.QueryDocumentSnapshot;
 import com.google.cloud.firestore.QuerySnapshot;
-import com.google.cloud.firestore.SetOptions;
 import com.pgms.dto.RoomRequest;
 import com.pgms.dto.RoomResponse;
 import com.pgms.exception.BadRequestException;
@@ -30,13 +27,14 @@ import java.util.concurrent.ExecutionException;
 public class FirestoreRoomServiceImpl implements RoomService {
 
     private static final String ROOMS_COLLECTION = "rooms";
-    private static final String META_COLLECTION = "_meta";
     private static final String ROOM_COUNTER_DOC = "roomSeq";
 
     private final Firestore firestore;
+    private final FirestoreIdAllocator idAllocator;
 
-    public FirestoreRoomServiceImpl(Firestore firestore) {
+    public FirestoreRoomServiceImpl(Firestore firestore, FirestoreIdAllocator idAllocator) {
         this.firestore = firestore;
+        this.idAllocator = idAllocator;
     }
 
     @Override
@@ -100,26 +98,7 @@ public class FirestoreRoomServiceImpl implements RoomService {
     }
 
     private Long nextRoomId() {
-        try {
-            return firestore.runTransaction(transaction -> {
-                DocumentReference counterRef = firestore.collection(META_COLLECTION).document(ROOM_COUNTER_DOC);
-                DocumentSnapshot counterSnapshot = transaction.get(counterRef).get();
-                long nextId = 1L;
-                if (counterSnapshot.exists() && counterSnapshot.getLong("nextId") != null) {
-                    nextId = counterSnapshot.getLong("nextId");
-                }
-                Map<String, Object> update = new HashMap<>();
-                update.put("nextId", nextId + 1L);
-                update.put("updatedAt", Timestamp.now());
-                transaction.set(counterRef, update, SetOptions.merge());
-                return nextId;
-            }).get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while generating room id", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to generate room id", e);
-        }
+        return idAllocator.next(ROOM_COUNTER_DOC);
     }
 
     private RoomPayload getRoomPayload(Long roomId) {
@@ -3,13 +3,17 @@ package com.pgms.service.impl;
 import com.google.api.core.ApiFuture;
 import com.google.cloud.Timestamp;
 import com.google.cloud.firestore.CollectionReference;
-import com.google.cloud.firestore.DocumentReference;
 import com.google.cloud.firestore.DocumentSnapshot;
 import com.google.cloud.firestore.Firestore;
 import com.google.cloud.firestore.Query;
 import com.google.cloud.firestore.QueryDocumentSnapshot;
 import com.google.cloud.firestore.QuerySnapshot;
-import com.google.cloud.firestore.SetOptions;
+import com.google.cloud.firestore.WriteBatch;
+import com.google.cloud.firestore.WriteResult;
+import com.pgms.cache.CacheInvalidator;
+import com.pgms.dto.TenantListScope;
+import com.pgms.dto.TenantPageQuery;
+import com.pgms.dto.TenantPageResponse;
 import com.pgms.dto.TenantRequest;
 import com.pgms.dto.TenantResponse;
 import com.pgms.entity.DailyFoodOption;
@@ -19,6 +23,7 @@ import com.pgms.entity.VerificationStatus;
 import com.pgms.exception.BadRequestException;
 import com.pgms.exception.ResourceNotFoundException;
 import com.pgms.service.TenantService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
@@ -30,25 +35,71 @@ import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 @Service
 @ConditionalOnProperty(name = "app.data-provider", havingValue = "firebase")
 public class FirestoreTenantServiceImpl implements TenantService {
 
     private static final String TENANTS_COLLECTION = "tenants";
-    private static final String META_COLLECTION = "_meta";
     private static final String TENANT_COUNTER_DOC = "tenantSeq";
     private static final BigDecimal ZERO = BigDecimal.ZERO;
+    private static final String SCOPE_INDEX = "scope";
 
     private final Firestore firestore;
-
-    public FirestoreTenantServiceImpl(Firestore firestore) {
+    private final FirestoreIdAllocator idAllocator;
+    private final FirestoreMonthlyRentSummaryStore monthlyRentSummaryStore;
+    private final CacheInvalidator cacheInvalidator;
+    private final FirestoreCollectionView<TenantPayload> tenantView;
+    private final int namePrefixScanLimit;
+
+    public FirestoreTenantServiceImpl(
+            Firestore firestore,
+            FirestoreIdAllocator idAllocator,
+            FirestoreMonthlyRentSummaryStore monthlyRentSummaryStore,
+            FirestoreLiveViews liveViews,
+            CacheInvalidator cacheInvalidator,
+            @Value("${app.firebase.name-prefix-scan-limit:1000}") int namePrefixScanLimit
+    ) {
         this.firestore = firestore;
+        this.namePrefixScanLimit = Math.max(namePrefixScanLimit, 1);
+        this.idAllocator = idAllocator;
+        this.monthlyRentSummaryStore = monthlyRentSummaryStore;
+        this.cacheInvalidator = cacheInvalidator;
+        Map<String, Function<TenantPayload, Object>> indexKeys = Map.of(SCOPE_INDEX, FirestoreTenantServiceImpl::scopeOf);
+        this.tenantView = liveViews.register(
+                TENANTS_COLLECTION,
+                this::toPayload,
+                indexKeys,
+                new FirestoreCollectionView.ChangeListener<TenantPayload>() {
+                    @Override
+                    public void changed(TenantPayload previous, TenantPayload current) {
+                        if (previous != null) {
+                            cacheInvalidator.evictTenantLists(previous.active, previous.dailyAccommodation);
+                        }
+                        if (current != null) {
+                            cacheInvalidator.evictTenantLists(current.active, current.dailyAccommodation);
+                        }
+                        if (previous == null || current == null || previous.active != current.active) {
+                            cacheInvalidator.evictActiveTenantCount();
+                        }
+                    }
+
+                    @Override
+                    public void resynced() {
+                        cacheInvalidator.evictTenantLists(true, false);
+                        cacheInvalidator.evictTenantLists(true, true);
+                        cacheInvalidator.evictTenantLists(false, false);
+                        cacheInvalidator.evictActiveTenantCount();
+                    }
+                }
+        );
     }
 
     @Override
@@ -64,7 +115,9 @@ public class FirestoreTenantServiceImpl implements TenantService {
         normalizeIdentityAndContacts(payload);
         validateUniqueName(payload.fullName, null);
         normalizeFinancials(payload);
-        writeTenant(payload);
+        writeTenant(payload, null);
+        cacheInvalidator.evictTenantLists(payload.active, payload.dailyAccommodation);
+        cacheInvalidator.evictActiveTenantCount();
         return toResponse(payload);
     }
 
@@ -76,12 +129,17 @@ public class FirestoreTenantServiceImpl implements TenantService {
         payload.id = tenantId;
         payload.active = existing.active;
         payload.checkoutDate = existing.checkoutDate;
+        payload.lastDueGeneratedFor = existing.lastDueGeneratedFor;
         payload.createdAt = existing.createdAt;
         payload.updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
         normalizeIdentityAndContacts(payload);
         validateUniqueName(payload.fullName, tenantId);
         normalizeFinancials(payload);
-        writeTenant(payload);
+        writeTenant(payload, joining(existing));
+        cacheInvalidator.evictTenantLists(existing.active, existing.dailyAccommodation);
+        cacheInvalidator.evictTenantLists(payload.active, payload.dailyAccommodation);
+        cacheInvalidator.evictJoiningDate(existing.joiningDate);
+        cacheInvalidator.evictJoiningDate(payload.joiningDate);
         return toResponse(payload);
     }
 
@@ -92,6 +150,7 @@ public class FirestoreTenantServiceImpl implements TenantService {
         payload.checkoutDate = LocalDate.now();
         payload.updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
         writeTenant(payload);
+        evictActiveMembershipChange(payload);
         return toResponse(payload);
     }
 
@@ -106,6 +165,7 @@ public class FirestoreTenantServiceImpl implements TenantService {
         payload.dailyCollectionAccountId = null;
         payload.updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
         writeTenant(payload);
+        cacheInvalidator.evictTenantLists(payload.active, payload.dailyAccommodation);
         return toResponse(payload);
     }
 
@@ -116,6 +176,7 @@ public class FirestoreTenantServiceImpl implements TenantService {
         payload.checkoutDate = LocalDate.now();
         payload.updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
         writeTenant(payload);
+        evictActiveMembershipChange(payload);
     }
 
     @Override
@@ -125,6 +186,7 @@ public class FirestoreTenantServiceImpl implements TenantService {
         payload.checkoutDate = null;
         payload.updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
         writeTenant(payload);
+        evictActiveMembershipChange(payload);
         return toResponse(payload);
     }
 
@@ -133,48 +195,116 @@ public class FirestoreTenantServiceImpl implements TenantService {
         TenantPayload payload = getTenantPayload(tenantId);
         try {
             String docId = payload.documentId != null ? payload.documentId : String.valueOf(payload.id);
-            tenants().document(docId).delete().get();
+            WriteBatch batch = firestore.batch();
+            batch.delete(tenants().document(docId));
+            monthlyRentSummaryStore.changes().joiningChanged(joining(payload), null).writeTo(batch);
+            List<WriteResult> results = batch.commit().get();
+            tenantView.applyLocalWrite(docId, null, results.get(0).getUpdateTime());
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new IllegalStateException("Interrupted while deleting tenant", e);
         } catch (ExecutionException e) {
             throw new IllegalStateException("Failed to delete tenant", e);
         }
+        cacheInvalidator.evictTenantLists(payload.active, payload.dailyAccommodation);
+        cacheInvalidator.evictActiveTenantCount();
     }
 
     @Override
     public List<TenantResponse> getActiveTenants() {
-        return getAllTenantPayloads().stream()
-                .filter(payload -> payload.active && !payload.dailyAccommodation)
-                .sorted(Comparator.comparing((TenantPayload payload) -> payload.createdAt).reversed())
-                .map(this::toResponse)
-                .toList();
+        return listTenants(TenantListScope.ACTIVE);
     }
 
     @Override
     public List<TenantResponse> getDailyTenants() {
-        return getAllTenantPayloads().stream()
-                .filter(payload -> payload.active && payload.dailyAccommodation)
-                .sorted(Comparator.comparing((TenantPayload payload) -> payload.createdAt).reversed())
-                .map(this::toResponse)
-                .toList();
+        return listTenants(TenantListScope.DAILY);
     }
 
     @Override
     public List<TenantResponse> getDeletedTenants() {
-        return getAllTenantPayloads().stream()
-                .filter(payload -> !payload.active)
-                .sorted(Comparator.comparing((TenantPayload payload) -> payload.createdAt).reversed())
-                .map(this::toResponse)
-                .toList();
+        return listTenants(TenantListScope.DELETED);
     }
 
     @Override
     public List<TenantResponse> getAllTenants() {
-        return getAllTenantPayloads().stream()
-                .sorted(Comparator.comparing((TenantPayload payload) -> payload.createdAt).reversed())
-                .map(this::toResponse)
-                .toList();
+        return listTenants(TenantListScope.ALL);
+    }
+
+    @Override
+    public TenantPageResponse getTenantPage(TenantListScope scope, TenantPageQuery query) {
+        int limit = query.resolvedLimit();
+        TenantPageCursor after = TenantPageCursor.decode(query.getCursor());
+        Query pageQuery = tenants();
+        switch (scope) {
+            case ACTIVE -> pageQuery = pageQuery.whereEqualTo("active", true).whereEqualTo("dailyAccommodation", false);
+            case DAILY -> pageQuery = pageQuery.whereEqualTo("active", true).whereEqualTo("dailyAccommodation", true);
+            case DELETED -> pageQuery = pageQuery.whereEqualTo("active", false);
+            case ALL -> {
+            }
+        }
+        String roomNumber = trimToNull(query.getRoomNumber());
+        if (roomNumber != null) {
+            pageQuery = pageQuery.whereEqualTo("roomNumber", roomNumber);
+        }
+        if (query.getPaymentStatus() != null) {
+            pageQuery = pageQuery.whereEqualTo("paymentStatus", query.getPaymentStatus().name());
+        }
+        if (query.getVerificationStatus() != null) {
+            pageQuery = pageQuery.whereEqualTo("verificationStatus", query.getVerificationStatus().name());
+        }
+        pageQuery = pageQuery
+                .orderBy("createdAt", Query.Direction.DESCENDING)
+                .orderBy("id", Query.Direction.DESCENDING);
+        if (after != null) {
+            pageQuery = pageQuery.startAfter(timestamp(after.createdAt()), after.id());
+        }
+
+        // A name prefix cannot share the createdAt ordering in one Firestore query, so it is applied while paging.
+        // A rare prefix would otherwise read the whole collection, so at most namePrefixScanLimit documents are read
+        // per request; a page cut short by the limit carries a cursor to the last document read, which may come back
+        // with fewer items than asked for, or none.
+        String namePrefix = trimToNull(query.getNamePrefix());
+        String lowerPrefix = namePrefix == null ? null : namePrefix.toLowerCase(Locale.ROOT);
+        Iterator<QueryDocumentSnapshot> docs = FirestorePages.iterate(
+                pageQuery,
+                lowerPrefix == null ? limit + 1 : Math.min(FirestorePages.DEFAULT_PAGE_SIZE, namePrefixScanLimit)
+        );
+
+        int scanLimit = lowerPrefix == null ? Integer.MAX_VALUE : namePrefixScanLimit;
+        List<TenantResponse> items = new ArrayList<>(limit);
+        QueryDocumentSnapshot lastDoc = null;
+        boolean hasMore = false;
+        int scanned = 0;
+        // The limit is checked first so that a full scan does not fetch another page just to look past it.
+        while (scanned < scanLimit && docs.hasNext()) {
+            QueryDocumentSnapshot doc = docs.next();
+            TenantPayload payload = toPayload(doc);
+            boolean listed = payload.id != null && payload.fullName != null && !payload.fullName.isBlank()
+                    && (lowerPrefix == null || payload.fullName.toLowerCase(Locale.ROOT).startsWith(lowerPrefix));
+            if (listed) {
+                if (items.size() == limit) {
+                    hasMore = true;
+                    break;
+                }
+                items.add(toResponse(payload));
+            }
+            lastDoc = doc;
+            scanned++;
+        }
+        hasMore |= scanned == scanLimit;
+
+        TenantPageResponse page = new TenantPageResponse();
+        page.setItems(items);
+        if (hasMore && lastDoc != null) {
+            page.setNextCursor(new TenantPageCursor(readCursorTime(lastDoc.get("createdAt")), readLong(lastDoc.get("id"))).encode());
+        }
+        return page;
+    }
+
+    private void evictActiveMembershipChange(TenantPayload payload) {
+        cacheInvalidator.evictTenantLists(true, payload.dailyAccommodation);
+        cacheInvalidator.evictTenantLists(false, payload.dailyAccommodation);
+        cacheInvalidator.evictActiveTenantCount();
     }
 
     private CollectionReference tenants() {
@@ -182,26 +312,7 @@ public class FirestoreTenantServiceImpl implements TenantService {
     }
 
     private Long nextTenantId() {
-        try {
-            return firestore.runTransaction(transaction -> {
-                DocumentReference counterRef = firestore.collection(META_COLLECTION).document(TENANT_COUNTER_DOC);
-                DocumentSnapshot counterSnapshot = transaction.get(counterRef).get();
-                long nextId = 1L;
-                if (counterSnapshot.exists() && counterSnapshot.getLong("nextId") != null) {
-                    nextId = counterSnapshot.getLong("nextId");
-                }
-                Map<String, Object> update = new HashMap<>();
-                update.put("nextId", nextId + 1L);
-                update.put("updatedAt", Timestamp.now());
-                transaction.set(counterRef, update, SetOptions.merge());
-                return nextId;
-            }).get();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Interrupted while generating tenant id", e);
-        } catch (ExecutionException e) {
-            throw new IllegalStateException("Failed to generate tenant id", e);
-        }
+        return idAllocator.next(TENANT_COUNTER_DOC);
     }
 
     private TenantPayload getTenantPayload(Long tenantId) {
@@ -239,9 +350,17 @@ public class FirestoreTenantServiceImpl implements TenantService {
     }
 
     private void writeTenant(TenantPayload payload) {
+        writeTenant(payload, joining(payload));
+    }
+
+    private void writeTenant(TenantPayload payload, JoiningContribution previousJoining) {
         try {
             String docId = payload.documentId != null ? payload.documentId : String.valueOf(payload.id);
-            tenants().document(docId).set(toDocument(payload)).get();
+            WriteBatch batch = firestore.batch();
+            batch.set(tenants().document(docId), toDocument(payload));
+            monthlyRentSummaryStore.changes().joiningChanged(previousJoining, joining(payload)).writeTo(batch);
+            List<WriteResult> results = batch.commit().get();
+            tenantView.applyLocalWrite(docId, payload, results.get(0).getUpdateTime());
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new IllegalStateException("Interrupted while writing tenant", e);
@@ -250,6 +369,17 @@ public class FirestoreTenantServiceImpl implements TenantService {
         }
     }
 
+    private JoiningContribution joining(TenantPayload payload) {
+        return JoiningContribution.of(
+                payload.dailyAccommodation,
+                payload.joiningDate,
+                payload.rentPaidAmount,
+                payload.depositPaidAmount,
+                payload.deposit,
+                payload.rentDueAmount
+        );
+    }
+
     private List<TenantResponse> queryTenants(Query query) {
         try {
             ApiFuture<QuerySnapshot> future = query.get();
@@ -267,13 +397,43 @@ public class FirestoreTenantServiceImpl implements TenantService {
         }
     }
 
+    private List<TenantResponse> listTenants(TenantListScope scope) {
+        List<TenantPayload> payloads;
+        if (tenantView.isReady()) {
+            payloads = scope == TenantListScope.ALL ? tenantView.all() : tenantView.where(SCOPE_INDEX, scope);
+        } else {
+            payloads = getAllTenantPayloads().stream()
+                    .filter(payload -> scope == TenantListScope.ALL || scopeOf(payload) == scope)
+                    .toList();
+        }
+        return payloads.stream()
+                .filter(FirestoreTenantServiceImpl::isListable)
+                .sorted(Comparator.comparing((TenantPayload payload) -> payload.createdAt).reversed())
+                .map(this::toResponse)
+                .toList();
+    }
+
+    private static TenantListScope scopeOf(TenantPayload payload) {
+        if (!payload.active) {
+            return TenantListScope.DELETED;
+        }
+        return payload.dailyAccommodation ? TenantListScope.DAILY : TenantListScope.ACTIVE;
+    }
+
+    private static boolean isListable(TenantPayload payload) {
+        return payload.id != null && payload.fullName != null && !payload.fullName.isBlank();
+    }
+
     private List<TenantPayload> getAllTenantPayloads() {
+        if (tenantView.isReady()) {
+            return tenantView.all().stream().filter(FirestoreTenantServiceImpl::isListable).toList();
+        }
         try {
             List<QueryDocumentSnapshot> docs = tenants().get().get().getDocuments();
             List<TenantPayload> payloads = new ArrayList<>(docs.size());
             for (QueryDocumentSnapshot doc : docs) {
                 TenantPayload payload = toPayload(doc);
-                if (payload.id == null || payload.fullName == null || payload.fullName.isBlank()) {
+                if (!isListable(payload)) {
                     continue;
                 }
                 payloads.add(payload);
@@ -344,6 +504,7 @@ public class FirestoreTenantServiceImpl implements TenantService {
         document.put("verificationStatus", enumName(payload.verificationStatus));
         document.put("active", payload.active);
         document.put("checkoutDate", date(payload.checkoutDate));
+        document.put("lastDueGeneratedFor", date(payload.lastDueGeneratedFor));
         document.put("createdAt", timestamp(payload.createdAt));
         document.put("updatedAt", timestamp(payload.updatedAt));
         return document;
@@ -381,6 +542,7 @@ public class FirestoreTenantServiceImpl implements TenantService {
         payload.verificationStatus = readEnum(VerificationStatus.class, snapshot.get("verificationStatus"));
         payload.active = Boolean.TRUE.equals(snapshot.getBoolean("active"));
         payload.checkoutDate = readLocalDate(snapshot.get("checkoutDate"));
+        payload.lastDueGeneratedFor = readLocalDate(snapshot.get("lastDueGeneratedFor"));
         payload.createdAt = readOffsetDateTime(snapshot.get("createdAt"));
         payload.updatedAt = readOffsetDateTime(snapshot.get("updatedAt"));
         return payload;
@@ -520,6 +682,16 @@ public class FirestoreTenantServiceImpl implements TenantService {
         return OffsetDateTime.now(ZoneOffset.UTC);
     }
 
+    private OffsetDateTime readCursorTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return OffsetDateTime.ofInstant(
+                    Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos()),
+                    ZoneOffset.UTC
+            );
+        }
+        return readOffsetDateTime(value);
+    }
+
     private String readString(Object value) {
         return value == null ? null : String.valueOf(value);
     }
@@ -632,6 +804,7 @@ public class FirestoreTenantServiceImpl implements TenantService {
         private VerificationStatus verificationStatus;
         private boolean active;
         private LocalDate checkoutDate;
+        private LocalDate lastDueGeneratedFor;
         private OffsetDateTime createdAt;
         private OffsetDateTime updatedAt;
     }
@@ -0,0 +1,61 @@
+package com.pgms.service.impl;
+
+import com.pgms.repository.JobLeaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+
+/**
+ * Run-once guard for jobs that every instance schedules. A run is identified by a job name and a run key (the
+ * billing day for due generation). One instance takes a time-limited lease on it in {@code job_leases}, and the
+ * others skip the run. The lease is marked complete when the holder's transaction commits and freed when it rolls
+ * back. A holder that dies mid-run leaves the lease to expire, after which the next scheduled attempt retries.
+ */
+@Component
+@ConditionalOnProperty(name = "app.data-provider", havingValue = "postgres", matchIfMissing = true)
+class JobLeases {
+
+    private static final Logger log = LoggerFactory.getLogger(JobLeases.class);
+
+    private final JobLeaseRepository repository;
+    private final long leaseSeconds;
+    private final String holder;
+
+    JobLeases(JobLeaseRepository repository, @Value("${app.jobs.lease-seconds:600}") long leaseSeconds) {
+        this.repository = repository;
+        this.leaseSeconds = Math.max(leaseSeconds, 1L);
+        this.holder = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+    }
+
+    /**
+     * Takes the lease on {@code job} for {@code runKey} and ties its outcome to the current transaction. Returns
+     * {@code false} when the run has already completed or another instance holds it.
+     */
+    boolean tryAcquire(String job, String runKey) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Job leases must be taken inside a transaction");
+        }
+        if (repository.tryAcquire(job, runKey, holder, leaseSeconds) == 0) {
+            log.debug("Skipping {} for {}: completed or leased by another instance", job, runKey);
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    repository.complete(job, runKey, holder);
+                } else {
+                    repository.release(job, runKey, holder);
+                }
+            }
+        });
+        return true;
+    }
+}
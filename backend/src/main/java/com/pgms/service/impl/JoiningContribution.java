@@ -0,0 +1,33 @@
+package com.pgms.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * What a regular tenant adds to the dashboard for their joining month: the rent and deposit already paid, and
+ * the rent plus deposit still outstanding. Daily-accommodation tenants and tenants without a joining date add
+ * nothing, which is represented by {@code null}.
+ */
+record JoiningContribution(YearMonth month, BigDecimal collection, BigDecimal pending) {
+
+    static JoiningContribution of(
+            boolean dailyAccommodation,
+            LocalDate joiningDate,
+            BigDecimal rentPaidAmount,
+            BigDecimal depositPaidAmount,
+            BigDecimal deposit,
+            BigDecimal rentDueAmount
+    ) {
+        if (dailyAccommodation || joiningDate == null) {
+            return null;
+        }
+        BigDecimal collection = nvl(rentPaidAmount).add(nvl(depositPaidAmount));
+        BigDecimal depositDue = nvl(deposit).subtract(nvl(depositPaidAmount)).max(BigDecimal.ZERO);
+        return new JoiningContribution(YearMonth.from(joiningDate), collection, nvl(rentDueAmount).add(depositDue));
+    }
+
+    private static BigDecimal nvl(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+}
@@ -0,0 +1,109 @@
+package com.pgms.service.impl;
+
+import com.pgms.entity.MonthlyRentSummary;
+import com.pgms.entity.Tenant;
+import com.pgms.repository.MonthlyRentSummaryRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Objects;
+
+/**
+ * Keeps {@code monthly_rent_summary} in step with the rent ledger. Every change is applied as a signed delta
+ * through an atomic upsert inside the caller's transaction, so the summary commits or rolls back together with
+ * the rows it describes. Collections are bucketed by the month of {@code collectedAt} in the server zone, the
+ * same boundaries the dashboard range uses.
+ */
+@Component
+@ConditionalOnProperty(name = "app.data-provider", havingValue = "postgres", matchIfMissing = true)
+class MonthlyRentSummaryStore {
+
+    private final MonthlyRentSummaryRepository repository;
+
+    MonthlyRentSummaryStore(MonthlyRentSummaryRepository repository) {
+        this.repository = repository;
+    }
+
+    static JoiningContribution joining(Tenant tenant) {
+        if (tenant == null) {
+            return null;
+        }
+        return JoiningContribution.of(
+                tenant.isDailyAccommodation(),
+                tenant.getJoiningDate(),
+                tenant.getRentPaidAmount(),
+                tenant.getDepositPaidAmount(),
+                tenant.getDeposit(),
+                tenant.getRentDueAmount()
+        );
+    }
+
+    void dueChanged(LocalDate billingMonth, BigDecimal previousDue, BigDecimal currentDue) {
+        BigDecimal delta = nvl(currentDue).subtract(nvl(previousDue));
+        if (billingMonth != null && delta.signum() != 0) {
+            add(YearMonth.from(billingMonth), BigDecimal.ZERO, delta, BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+    }
+
+    void collectionAdded(OffsetDateTime collectedAt, BigDecimal amount) {
+        if (collectedAt != null && nvl(amount).signum() != 0) {
+            add(collectionMonth(collectedAt), amount, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+    }
+
+    void collectionRemoved(OffsetDateTime collectedAt, BigDecimal amount) {
+        collectionAdded(collectedAt, nvl(amount).negate());
+    }
+
+    void joiningChanged(JoiningContribution previous, JoiningContribution current) {
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        if (previous != null) {
+            add(previous.month(), BigDecimal.ZERO, BigDecimal.ZERO, previous.collection().negate(), previous.pending().negate());
+        }
+        if (current != null) {
+            add(current.month(), BigDecimal.ZERO, BigDecimal.ZERO, current.collection(), current.pending());
+        }
+    }
+
+    MonthlyRentTotals totals(LocalDate start, LocalDate end) {
+        MonthlyRentTotals totals = MonthlyRentTotals.ZERO;
+        for (MonthlyRentSummary month : repository.findAllByMonthStartBetween(start, end)) {
+            totals = totals.plus(
+                    month.getCollectedAmount(),
+                    month.getDueAmount(),
+                    month.getJoiningCollectionAmount(),
+                    month.getJoiningPendingAmount()
+            );
+        }
+        return totals;
+    }
+
+    boolean isEmpty() {
+        return repository.count() == 0;
+    }
+
+    int rebuild() {
+        repository.lockForRebuild();
+        repository.deleteAllMonths();
+        return repository.insertFromLedger(ZoneId.systemDefault().getId());
+    }
+
+    private void add(YearMonth month, BigDecimal collected, BigDecimal due, BigDecimal joiningCollection, BigDecimal joiningPending) {
+        repository.addToMonth(month.atDay(1), collected, due, joiningCollection, joiningPending);
+    }
+
+    private YearMonth collectionMonth(OffsetDateTime collectedAt) {
+        return YearMonth.from(collectedAt.atZoneSameInstant(ZoneId.systemDefault()));
+    }
+
+    private BigDecimal nvl(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+}
@@ -0,0 +1,42 @@
+package com.pgms.service.impl;
+
+import com.pgms.dto.DashboardSummaryResponse;
+
+import java.math.BigDecimal;
+
+/**
+ * Sum of the monthly summaries in a dashboard range. Rent-record dues are netted against rent-record collections
+ * over the whole range before the joining-month amounts are added, exactly as the per-record dashboard did.
+ */
+record MonthlyRentTotals(
+        BigDecimal collected,
+        BigDecimal due,
+        BigDecimal joiningCollection,
+        BigDecimal joiningPending
+) {
+
+    static final MonthlyRentTotals ZERO = new MonthlyRentTotals(
+            BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO
+    );
+
+    MonthlyRentTotals plus(BigDecimal collected, BigDecimal due, BigDecimal joiningCollection, BigDecimal joiningPending) {
+        return new MonthlyRentTotals(
+                this.collected.add(collected),
+                this.due.add(due),
+                this.joiningCollection.add(joiningCollection),
+                this.joiningPending.add(joiningPending)
+        );
+    }
+
+    DashboardSummaryResponse toDashboard(long activeTenants) {
+        BigDecimal pendingRentRecords = due.subtract(collected).max(BigDecimal.ZERO);
+        BigDecimal totalDue = pendingRentRecords.add(joiningPending);
+
+        DashboardSummaryResponse response = new DashboardSummaryResponse();
+        response.setTotalRentCollection(collected.add(joiningCollection));
+        response.setTotalDueAmount(totalDue);
+        response.setTotalPendingCollection(totalDue);
+        response.setActiveTenants(activeTenants);
+        return response;
+    }
+}
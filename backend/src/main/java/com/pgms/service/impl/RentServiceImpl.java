@@ -1,5 +1,6 @@
 package com.pgms.service.impl;
 
+import com.pgms.cache.CacheInvalidator;
 import com.pgms.dto.DashboardSummaryResponse;
 import com.pgms.dto.RentRecordRequest;
 import com.pgms.dto.RentRecordResponse;
@@ -17,46 +18,64 @@ import com.pgms.repository.CollectionRentRepository;
 import com.pgms.repository.DueRentRepository;
 import com.pgms.repository.TenantRepository;
 import com.pgms.service.RentService;
+import jakarta.persistence.EntityManager;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.YearMonth;
 import java.util.List;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 @Service
 @ConditionalOnProperty(name = "app.data-provider", havingValue = "postgres", matchIfMissing = true)
 @Transactional
 public class RentServiceImpl implements RentService {
 
+    private static final String DUE_GENERATION_JOB = "dueGeneration";
+    private static final int STARTUP_REBUILD_AGGREGATES = 0;
+    private static final int STARTUP_GENERATE_DUES = 1;
+
     private final DueRentRepository dueRentRepository;
     private final CollectionRentRepository collectionRentRepository;
     private final TenantRepository tenantRepository;
     private final AccountRepository accountRepository;
-    private volatile LocalDate lastDueGenerationRunDate;
+    private final EntityManager entityManager;
+    private final MonthlyRentSummaryStore monthlyRentSummaryStore;
+    private final JobLeases jobLeases;
+    private final CacheInvalidator cacheInvalidator;
 
     public RentServiceImpl(
             DueRentRepository dueRentRepository,
             CollectionRentRepository collectionRentRepository,
             TenantRepository tenantRepository,
-            AccountRepository accountRepository
+            AccountRepository accountRepository,
+            EntityManager entityManager,
+            MonthlyRentSummaryStore monthlyRentSummaryStore,
+            JobLeases jobLeases,
+            CacheInvalidator cacheInvalidator
     ) {
         this.dueRentRepository = dueRentRepository;
         this.collectionRentRepository = collectionRentRepository;
         this.tenantRepository = tenantRepository;
         this.accountRepository = accountRepository;
+        this.entityManager = entityManager;
+        this.monthlyRentSummaryStore = monthlyRentSummaryStore;
+        this.jobLeases = jobLeases;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     @Override
@@ -68,6 +87,7 @@ public class RentServiceImpl implements RentService {
 
         DueRent dueRent = dueRentRepository.findByTenant_IdAndBillingMonth(request.getTenantId(), normalizedMonth)
                 .orElseGet(DueRent::new);
+        BigDecimal previousDue = dueRent.getId() != null ? dueRent.getDueAmount() : BigDecimal.ZERO;
 
         dueRent.setTenant(tenant);
         dueRent.setBillingMonth(normalizedMonth);
@@ -77,6 +97,8 @@ public class RentServiceImpl implements RentService {
         dueRent.setStatus(resolveStatus(request.getDueAmount(), request.getPaidAmount()));
 
         DueRent saved = dueRentRepository.save(dueRent);
+        monthlyRentSummaryStore.dueChanged(saved.getBillingMonth(), previousDue, saved.getDueAmount());
+        cacheInvalidator.evictDueMonth(saved.getBillingMonth());
         syncCollectionFromDue(saved, null);
         syncTenantDueAndPayment(tenant, saved);
 
@@ -87,6 +109,7 @@ public class RentServiceImpl implements RentService {
     public RentRecordResponse updateRentRecord(Long recordId, RentRecordUpdateRequest request) {
         DueRent dueRent = dueRentRepository.findById(recordId)
                 .orElseThrow(() -> new ResourceNotFoundException("Rent record not found with id: " + recordId));
+        BigDecimal previousDue = dueRent.getDueAmount();
 
         dueRent.setDueAmount(request.getDueAmount());
         dueRent.setPaidAmount(request.getPaidAmount());
@@ -94,6 +117,8 @@ public class RentServiceImpl implements RentService {
         dueRent.setStatus(resolveStatus(request.getDueAmount(), request.getPaidAmount()));
 
         DueRent saved = dueRentRepository.save(dueRent);
+        monthlyRentSummaryStore.dueChanged(saved.getBillingMonth(), previousDue, saved.getDueAmount());
+        cacheInvalidator.evictDueMonth(saved.getBillingMonth());
         syncCollectionFromDue(saved, request.getTransactionDate());
         syncTenantDueAndPayment(saved.getTenant(), saved);
         return toResponse(saved);
@@ -104,15 +129,22 @@ public class RentServiceImpl implements RentService {
         DueRent dueRent = dueRentRepository.findById(recordId)
                 .orElseThrow(() -> new ResourceNotFoundException("Rent record not found with id: " + recordId));
 
+        BigDecimal previousDue = dueRent.getDueAmount();
         dueRent.setDueAmount(BigDecimal.ZERO);
         dueRent.setStatus(resolveStatus(dueRent.getDueAmount(), dueRent.getPaidAmount()));
         DueRent saved = dueRentRepository.save(dueRent);
+        monthlyRentSummaryStore.dueChanged(saved.getBillingMonth(), previousDue, saved.getDueAmount());
+        cacheInvalidator.evictDueMonth(saved.getBillingMonth());
         syncTenantDueAndPayment(saved.getTenant(), saved);
     }
 
     @Override
     public void deleteCollectedRecord(Long recordId) {
-        collectionRentRepository.findById(recordId).ifPresent(collectionRentRepository::delete);
+        collectionRentRepository.findById(recordId).ifPresent(collection -> {
+            collectionRentRepository.delete(collection);
+            monthlyRentSummaryStore.collectionRemoved(collection.getCollectedAt(), collection.getCollectedAmount());
+            cacheInvalidator.evictCollectedAt(collection.getCollectedAt());
+        });
     }
 
     @Override
@@ -123,6 +155,7 @@ public class RentServiceImpl implements RentService {
         dueRent.setPaidAmount(dueRent.getDueAmount());
         dueRent.setStatus(RentRecordStatus.PAID);
         DueRent saved = dueRentRepository.save(dueRent);
+        cacheInvalidator.evictDueMonth(saved.getBillingMonth());
         syncCollectionFromDue(saved, null);
         syncTenantDueAndPayment(saved.getTenant(), saved);
 
@@ -130,13 +163,10 @@ public class RentServiceImpl implements RentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RentRecordResponse> getDueRentRecords(LocalDate from, LocalDate to) {
         LocalDate start = normalizeStart(from);
         LocalDate end = normalizeEnd(to);
-        LocalDate currentMonthStart = YearMonth.from(LocalDate.now()).atDay(1);
-        if (!end.isBefore(currentMonthStart)) {
-            ensureAutoGeneratedDueRecords();
-        }
         return dueRentRepository.findAllByStatusInAndBillingMonthBetweenOrderByBillingMonthDesc(
                         List.of(RentRecordStatus.DUE, RentRecordStatus.PARTIAL), start, end)
                 .stream()
@@ -169,40 +199,48 @@ public class RentServiceImpl implements RentService {
 
     @Override
     @Transactional(readOnly = true)
-    public byte[] exportCollectionReportCsv(LocalDate from, LocalDate to, Long accountId) {
+    public void exportCollectionReportCsv(LocalDate from, LocalDate to, Long accountId, OutputStream output) {
         LocalDate start = normalizeStart(from);
         LocalDate end = normalizeEnd(to);
         ZoneId zone = ZoneId.systemDefault();
 
-        List<CollectionRent> regularCollections = collectionRentRepository
-                .findAllByCollectedAtBetweenAndAccountOrderByCollectedAtDesc(
+        try (Stream<CollectionRent> regularCollections = collectionRentRepository
+                .streamAllByCollectedAtBetweenAndAccountOrderByCollectedAtDesc(
                         start.atStartOfDay(zone).toOffsetDateTime(),
                         end.plusDays(1).atStartOfDay(zone).toOffsetDateTime(),
                         accountId
                 );
-
-        List<Tenant> dailyCollections = tenantRepository.findDailyCollectionsForReport(start, end, accountId);
-
-        List<ExportRow> rows = new ArrayList<>();
-        regularCollections.forEach(record -> rows.add(ExportRow.regular(record)));
-        dailyCollections.forEach(tenant -> rows.add(ExportRow.daily(tenant)));
-        rows.sort(Comparator.comparing(ExportRow::transactionDateTime).reversed());
-
-        StringBuilder csv = new StringBuilder();
-        csv.append("Type,Transaction Date-Time,Tenant Name,Room Number,Billing Month,Amount,Account Name,Account Mode\n");
-        rows.forEach(row -> {
-            csv.append(csvCell(row.type())).append(',')
-                    .append(csvCell(row.transactionDateTime())).append(',')
-                    .append(csvCell(row.tenantName())).append(',')
-                    .append(csvCell(row.roomNumber())).append(',')
-                    .append(csvCell(row.billingMonth())).append(',')
-                    .append(csvCell(row.amount())).append(',')
-                    .append(csvCell(row.accountName())).append(',')
-                    .append(csvCell(row.accountMode()))
-                    .append('\n');
-        });
-
-        return csv.toString().getBytes(StandardCharsets.UTF_8);
+             Stream<Tenant> dailyCollections = tenantRepository.streamDailyCollectionsForReport(start, end, accountId)) {
+
+            Iterator<ExportRow> regularRows = regularCollections.map(record -> {
+                ExportRow row = ExportRow.regular(record);
+                entityManager.detach(record);
+                return row;
+            }).iterator();
+            Iterator<ExportRow> dailyRows = dailyCollections.map(tenant -> {
+                ExportRow row = ExportRow.daily(tenant);
+                entityManager.detach(tenant);
+                return row;
+            }).iterator();
+
+            Iterator<ExportRow> rows = new SortedMergeIterator<>(List.of(regularRows, dailyRows), ExportRow.NEWEST_FIRST);
+            CollectionReportCsvWriter csv = new CollectionReportCsvWriter(output);
+            csv.writeHeader();
+            while (rows.hasNext()) {
+                ExportRow row = rows.next();
+                csv.writeRow(
+                        row.type(),
+                        row.transactionDateTime(),
+                        row.tenantName(),
+                        row.roomNumber(),
+                        row.billingMonth(),
+                        row.amount(),
+                        row.accountName(),
+                        row.accountMode()
+                );
+            }
+            csv.flush();
+        }
     }
 
     @Override
@@ -210,103 +248,52 @@ public class RentServiceImpl implements RentService {
     public DashboardSummaryResponse getDashboardSummary(LocalDate from, LocalDate to) {
         LocalDate start = normalizeStart(from);
         LocalDate end = normalizeEnd(to);
-        ZoneId zone = ZoneId.systemDefault();
-
-        BigDecimal rentRecordPaid = collectionRentRepository.sumCollectedBetween(
-                start.atStartOfDay(zone).toOffsetDateTime(),
-                end.plusDays(1).atStartOfDay(zone).toOffsetDateTime()
-        );
-        BigDecimal rentRecordDue = dueRentRepository.sumDueBetween(start, end);
-        BigDecimal pendingRentRecords = rentRecordDue.subtract(rentRecordPaid).max(BigDecimal.ZERO);
-
-        List<Tenant> joiningTenants = tenantRepository.findAllRegularByJoiningDateBetween(start, end);
-        BigDecimal joiningCollection = joiningTenants.stream()
-                .map(t -> nvl(t.getRentPaidAmount()).add(nvl(t.getDepositPaidAmount())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal joiningPending = joiningTenants.stream()
-                .map(t -> {
-                    BigDecimal depositDue = nvl(t.getDeposit()).subtract(nvl(t.getDepositPaidAmount())).max(BigDecimal.ZERO);
-                    return nvl(t.getRentDueAmount()).add(depositDue);
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalCollection = rentRecordPaid.add(joiningCollection);
-        BigDecimal totalDue = pendingRentRecords.add(joiningPending);
-
-        DashboardSummaryResponse response = new DashboardSummaryResponse();
-        response.setTotalRentCollection(totalCollection);
-        response.setTotalDueAmount(totalDue);
-        response.setTotalPendingCollection(totalDue);
-        response.setActiveTenants(tenantRepository.countByActiveTrue());
-        return response;
+        return monthlyRentSummaryStore.totals(start, end).toDashboard(tenantRepository.countByActiveTrue());
     }
 
-    private BigDecimal nvl(BigDecimal value) {
-        return value == null ? BigDecimal.ZERO : value;
+    @Override
+    public void rebuildDashboardAggregates() {
+        monthlyRentSummaryStore.rebuild();
+        cacheInvalidator.evictDashboard();
     }
 
-    private synchronized void ensureAutoGeneratedDueRecords() {
+    /**
+     * Generates this month's due rows for every tenant whose due date has arrived, in two statements. Runs daily and
+     * once at startup to catch up after downtime. Only the instance holding the day's lease does the work; both
+     * statements also skip tenants that are already done, so a retry after a failed run is harmless. At startup it
+     * runs after {@link #initializeDashboardAggregates()}: a generated due would otherwise create the first summary
+     * row and the empty-table rebuild would be skipped, losing all earlier months.
+     */
+    @Scheduled(cron = "${app.rent.due-generation-cron:0 5 0 * * *}")
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(STARTUP_GENERATE_DUES)
+    public void generateDueRecords() {
         LocalDate today = LocalDate.now();
-        if (today.equals(lastDueGenerationRunDate)) {
+        if (!jobLeases.tryAcquire(DUE_GENERATION_JOB, today.toString())) {
             return;
         }
-        YearMonth currentMonth = YearMonth.from(today);
-        LocalDate billingMonth = currentMonth.atDay(1);
-        List<Tenant> activeTenants = tenantRepository.findAllActiveRegularTenantsOrderByCreatedAtDesc();
-        Set<Long> existingDueTenantIds = new HashSet<>(dueRentRepository.findTenantIdsByBillingMonth(billingMonth));
-        List<Tenant> tenantsToUpdate = new ArrayList<>();
-
-        for (Tenant tenant : activeTenants) {
-            if (tenant.getJoiningDate() == null) {
-                continue;
-            }
-
-            LocalDate nextDueDate = tenant.getLastDueGeneratedFor() != null
-                    ? tenant.getLastDueGeneratedFor().plusMonths(1)
-                    : tenant.getJoiningDate().plusMonths(1).minusDays(1);
-
-            if (nextDueDate.isAfter(today)) {
-                continue;
-            }
-
-            LocalDate dueToGenerate = nextDueDate;
-            if (YearMonth.from(nextDueDate).isBefore(currentMonth)) {
-                // No historical backfill: older tenants should get current month due from month-start.
-                dueToGenerate = currentMonth.atDay(1);
-            }
-
-            if (!YearMonth.from(dueToGenerate).equals(currentMonth) || dueToGenerate.isAfter(today)) {
-                continue;
-            }
-
-            if (!existingDueTenantIds.contains(tenant.getId())) {
-                DueRent dueRent = new DueRent();
-                dueRent.setTenant(tenant);
-                dueRent.setBillingMonth(billingMonth);
-                dueRent.setDueAmount(nvl(tenant.getRent()));
-                dueRent.setPaidAmount(BigDecimal.ZERO);
-                dueRent.setStatus(RentRecordStatus.DUE);
-                try {
-                    dueRentRepository.save(dueRent);
-                    existingDueTenantIds.add(tenant.getId());
-                } catch (DataIntegrityViolationException ignored) {
-                    // Concurrent request may have inserted the same tenant+month due row.
-                }
-            }
-
-            if (!dueToGenerate.equals(tenant.getLastDueGeneratedFor())) {
-                tenant.setLastDueGeneratedFor(dueToGenerate);
-                tenantsToUpdate.add(tenant);
-            }
+        LocalDate billingMonth = YearMonth.from(today).atDay(1);
+        BigDecimal generatedDue = dueRentRepository.insertGeneratedDues(billingMonth, today);
+        int advancedTenants = tenantRepository.advanceLastDueGeneratedFor(billingMonth, today);
+        if (advancedTenants > 0) {
+            monthlyRentSummaryStore.dueChanged(billingMonth, BigDecimal.ZERO, generatedDue);
+            cacheInvalidator.evictDueMonth(billingMonth);
         }
+    }
 
-        if (!tenantsToUpdate.isEmpty()) {
-            tenantRepository.saveAll(tenantsToUpdate);
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(STARTUP_REBUILD_AGGREGATES)
+    public void initializeDashboardAggregates() {
+        if (monthlyRentSummaryStore.isEmpty()) {
+            monthlyRentSummaryStore.rebuild();
         }
-        lastDueGenerationRunDate = today;
     }
 
-    private RentRecordStatus resolveStatus(BigDecimal due, BigDecimal paid) {
+    private BigDecimal nvl(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+
+    static RentRecordStatus resolveStatus(BigDecimal due, BigDecimal paid) {
         if (paid.compareTo(due) >= 0) {
             return RentRecordStatus.PAID;
         }
@@ -319,11 +306,17 @@ public class RentServiceImpl implements RentService {
     private void syncCollectionFromDue(DueRent dueRent, LocalDate transactionDate) {
         BigDecimal paid = nvl(dueRent.getPaidAmount());
         if (paid.compareTo(BigDecimal.ZERO) <= 0) {
-            collectionRentRepository.findById(dueRent.getId()).ifPresent(collectionRentRepository::delete);
+            collectionRentRepository.findById(dueRent.getId()).ifPresent(collection -> {
+                collectionRentRepository.delete(collection);
+                monthlyRentSummaryStore.collectionRemoved(collection.getCollectedAt(), collection.getCollectedAmount());
+                cacheInvalidator.evictCollectedAt(collection.getCollectedAt());
+            });
             return;
         }
 
         CollectionRent collection = collectionRentRepository.findById(dueRent.getId()).orElseGet(CollectionRent::new);
+        monthlyRentSummaryStore.collectionRemoved(collection.getCollectedAt(), collection.getCollectedAmount());
+        cacheInvalidator.evictCollectedAt(collection.getCollectedAt());
         collection.setDueRent(dueRent);
         collection.setTenant(dueRent.getTenant());
         collection.setBillingMonth(dueRent.getBillingMonth());
@@ -331,9 +324,12 @@ public class RentServiceImpl implements RentService {
         collection.setAccount(dueRent.getAccount());
         collection.setCollectedAt(OffsetDateTime.now());
         collectionRentRepository.save(collection);
+        monthlyRentSummaryStore.collectionAdded(collection.getCollectedAt(), collection.getCollectedAmount());
+        cacheInvalidator.evictCollectedAt(collection.getCollectedAt());
     }
 
     private void syncTenantDueAndPayment(Tenant tenant, DueRent dueRent) {
+        JoiningContribution previousJoining = MonthlyRentSummaryStore.joining(tenant);
         BigDecimal balance = dueRent.getDueAmount().subtract(dueRent.getPaidAmount()).max(BigDecimal.ZERO);
         tenant.setRentPaidAmount(dueRent.getPaidAmount());
         tenant.setRentDueAmount(balance);
@@ -341,6 +337,20 @@ public class RentServiceImpl implements RentService {
                 ? PaymentStatus.ON_TIME
                 : (dueRent.getPaidAmount().compareTo(BigDecimal.ZERO) > 0 ? PaymentStatus.PARTIAL : PaymentStatus.DUE));
         tenantRepository.save(tenant);
+        JoiningContribution currentJoining = MonthlyRentSummaryStore.joining(tenant);
+        monthlyRentSummaryStore.joiningChanged(previousJoining, currentJoining);
+        evictJoiningMonths(previousJoining, currentJoining);
+        cacheInvalidator.evictTenantLists(tenant.isActive(), tenant.isDailyAccommodation());
+    }
+
+    // The tenant's rent balance counts towards their joining month on the dashboard, not only the billing month.
+    private void evictJoiningMonths(JoiningContribution previous, JoiningContribution current) {
+        if (previous != null) {
+            cacheInvalidator.evictJoiningDate(previous.month().atDay(1));
+        }
+        if (current != null && (previous == null || !current.month().equals(previous.month()))) {
+            cacheInvalidator.evictJoiningDate(current.month().atDay(1));
+        }
     }
 
     private LocalDate normalizeStart(LocalDate from) {
@@ -399,16 +409,9 @@ public class RentServiceImpl implements RentService {
         return row;
     }
 
-    private String csvCell(Object value) {
-        if (value == null) {
-            return "";
-        }
-        String text = String.valueOf(value).replace("\"", "\"\"");
-        return "\"" + text + "\"";
-    }
-
-    private record ExportRow(
+    record ExportRow(
             String type,
+            OffsetDateTime transactionAt,
             String transactionDateTime,
             String tenantName,
             String roomNumber,
@@ -417,9 +420,15 @@ public class RentServiceImpl implements RentService {
             String accountName,
             String accountMode
     ) {
+        static final Comparator<ExportRow> NEWEST_FIRST = Comparator.comparing(
+                ExportRow::transactionAt,
+                Comparator.nullsFirst(OffsetDateTime.timeLineOrder())
+        ).reversed();
+
         static ExportRow regular(CollectionRent record) {
             return new ExportRow(
                     "REGULAR_RENT",
+                    record.getCollectedAt(),
                     record.getCollectedAt() != null ? record.getCollectedAt().toString() : "",
                     record.getTenant() != null ? record.getTenant().getFullName() : "",
                     record.getTenant() != null ? record.getTenant().getRoomNumber() : "",
@@ -431,11 +440,13 @@ public class RentServiceImpl implements RentService {
         }
 
         static ExportRow daily(Tenant tenant) {
+            OffsetDateTime transactionAt = tenant.getDailyCollectionTransactionDate() != null
+                    ? tenant.getDailyCollectionTransactionDate().atStartOfDay().atOffset(ZoneOffset.UTC)
+                    : null;
             return new ExportRow(
                     "DAILY_COLLECTION",
-                    tenant.getDailyCollectionTransactionDate() != null
-                            ? tenant.getDailyCollectionTransactionDate().atStartOfDay().atOffset(ZoneOffset.UTC).toString()
-                            : "",
+                    transactionAt,
+                    transactionAt != null ? transactionAt.toString() : "",
                     tenant.getFullName(),
                     tenant.getRoomNumber(),
                     tenant.getDailyCollectionTransactionDate() != null
@@ -0,0 +1,49 @@
+package com.pgms.service.impl;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge over sources that are each already sorted by {@code order}. Only the current head of every
+ * source is held in memory; ties are resolved in favour of the source listed first.
+ */
+final class SortedMergeIterator<T> implements Iterator<T> {
+
+    private final PriorityQueue<Head<T>> heads;
+
+    SortedMergeIterator(List<? extends Iterator<? extends T>> sources, Comparator<? super T> order) {
+        Comparator<Head<T>> headOrder = (left, right) -> order.compare(left.value(), right.value());
+        this.heads = new PriorityQueue<>(Math.max(sources.size(), 1),
+                headOrder.thenComparingInt(Head::sourceIndex));
+        for (int i = 0; i < sources.size(); i++) {
+            advance(sources.get(i), i);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        Head<T> head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        advance(head.source(), head.sourceIndex());
+        return head.value();
+    }
+
+    private void advance(Iterator<? extends T> source, int sourceIndex) {
+        if (source.hasNext()) {
+            heads.add(new Head<>(source.next(), source, sourceIndex));
+        }
+    }
+
+    private record Head<T>(T value, Iterator<? extends T> source, int sourceIndex) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.pgms.service.impl;
+
+import com.pgms.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position for tenant pages ordered by {@code (createdAt desc, id desc)}.
+ */
+record TenantPageCursor(OffsetDateTime createdAt, long id) {
+
+    String encode() {
+        String raw = createdAt.toInstant() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TenantPageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator <= 0) {
+                throw new BadRequestException("Invalid tenant page cursor.");
+            }
+            Instant createdAt = Instant.parse(raw.substring(0, separator));
+            long id = Long.parseLong(raw.substring(separator + 1));
+            return new TenantPageCursor(OffsetDateTime.ofInstant(createdAt, ZoneOffset.UTC), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid tenant page cursor.");
+        }
+    }
+}
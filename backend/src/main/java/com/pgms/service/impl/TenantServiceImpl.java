@@ -1,5 +1,9 @@
 package com.pgms.service.impl;
 
+import com.pgms.cache.CacheInvalidator;
+import com.pgms.dto.TenantListScope;
+import com.pgms.dto.TenantPageQuery;
+import com.pgms.dto.TenantPageResponse;
 import com.pgms.dto.TenantRequest;
 import com.pgms.dto.TenantResponse;
 import com.pgms.entity.CollectionRent;
@@ -13,9 +17,11 @@ import com.pgms.mapper.TenantMapper;
 import com.pgms.repository.AccountRepository;
 import com.pgms.repository.CollectionRentRepository;
 import com.pgms.repository.DueRentRepository;
+import com.pgms.repository.TenantListView;
 import com.pgms.repository.TenantRepository;
 import com.pgms.service.TenantService;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +30,8 @@ import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.YearMonth;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 
 @Service
 @ConditionalOnProperty(name = "app.data-provider", havingValue = "postgres", matchIfMissing = true)
@@ -34,17 +42,23 @@ public class TenantServiceImpl implements TenantService {
     private final DueRentRepository dueRentRepository;
     private final CollectionRentRepository collectionRentRepository;
     private final AccountRepository accountRepository;
+    private final MonthlyRentSummaryStore monthlyRentSummaryStore;
+    private final CacheInvalidator cacheInvalidator;
 
     public TenantServiceImpl(
             TenantRepository tenantRepository,
             DueRentRepository dueRentRepository,
             CollectionRentRepository collectionRentRepository,
-            AccountRepository accountRepository
+            AccountRepository accountRepository,
+            MonthlyRentSummaryStore monthlyRentSummaryStore,
+            CacheInvalidator cacheInvalidator
     ) {
         this.tenantRepository = tenantRepository;
         this.dueRentRepository = dueRentRepository;
         this.collectionRentRepository = collectionRentRepository;
         this.accountRepository = accountRepository;
+        this.monthlyRentSummaryStore = monthlyRentSummaryStore;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     @Override
@@ -56,7 +70,10 @@ public class TenantServiceImpl implements TenantService {
         validateUniqueName(tenant.getFullName(), null);
         normalizeFinancials(tenant);
         Tenant saved = tenantRepository.save(tenant);
+        monthlyRentSummaryStore.joiningChanged(null, MonthlyRentSummaryStore.joining(saved));
         syncJoiningLedger(saved);
+        cacheInvalidator.evictTenantLists(saved.isActive(), saved.isDailyAccommodation());
+        cacheInvalidator.evictActiveTenantCount();
         return TenantMapper.toResponse(saved);
     }
 
@@ -64,6 +81,12 @@ public class TenantServiceImpl implements TenantService {
     public TenantResponse updateTenant(Long tenantId, TenantRequest request) {
         Tenant tenant = tenantRepository.findById(tenantId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tenant not found with id: " + tenantId));
+        boolean wasActive = tenant.isActive();
+        boolean wasDailyAccommodation = tenant.isDailyAccommodation();
+        String previousName = tenant.getFullName();
+        String previousRoomNumber = tenant.getRoomNumber();
+        LocalDate previousJoiningDate = tenant.getJoiningDate();
+        JoiningContribution previousJoining = MonthlyRentSummaryStore.joining(tenant);
 
         TenantMapper.updateEntity(tenant, request);
         resolveDailyCollectionAccount(tenant, request.getDailyCollectionAccountId());
@@ -72,7 +95,16 @@ public class TenantServiceImpl implements TenantService {
         validateUniqueName(tenant.getFullName(), tenantId);
         normalizeFinancials(tenant);
         Tenant saved = tenantRepository.save(tenant);
+        monthlyRentSummaryStore.joiningChanged(previousJoining, MonthlyRentSummaryStore.joining(saved));
         syncJoiningLedger(saved);
+        cacheInvalidator.evictTenantLists(wasActive, wasDailyAccommodation);
+        cacheInvalidator.evictTenantLists(saved.isActive(), saved.isDailyAccommodation());
+        cacheInvalidator.evictJoiningDate(previousJoiningDate);
+        cacheInvalidator.evictJoiningDate(saved.getJoiningDate());
+        if (!Objects.equals(previousName, saved.getFullName())
+                || !Objects.equals(previousRoomNumber, saved.getRoomNumber())) {
+            cacheInvalidator.evictTenantDetails();
+        }
         return TenantMapper.toResponse(saved);
     }
 
@@ -80,6 +112,7 @@ public class TenantServiceImpl implements TenantService {
     public TenantResponse checkoutTenant(Long tenantId) {
         Tenant tenant = tenantRepository.findById(tenantId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tenant not found with id: " + tenantId));
+        evictActiveMembershipChange(tenant);
         tenant.setActive(false);
         tenant.setCheckoutDate(LocalDate.now());
         Tenant saved = tenantRepository.save(tenant);
@@ -97,6 +130,7 @@ public class TenantServiceImpl implements TenantService {
         tenant.setDailyCollectionTransactionDate(null);
         tenant.setDailyCollectionAccount(null);
         Tenant saved = tenantRepository.save(tenant);
+        cacheInvalidator.evictTenantLists(saved.isActive(), saved.isDailyAccommodation());
         return TenantMapper.toResponse(saved);
     }
 
@@ -104,6 +138,7 @@ public class TenantServiceImpl implements TenantService {
     public void deleteTenant(Long tenantId) {
         Tenant tenant = tenantRepository.findById(tenantId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tenant not found with id: " + tenantId));
+        evictActiveMembershipChange(tenant);
         tenant.setActive(false);
         tenant.setCheckoutDate(LocalDate.now());
         tenantRepository.save(tenant);
@@ -113,6 +148,7 @@ public class TenantServiceImpl implements TenantService {
     public TenantResponse restoreTenant(Long tenantId) {
         Tenant tenant = tenantRepository.findById(tenantId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tenant not found with id: " + tenantId));
+        evictActiveMembershipChange(tenant);
         tenant.setActive(true);
         tenant.setCheckoutDate(null);
         Tenant saved = tenantRepository.save(tenant);
@@ -121,16 +157,19 @@ public class TenantServiceImpl implements TenantService {
 
     @Override
     public void permanentlyDeleteTenant(Long tenantId) {
-        if (!tenantRepository.existsById(tenantId)) {
-            throw new ResourceNotFoundException("Tenant not found with id: " + tenantId);
-        }
-        tenantRepository.deleteById(tenantId);
+        Tenant tenant = tenantRepository.findById(tenantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tenant not found with id: " + tenantId));
+        tenantRepository.delete(tenant);
+        monthlyRentSummaryStore.joiningChanged(MonthlyRentSummaryStore.joining(tenant), null);
+        cacheInvalidator.evictTenantLists(tenant.isActive(), tenant.isDailyAccommodation());
+        cacheInvalidator.evictActiveTenantCount();
+        cacheInvalidator.evictTenantDetails();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TenantResponse> getActiveTenants() {
-        return tenantRepository.findAllActiveRegularTenantsOrderByCreatedAtDesc()
+        return tenantRepository.findActiveRegularViewsOrderByCreatedAtDesc()
                 .stream()
                 .map(TenantMapper::toResponse)
                 .toList();
@@ -139,7 +178,7 @@ public class TenantServiceImpl implements TenantService {
     @Override
     @Transactional(readOnly = true)
     public List<TenantResponse> getDailyTenants() {
-        return tenantRepository.findAllActiveDailyTenantsOrderByCreatedAtDesc()
+        return tenantRepository.findActiveDailyViewsOrderByCreatedAtDesc()
                 .stream()
                 .map(TenantMapper::toResponse)
                 .toList();
@@ -148,7 +187,7 @@ public class TenantServiceImpl implements TenantService {
     @Override
     @Transactional(readOnly = true)
     public List<TenantResponse> getDeletedTenants() {
-        return tenantRepository.findAllByActiveFalseOrderByCreatedAtDesc()
+        return tenantRepository.findInactiveViewsOrderByCreatedAtDesc()
                 .stream()
                 .map(TenantMapper::toResponse)
                 .toList();
@@ -157,12 +196,67 @@ public class TenantServiceImpl implements TenantService {
     @Override
     @Transactional(readOnly = true)
     public List<TenantResponse> getAllTenants() {
-        return tenantRepository.findAll().stream()
+        return tenantRepository.findAllViewsOrderByCreatedAtDesc().stream()
                 .map(TenantMapper::toResponse)
                 .toList();
     }
 
-    private void normalizeFinancials(Tenant tenant) {
+    @Override
+    @Transactional(readOnly = true)
+    public TenantPageResponse getTenantPage(TenantListScope scope, TenantPageQuery query) {
+        int limit = query.resolvedLimit();
+        TenantPageCursor after = TenantPageCursor.decode(query.getCursor());
+        Boolean active = switch (scope) {
+            case ALL -> null;
+            case ACTIVE, DAILY -> true;
+            case DELETED -> false;
+        };
+        Boolean dailyAccommodation = switch (scope) {
+            case ACTIVE -> false;
+            case DAILY -> true;
+            case ALL, DELETED -> null;
+        };
+        List<TenantListView> views = tenantRepository.findViewPage(
+                active,
+                dailyAccommodation,
+                trimToNull(query.getRoomNumber()),
+                query.getPaymentStatus(),
+                query.getVerificationStatus(),
+                namePrefixPattern(query.getNamePrefix()),
+                after == null ? null : after.createdAt(),
+                after == null ? null : after.id(),
+                Limit.of(limit + 1)
+        );
+
+        TenantPageResponse page = new TenantPageResponse();
+        List<TenantListView> items = views.size() > limit ? views.subList(0, limit) : views;
+        page.setItems(items.stream().map(TenantMapper::toResponse).toList());
+        if (views.size() > limit) {
+            TenantListView last = items.get(items.size() - 1);
+            page.setNextCursor(new TenantPageCursor(last.getCreatedAt(), last.getId()).encode());
+        }
+        return page;
+    }
+
+    private String namePrefixPattern(String namePrefix) {
+        String prefix = trimToNull(namePrefix);
+        if (prefix == null) {
+            return null;
+        }
+        String escaped = prefix.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
+    }
+
+    private void evictActiveMembershipChange(Tenant tenant) {
+        cacheInvalidator.evictTenantLists(true, tenant.isDailyAccommodation());
+        cacheInvalidator.evictTenantLists(false, tenant.isDailyAccommodation());
+        cacheInvalidator.evictActiveTenantCount();
+    }
+
+    static void normalizeFinancials(Tenant tenant) {
         if (tenant.isDailyAccommodation()) {
             BigDecimal dailyCollection = nvl(tenant.getDailyCollectionAmount()).max(BigDecimal.ZERO);
             tenant.setDailyCollectionAmount(dailyCollection);
@@ -205,7 +299,7 @@ public class TenantServiceImpl implements TenantService {
                 : (rentPaid.compareTo(BigDecimal.ZERO) > 0 ? PaymentStatus.PARTIAL : PaymentStatus.DUE));
     }
 
-    private BigDecimal nvl(BigDecimal value) {
+    private static BigDecimal nvl(BigDecimal value) {
         return value == null ? BigDecimal.ZERO : value;
     }
 
@@ -290,6 +384,7 @@ public class TenantServiceImpl implements TenantService {
 
         DueRent dueRent = dueRentRepository.findByTenant_IdAndBillingMonth(tenant.getId(), billingMonth)
                 .orElseGet(DueRent::new);
+        BigDecimal previousDue = dueRent.getId() != null ? dueRent.getDueAmount() : BigDecimal.ZERO;
         dueRent.setTenant(tenant);
         dueRent.setBillingMonth(billingMonth);
         dueRent.setDueAmount(totalDueAmount);
@@ -297,9 +392,13 @@ public class TenantServiceImpl implements TenantService {
         dueRent.setAccount(tenant.getJoiningCollectionAccount());
         dueRent.setStatus(resolveStatus(totalDueAmount, totalPaidAmount));
         DueRent saved = dueRentRepository.save(dueRent);
+        monthlyRentSummaryStore.dueChanged(billingMonth, previousDue, saved.getDueAmount());
+        cacheInvalidator.evictDueMonth(billingMonth);
 
         if (totalPaidAmount.compareTo(BigDecimal.ZERO) > 0) {
             CollectionRent collection = collectionRentRepository.findById(saved.getId()).orElseGet(CollectionRent::new);
+            monthlyRentSummaryStore.collectionRemoved(collection.getCollectedAt(), collection.getCollectedAmount());
+            cacheInvalidator.evictCollectedAt(collection.getCollectedAt());
             collection.setDueRent(saved);
             collection.setTenant(tenant);
             collection.setBillingMonth(billingMonth);
@@ -307,12 +406,18 @@ public class TenantServiceImpl implements TenantService {
             collection.setAccount(tenant.getJoiningCollectionAccount());
             collection.setCollectedAt(OffsetDateTime.now());
             collectionRentRepository.save(collection);
+            monthlyRentSummaryStore.collectionAdded(collection.getCollectedAt(), collection.getCollectedAmount());
+            cacheInvalidator.evictCollectedAt(collection.getCollectedAt());
         } else {
-            collectionRentRepository.findById(saved.getId()).ifPresent(collectionRentRepository::delete);
+            collectionRentRepository.findById(saved.getId()).ifPresent(collection -> {
+                collectionRentRepository.delete(collection);
+                monthlyRentSummaryStore.collectionRemoved(collection.getCollectedAt(), collection.getCollectedAmount());
+                cacheInvalidator.evictCollectedAt(collection.getCollectedAt());
+            });
         }
     }
 
-    private RentRecordStatus resolveStatus(BigDecimal dueAmount, BigDecimal paidAmount) {
+    static RentRecordStatus resolveStatus(BigDecimal dueAmount, BigDecimal paidAmount) {
         if (paidAmount.compareTo(dueAmount) >= 0) {
             return RentRecordStatus.PAID;
         }
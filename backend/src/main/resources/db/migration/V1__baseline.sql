@@ -102,3 +102,21 @@ CREATE TABLE IF NOT EXISTS expenses (
 
 CREATE INDEX IF NOT EXISTS idx_expenses_transaction_date ON expenses(transaction_date);
 ALTER TABLE expenses ADD COLUMN IF NOT EXISTS tag VARCHAR(100);
+
+CREATE TABLE IF NOT EXISTS monthly_rent_summary (
+    month_start DATE PRIMARY KEY,
+    collected_amount NUMERIC(14,2) NOT NULL DEFAULT 0,
+    due_amount NUMERIC(14,2) NOT NULL DEFAULT 0,
+    joining_collection_amount NUMERIC(14,2) NOT NULL DEFAULT 0,
+    joining_pending_amount NUMERIC(14,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS job_leases (
+    name VARCHAR(100) PRIMARY KEY,
+    run_key VARCHAR(64) NOT NULL,
+    holder VARCHAR(200) NOT NULL,
+    leased_until TIMESTAMPTZ NOT NULL,
+    completed_at TIMESTAMPTZ,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
@@ -0,0 +1,20 @@
+-- Entity ids come from pooled sequences (allocationSize = 50): Hibernate reserves a block of 50 ids per nextval
+-- and can batch the inserts. Each sequence must step by the same amount. Tables created by ddl-auto used identity
+-- columns; they are turned into the plain sequence default BIGSERIAL gives, which raw SQL inserts keep using.
+-- A raw insert takes the end of a block for itself, so it never collides with ids Hibernate hands out.
+DO $$
+DECLARE
+    target TEXT;
+    seq TEXT;
+BEGIN
+    FOREACH target IN ARRAY ARRAY['accounts', 'tenants', 'rent_records', 'due_rents', 'expenses', 'rooms'] LOOP
+        seq := target || '_id_seq';
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', target);
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I OWNED BY %I.id', seq, target);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET DEFAULT nextval(%L)', target, seq);
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', seq);
+        -- The next block starts right after the current maximum id.
+        EXECUTE format('SELECT setval(%L, (SELECT COALESCE(MAX(id), 0) FROM %I) + 50, false)', seq, target);
+    END LOOP;
+END
+$$;
@@ -0,0 +1,41 @@
+-- Indexes for the repository queries on the request path. Each comment names the queries it serves.
+
+-- DueRentRepository.findAllByStatusInAndBillingMonthBetweenOrderByBillingMonthDesc: one range scan per open status.
+-- The single-column status index is a prefix of it.
+CREATE INDEX IF NOT EXISTS idx_due_rents_status_billing_month ON due_rents (status, billing_month DESC);
+DROP INDEX IF EXISTS idx_due_rents_status;
+
+-- CollectionRentRepository.findAllByCollectedAtBetweenOrderByCollectedAtDesc and the CSV export stream.
+CREATE INDEX IF NOT EXISTS idx_collection_rents_collected_at ON collection_rents (collected_at DESC);
+
+-- Tenant lists and keyset pages: equality on active/daily_accommodation, ordered by (created_at, id) descending.
+CREATE INDEX IF NOT EXISTS idx_tenants_active_daily_created
+    ON tenants (active, daily_accommodation, created_at DESC, id DESC);
+
+-- TenantRepository.findViewPage name filter: lower(full_name) LIKE 'prefix%'.
+CREATE INDEX IF NOT EXISTS idx_tenants_full_name_lower_prefix ON tenants (lower(full_name) text_pattern_ops);
+
+-- TenantRepository.existsByFullNameIgnoreCaseAndActiveTrue[AndIdNot]; IgnoreCase compares upper() on both sides.
+CREATE INDEX IF NOT EXISTS idx_tenants_active_full_name_upper ON tenants (upper(full_name)) WHERE active = true;
+
+-- TenantRepository.streamDailyCollectionsForReport.
+CREATE INDEX IF NOT EXISTS idx_tenants_daily_collection_date
+    ON tenants (daily_collection_transaction_date DESC, created_at DESC)
+    WHERE daily_accommodation = true;
+
+-- AccountRepository.existsByNameIgnoreCase[AndIdNot] and RoomRepository.existsByRoomNumberIgnoreCase[AndIdNot].
+CREATE INDEX IF NOT EXISTS idx_accounts_name_upper ON accounts (upper(name));
+CREATE INDEX IF NOT EXISTS idx_rooms_room_number_upper ON rooms (upper(room_number));
+
+-- ExpenseRepository.findAllByOrderByTransactionDateDescIdDesc; replaces the single-column index.
+CREATE INDEX IF NOT EXISTS idx_expenses_transaction_date_id ON expenses (transaction_date DESC, id DESC);
+DROP INDEX IF EXISTS idx_expenses_transaction_date;
+
+-- clearAccountByAccountId and the tenant account clears on account delete. Most rows carry no account.
+CREATE INDEX IF NOT EXISTS idx_due_rents_account ON due_rents (account_id) WHERE account_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_collection_rents_account ON collection_rents (account_id) WHERE account_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_expenses_account ON expenses (account_id) WHERE account_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_tenants_daily_collection_account
+    ON tenants (daily_collection_account_id) WHERE daily_collection_account_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_tenants_joining_collection_account
+    ON tenants (joining_collection_account_id) WHERE joining_collection_account_id IS NOT NULL;
@@ -0,0 +1,53 @@
+package com.pgms;
+
+import com.google.cloud.NoCredentials;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.FirestoreOptions;
+import org.testcontainers.containers.FirestoreEmulatorContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * The Firestore emulator for tests of the firebase provider. Test classes hold the container in a static
+ * {@code @Container} field and open a client per test.
+ */
+public final class FirestoreEmulator {
+
+    private static final String PROJECT_ID = "pgms-test";
+
+    private FirestoreEmulator() {
+    }
+
+    public static FirestoreEmulatorContainer container() {
+        return new FirestoreEmulatorContainer(
+                DockerImageName.parse("gcr.io/google.com/cloudsdktool/google-cloud-cli:emulators"));
+    }
+
+    public static Firestore client(FirestoreEmulatorContainer emulator) {
+        return FirestoreOptions.newBuilder()
+                .setHost(emulator.getEmulatorEndpoint())
+                .setCredentials(NoCredentials.getInstance())
+                .setProjectId(PROJECT_ID)
+                .build()
+                .getService();
+    }
+
+    /**
+     * Deletes every document in the emulator, for tests that assert on whole-collection results.
+     */
+    public static void clear(FirestoreEmulatorContainer emulator) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://" + emulator.getEmulatorEndpoint()
+                        + "/emulator/v1/projects/" + PROJECT_ID + "/databases/(default)/documents"))
+                .DELETE()
+                .build();
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Failed to clear the Firestore emulator: " + response.body());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.pgms;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * A throwaway Postgres for tests that need the real schema; Flyway migrates it when the context starts. Tests that
+ * import it also carry {@code @Testcontainers(disabledWithoutDocker = true)}, so they are skipped, rather than fail
+ * to start their context, where Docker is not available.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class TestcontainersConfiguration {
+
+    @Bean
+    @ServiceConnection
+    PostgreSQLContainer<?> postgresContainer() {
+        return new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.pgms.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StaleWhileRevalidateCacheTest {
+
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final Duration MAX_STALENESS = Duration.ofMillis(200);
+
+    // Background refreshes are queued but never run, so the stale value stays what the cache answers with.
+    private final List<Runnable> refreshes = new ArrayList<>();
+    private final StaleWhileRevalidateCache cache = new StaleWhileRevalidateCache(
+            new ConcurrentMapCache("rentsDue"), TTL, MAX_STALENESS, 100, refreshes::add);
+
+    @Test
+    void evictionLongAfterTheFillStillServesTheStaleValue() throws InterruptedException {
+        cache.put("2025-01", "cached");
+        Thread.sleep(MAX_STALENESS.multipliedBy(2).toMillis());
+
+        cache.evict("2025-01");
+
+        assertThat(cache.get("2025-01", () -> "loaded")).isEqualTo("cached");
+        assertThat(cache.staleHits()).isEqualTo(1);
+        assertThat(refreshes).hasSize(1);
+    }
+
+    @Test
+    void staleValueIsNotServedPastTheBoundAfterEviction() throws InterruptedException {
+        cache.put("2025-01", "cached");
+
+        cache.evict("2025-01");
+        Thread.sleep(MAX_STALENESS.multipliedBy(2).toMillis());
+
+        assertThat(cache.get("2025-01", () -> "loaded")).isEqualTo("loaded");
+        assertThat(cache.staleHits()).isZero();
+        assertThat(refreshes).isEmpty();
+    }
+
+    @Test
+    void rangeEvictionStartsTheBoundForTheAffectedKeysOnly() throws InterruptedException {
+        cache.put("2025-01", "january");
+        cache.put("2025-02", "february");
+
+        cache.advanceGeneration("2025-01"::equals);
+        cache.getTarget().evict("2025-01");
+        cache.getTarget().evict("2025-02");
+        Thread.sleep(MAX_STALENESS.multipliedBy(2).toMillis());
+
+        // Marked when evicted, so past the bound; the unmarked key only counts from its TTL, which is far off.
+        assertThat(cache.get("2025-01", () -> "loaded")).isEqualTo("loaded");
+        assertThat(cache.get("2025-02", () -> "loaded")).isEqualTo("february");
+    }
+}
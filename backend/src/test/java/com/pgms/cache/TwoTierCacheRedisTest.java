@@ -0,0 +1,182 @@
+package com.pgms.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two {@link TwoTierCacheManager}s standing in for two nodes: each has its own Caffeine tier and eviction listener,
+ * and both share one Redis for the remote tier and the eviction channel.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TwoTierCacheRedisTest {
+
+    private static final String CACHE = "rentsDue";
+    private static final String CHANNEL = "pgms:test-cache-evictions";
+
+    @Container
+    private static final GenericContainer<?> redis =
+            new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<RedisMessageListenerContainer> listenerContainers = new ArrayList<>();
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisCacheConfiguration remoteConfig;
+    private RedisCacheManager remote;
+    private TwoTierCacheManager first;
+    private TwoTierCacheManager second;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+
+        remoteConfig = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofMinutes(1))
+                .disableCachingNullValues()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+        remote = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(remoteConfig)
+                .initialCacheNames(Set.of(CACHE))
+                .build();
+        remote.initializeCaches();
+
+        first = node();
+        second = node();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (RedisMessageListenerContainer container : listenerContainers) {
+            container.destroy();
+        }
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void localMissFallsBackToRedisAndKeepsTheValue() {
+        first.getCache(CACHE).put("2025-01", "due list");
+
+        assertThat(second.getCache(CACHE).get("2025-01", String.class)).isEqualTo("due list");
+
+        // Gone from Redis without a broadcast, the value is still served from the second node's local tier.
+        remote.getCache(CACHE).evict("2025-01");
+        assertThat(second.getCache(CACHE).get("2025-01", String.class)).isEqualTo("due list");
+        assertThat(((TwoTierCache) second.getCache(CACHE)).localStats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void peerEvictionDropsTheLocalCopy() throws InterruptedException {
+        Cache firstCache = first.getCache(CACHE);
+        Cache secondCache = second.getCache(CACHE);
+        firstCache.put("2025-01", "due list");
+        firstCache.put("2025-02", "next due list");
+        assertThat(secondCache.get("2025-01", String.class)).isEqualTo("due list");
+        assertThat(secondCache.get("2025-02", String.class)).isEqualTo("next due list");
+
+        firstCache.evict("2025-01");
+
+        awaitEviction(secondCache, "2025-01");
+        assertThat(secondCache.get("2025-02", String.class)).isEqualTo("next due list");
+    }
+
+    @Test
+    void peerClearDropsEveryLocalCopy() throws InterruptedException {
+        Cache firstCache = first.getCache(CACHE);
+        Cache secondCache = second.getCache(CACHE);
+        firstCache.put("2025-01", "due list");
+        firstCache.put("2025-02", "next due list");
+        secondCache.get("2025-01");
+        secondCache.get("2025-02");
+
+        firstCache.clear();
+
+        awaitEviction(secondCache, "2025-01");
+        awaitEviction(secondCache, "2025-02");
+    }
+
+    @Test
+    void fillOnOneNodeKeepsThePeersLocalCopy() throws InterruptedException {
+        Cache firstCache = first.getCache(CACHE);
+        Cache secondCache = second.getCache(CACHE);
+        secondCache.put("2025-01", "due list");
+
+        firstCache.put("2025-01", "reloaded due list");
+        // Long enough for a broadcast to have arrived, had one been sent.
+        Thread.sleep(500);
+
+        assertThat(secondCache.get("2025-01", String.class)).isEqualTo("due list");
+        assertThat(((TwoTierCache) secondCache).localStats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void nullLoadIsReturnedWithoutBeingCached() {
+        Cache firstCache = first.getCache(CACHE);
+
+        assertThat(firstCache.<String>get("2025-01", () -> null)).isNull();
+        assertThat(remote.getCache(CACHE).get("2025-01")).isNull();
+        assertThat(firstCache.<String>get("2025-01", () -> "due list")).isEqualTo("due list");
+    }
+
+    private TwoTierCacheManager node() {
+        RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainers.add(listenerContainer);
+        TwoTierCacheManager manager = new TwoTierCacheManager(
+                List.of(CACHE),
+                Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(1)).recordStats(),
+                remote,
+                new RedisCacheKeyScanner(connectionFactory, remoteConfig),
+                new RedisCacheEvictionBus(
+                        new StringRedisTemplate(connectionFactory), listenerContainer, CHANNEL, objectMapper)
+        );
+        // Started after the manager subscribed, so the channel is listened to before anything is published.
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+        return manager;
+    }
+
+    /**
+     * Waits for the broadcast to reach the node. The writer already removed the entry from Redis, so until then the
+     * node answers from its local tier, and a miss there does not refill it.
+     */
+    private static void awaitEviction(Cache cache, String key) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (cache.get(key) != null) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Entry " + key + " was not evicted by the peer broadcast");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
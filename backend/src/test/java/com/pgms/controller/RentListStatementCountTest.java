@@ -0,0 +1,128 @@
+package com.pgms.controller;
+
+import com.pgms.TestcontainersConfiguration;
+import com.pgms.config.CacheNames;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The rent lists load each row's tenant, due rent and account in the list query itself, so the statements a request
+ * costs, as recorded by {@code pgms.request.sql.statements}, must not grow with the number of rows it returns. The
+ * {@code test} profile runs the query budget strict, so a per-row load also fails the request outright.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class RentListStatementCountTest {
+
+    private static final String SQL_STATEMENTS = "pgms.request.sql.statements";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+                insert into accounts (name, mode) values ('Cash', 'CASH'), ('UPI', 'UPI')
+                on conflict (name) do nothing
+                """);
+    }
+
+    @Test
+    void dueListCostsTheSameStatementsForOneRowAsForFifty() throws Exception {
+        long one = statements("/api/rents/due", 1);
+        long fifty = statements("/api/rents/due", 50);
+
+        assertThat(fifty).isEqualTo(one);
+    }
+
+    @Test
+    void collectedListCostsTheSameStatementsForOneRowAsForFifty() throws Exception {
+        long one = statements("/api/rents/collected", 1);
+        long fifty = statements("/api/rents/collected", 50);
+
+        assertThat(fifty).isEqualTo(one);
+    }
+
+    /**
+     * Seeds {@code rows} tenants with a half-paid rent for this month, each with its own collection, and returns the
+     * statements one uncached request to {@code uri} was recorded with.
+     */
+    private long statements(String uri, int rows) throws Exception {
+        seed(rows);
+        clear(CacheNames.RENTS_DUE);
+        clear(CacheNames.RENTS_COLLECTED);
+        double before = totalStatements(uri);
+
+        mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(rows));
+
+        return Math.round(totalStatements(uri) - before);
+    }
+
+    private void seed(int rows) {
+        jdbcTemplate.update("delete from collection_rents");
+        jdbcTemplate.update("delete from due_rents");
+        jdbcTemplate.update("delete from tenants");
+        jdbcTemplate.update("""
+                insert into tenants (full_name, room_number, rent, deposit, joining_date, sharing, payment_status,
+                                     rent_due_amount, verification_status)
+                select 'Tenant ' || i, (100 + i)::text, 6000, 12000, current_date, 'SINGLE', 'PARTIAL', 3000, 'DONE'
+                from generate_series(1, ?) i
+                """, rows);
+        // Alternate accounts so every row has one to load, and not all the same.
+        jdbcTemplate.update("""
+                insert into due_rents (tenant_id, billing_month, due_amount, paid_amount, status, account_id)
+                select t.id, cast(date_trunc('month', current_date) as date), 6000, 3000, 'PARTIAL', a.id
+                from (select id, row_number() over (order by id) as n from tenants) t
+                join accounts a on a.name = case when t.n % 2 = 0 then 'Cash' else 'UPI' end
+                """);
+        jdbcTemplate.update("""
+                insert into collection_rents (due_rent_id, tenant_id, billing_month, collected_amount, collected_at,
+                                              account_id)
+                select d.id, d.tenant_id, d.billing_month, d.paid_amount, now(), d.account_id
+                from due_rents d
+                """);
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private double totalStatements(String uri) {
+        DistributionSummary summary = meterRegistry.find(SQL_STATEMENTS).tags("method", "GET", "uri", uri).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
@@ -0,0 +1,39 @@
+package com.pgms.metrics;
+
+import com.pgms.TestcontainersConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A request over budget under the {@code test} profile fails with the API's error body. The dashboard reads the
+ * monthly summaries and counts active tenants, one statement more than the budget set here.
+ */
+@SpringBootTest(properties = "app.query-budget.sql-statements=1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class QueryBudgetStrictModeTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void requestOverBudgetFailsWithTheErrorBody() throws Exception {
+        mockMvc.perform(get("/api/rents/dashboard"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.status").value(500))
+                .andExpect(jsonPath("$.message").value(containsString("budget of 1 SQL statements")));
+    }
+}
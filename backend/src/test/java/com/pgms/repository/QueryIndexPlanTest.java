@@ -0,0 +1,186 @@
+package com.pgms.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pgms.TestcontainersConfiguration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the V3 indexes serve the request-path queries once the tables are big enough for the planner to
+ * care: about 100k tenants, one due rent each spread over two years, and a collection for every paid one. Each
+ * statement mirrors the SQL Hibernate generates for the repository query named above it, with the parameters
+ * inlined the way Postgres sees them when it plans a bound execution.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryIndexPlanTest {
+
+    private static final int TENANTS = 100_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("truncate collection_rents, due_rents, tenants, accounts restart identity cascade");
+        jdbcTemplate.update("insert into accounts (id, name, mode) values (1, 'Cash', 'CASH'), (2, 'UPI', 'UPI')");
+        // Every tenth tenant stays daily, every twentieth has checked out.
+        jdbcTemplate.update("""
+                insert into tenants (id, full_name, room_number, rent, deposit, joining_date, sharing, payment_status,
+                                     rent_due_amount, verification_status, active, daily_accommodation,
+                                     daily_collection_amount, daily_collection_transaction_date,
+                                     daily_collection_account_id, created_at, updated_at)
+                select i, 'Tenant ' || i, (100 + i % 60)::text, 6000, 12000, date '2023-01-01' + i % 730, 'SINGLE',
+                       'DUE', 0, 'DONE', i % 20 <> 0, i % 10 = 0,
+                       case when i % 10 = 0 then 450 else 0 end,
+                       case when i % 10 = 0 then date '2023-01-01' + i % 730 end,
+                       case when i % 10 = 0 then 1 + i % 2 end,
+                       timestamptz '2023-01-01' + i * interval '5 minutes', now()
+                from generate_series(1, ?) i
+                """, TENANTS);
+        // Rents of the last two months are still open, as are a few stragglers from before.
+        jdbcTemplate.update("""
+                insert into due_rents (id, tenant_id, billing_month, due_amount, paid_amount, status, account_id)
+                select i, i, (date '2023-01-01' + (i % 24) * interval '1 month')::date, 6000,
+                       case when i % 24 >= 22 or i % 25 = 0 then (i % 2) * 3000 else 6000 end,
+                       case when i % 24 >= 22 or i % 25 = 0 then (case when i % 2 = 0 then 'DUE' else 'PARTIAL' end)
+                            else 'PAID' end,
+                       1 + i % 2
+                from generate_series(1, ?) i
+                """, TENANTS);
+        jdbcTemplate.update("""
+                insert into collection_rents (due_rent_id, tenant_id, billing_month, collected_amount, collected_at,
+                                              account_id)
+                select id, tenant_id, billing_month, paid_amount,
+                       billing_month + interval '3 days' + (id % 7200) * interval '1 minute', account_id
+                from due_rents
+                where paid_amount > 0
+                """);
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void dueRentsOfAMonthUseTheStatusIndex() {
+        // DueRentRepository.findAllByStatusInAndBillingMonthBetweenOrderByBillingMonthDesc
+        assertNoSeqScan("due_rents", """
+                select d.*, t.*, a.*
+                from due_rents d
+                join tenants t on t.id = d.tenant_id
+                left join accounts a on a.id = d.account_id
+                where d.status in ('DUE', 'PARTIAL') and d.billing_month between '2024-11-01' and '2024-11-30'
+                order by d.billing_month desc
+                """);
+    }
+
+    @Test
+    void collectionsOfAMonthUseTheCollectedAtIndex() {
+        // CollectionRentRepository.findAllByCollectedAtBetweenOrderByCollectedAtDesc
+        assertNoSeqScan("collection_rents", """
+                select c.*, t.*, d.*, a.*
+                from collection_rents c
+                join tenants t on t.id = c.tenant_id
+                join due_rents d on d.id = c.due_rent_id
+                left join accounts a on a.id = c.account_id
+                where c.collected_at >= '2024-03-01T00:00:00Z' and c.collected_at < '2024-04-01T00:00:00Z'
+                order by c.collected_at desc
+                """);
+        // CollectionRentRepository.streamAllByCollectedAtBetweenAndAccountOrderByCollectedAtDesc
+        assertNoSeqScan("collection_rents", """
+                select c.*, t.*, a.*
+                from collection_rents c
+                join tenants t on t.id = c.tenant_id
+                left join accounts a on a.id = c.account_id
+                where c.collected_at >= '2024-03-01T00:00:00Z' and c.collected_at < '2024-04-01T00:00:00Z'
+                  and a.id = 1
+                order by c.collected_at desc
+                """);
+    }
+
+    @Test
+    void tenantPagesWalkTheCreatedAtIndex() {
+        // TenantRepository.findViewPage, first and next page of the active list.
+        assertNoSeqScan("tenants", """
+                select t.*, dca.*
+                from tenants t
+                left join accounts dca on dca.id = t.daily_collection_account_id
+                where t.active = true and t.daily_accommodation = false
+                order by t.created_at desc, t.id desc
+                limit 51
+                """);
+        assertNoSeqScan("tenants", """
+                select t.*, dca.*
+                from tenants t
+                left join accounts dca on dca.id = t.daily_collection_account_id
+                where t.active = true and t.daily_accommodation = false
+                  and (t.created_at < '2023-06-01T00:00:00Z'
+                       or (t.created_at = '2023-06-01T00:00:00Z' and t.id < 43200))
+                order by t.created_at desc, t.id desc
+                limit 51
+                """);
+        // TenantRepository.findViewPage with a name prefix.
+        assertNoSeqScan("tenants", """
+                select t.*, dca.*
+                from tenants t
+                left join accounts dca on dca.id = t.daily_collection_account_id
+                where t.active = true and t.daily_accommodation = false
+                  and lower(t.full_name) like 'tenant 1234%' escape '\\'
+                order by t.created_at desc, t.id desc
+                limit 51
+                """);
+    }
+
+    @Test
+    void dailyReportUsesThePartialIndex() {
+        // TenantRepository.streamDailyCollectionsForReport
+        assertNoSeqScan("tenants", """
+                select t.*, a.*
+                from tenants t
+                left join accounts a on a.id = t.daily_collection_account_id
+                where t.daily_accommodation = true
+                  and coalesce(t.daily_collection_amount, 0) > 0
+                  and t.daily_collection_transaction_date between '2024-03-01' and '2024-03-31'
+                order by t.daily_collection_transaction_date desc, t.created_at desc
+                """);
+    }
+
+    private void assertNoSeqScan(String table, String sql) {
+        String plan = jdbcTemplate.queryForObject("explain (format json) " + sql, String.class);
+        List<String> scans = new ArrayList<>();
+        try {
+            collectSeqScans(objectMapper.readTree(plan).get(0).get("Plan"), scans);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to read plan " + plan, e);
+        }
+        assertThat(scans).as("sequential scans in %s", plan).doesNotContain(table);
+    }
+
+    private static void collectSeqScans(JsonNode node, List<String> scans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            scans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, scans);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.pgms.service.impl;
+
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.pgms.FirestoreEmulator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.FirestoreEmulatorContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Several allocators, each with its own Firestore client as separate instances would have, lease blocks from the
+ * same counter on the emulator at once. Only the counter transaction keeps their blocks apart.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class FirestoreIdAllocatorEmulatorTest {
+
+    private static final int INSTANCES = 4;
+    private static final int THREADS_PER_INSTANCE = 2;
+    private static final int IDS_PER_THREAD = 100;
+    private static final long BLOCK_SIZE = 10;
+
+    @Container
+    private static final FirestoreEmulatorContainer emulator = FirestoreEmulator.container();
+
+    private final List<Firestore> clients = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < INSTANCES; i++) {
+            clients.add(FirestoreEmulator.client(emulator));
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (Firestore client : clients) {
+            client.close();
+        }
+    }
+
+    @Test
+    void instancesLeasingFromOneCounterNeverShareAnId() throws Exception {
+        String sequence = "tenants-" + UUID.randomUUID();
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(INSTANCES * THREADS_PER_INSTANCE);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (Firestore client : clients) {
+                FirestoreIdAllocator allocator = new FirestoreIdAllocator(client, BLOCK_SIZE);
+                for (int t = 0; t < THREADS_PER_INSTANCE; t++) {
+                    workers.add(executor.submit(() -> {
+                        start.await();
+                        for (int n = 0; n < IDS_PER_THREAD; n++) {
+                            if (!ids.add(allocator.next(sequence))) {
+                                duplicates.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = INSTANCES * THREADS_PER_INSTANCE * IDS_PER_THREAD;
+        assertThat(duplicates).hasValue(0);
+        assertThat(ids).hasSize(total);
+
+        // Every id comes from a block the counter handed out, and at most one block per instance is left part-used.
+        DocumentSnapshot counter = clients.get(0).collection("_meta").document(sequence).get().get();
+        long nextId = counter.getLong("nextId");
+        assertThat(ids).allMatch(id -> id >= 1 && id < nextId);
+        assertThat(nextId - 1).isBetween((long) total, total + INSTANCES * BLOCK_SIZE);
+        assertThat((nextId - 1) % BLOCK_SIZE).isZero();
+    }
+}
@@ -0,0 +1,96 @@
+package com.pgms.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FirestoreIdAllocatorTest {
+
+    private static final int THREADS = 16;
+    private static final int IDS_PER_THREAD = 5_000;
+    private static final long BLOCK_SIZE = 7;
+
+    @Test
+    void concurrentCallersNeverShareAnIdAcrossBlockRollovers() throws Exception {
+        AtomicLong counter = new AtomicLong(1);
+        AtomicInteger leases = new AtomicInteger();
+        FirestoreIdAllocator allocator = new FirestoreIdAllocator((sequence, blockSize) -> {
+            leases.incrementAndGet();
+            // Widens the window in which other threads run into the exhausted block.
+            Thread.yield();
+            return counter.getAndAdd(blockSize);
+        }, BLOCK_SIZE);
+
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int n = 0; n < IDS_PER_THREAD; n++) {
+                        if (!ids.add(allocator.next("tenants"))) {
+                            duplicates.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long total = (long) THREADS * IDS_PER_THREAD;
+        assertThat(duplicates).hasValue(0);
+        assertThat(ids).hasSize((int) total);
+        // Every leased block is used up before the next one is taken, so the ids are exactly 1..total.
+        assertThat(ids.stream().mapToLong(Long::longValue).min().orElseThrow()).isEqualTo(1L);
+        assertThat(ids.stream().mapToLong(Long::longValue).max().orElseThrow()).isEqualTo(total);
+        assertThat(leases).hasValue((int) ((total + BLOCK_SIZE - 1) / BLOCK_SIZE));
+    }
+
+    @Test
+    void sequencesLeaseTheirOwnBlocks() {
+        AtomicLong counter = new AtomicLong(1);
+        FirestoreIdAllocator allocator = new FirestoreIdAllocator(
+                (sequence, blockSize) -> counter.getAndAdd(blockSize), BLOCK_SIZE);
+
+        assertThat(allocator.next("tenants")).isEqualTo(1L);
+        assertThat(allocator.next("expenses")).isEqualTo(1L + BLOCK_SIZE);
+        assertThat(allocator.next("tenants")).isEqualTo(2L);
+    }
+
+    @Test
+    void failedLeaseIsRetriedOnTheNextCall() {
+        AtomicInteger attempts = new AtomicInteger();
+        FirestoreIdAllocator allocator = new FirestoreIdAllocator((sequence, blockSize) -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("Failed to lease ids for " + sequence);
+            }
+            return 100L;
+        }, BLOCK_SIZE);
+
+        assertThatThrownBy(() -> allocator.next("tenants")).isInstanceOf(IllegalStateException.class);
+        assertThat(allocator.next("tenants")).isEqualTo(100L);
+        assertThat(allocator.next("tenants")).isEqualTo(101L);
+    }
+}
@@ -0,0 +1,40 @@
+package com.pgms.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The emulator runs composite queries without their indexes, so a query that production would reject passes there.
+ * This checks {@code firestore.indexes.json} declares the ones the rent queries need, fields and directions in
+ * query order.
+ */
+class FirestoreIndexesTest {
+
+    @Test
+    void indexFileCoversTheRentQueries() throws Exception {
+        List<String> indexes = new ArrayList<>();
+        for (JsonNode index : new ObjectMapper().readTree(Path.of("firestore.indexes.json").toFile()).get("indexes")) {
+            StringBuilder fields = new StringBuilder(index.get("collectionGroup").asText()).append(':');
+            for (JsonNode field : index.get("fields")) {
+                fields.append(' ').append(field.get("fieldPath").asText())
+                        .append(' ').append(field.get("order").asText());
+            }
+            indexes.add(fields.toString());
+        }
+
+        // FirestoreRentServiceImpl.dailyCollectionTenants, without and with an account.
+        assertThat(indexes).contains(
+                "tenants: dailyAccommodation ASCENDING dailyCollectionTransactionDate DESCENDING",
+                "tenants: dailyAccommodation ASCENDING dailyCollectionAccountId ASCENDING"
+                        + " dailyCollectionTransactionDate DESCENDING");
+        // The collection export filtered by account.
+        assertThat(indexes).contains("collectionRents: accountId ASCENDING collectedAt DESCENDING");
+    }
+}
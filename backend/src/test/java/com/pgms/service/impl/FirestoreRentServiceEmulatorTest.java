@@ -0,0 +1,214 @@
+package com.pgms.service.impl;
+
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.pgms.FirestoreEmulator;
+import com.pgms.cache.CacheInvalidator;
+import com.pgms.cache.EntityCaches;
+import com.pgms.dto.RentRecordRequest;
+import com.pgms.dto.RentRecordResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.testcontainers.containers.FirestoreEmulatorContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link FirestoreRentServiceImpl} against the Firestore emulator, which starts each test empty. The emulator
+ * serves any query without composite indexes; {@link FirestoreIndexesTest} checks the ones these queries need.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class FirestoreRentServiceEmulatorTest {
+
+    private static final int PAYERS = 4;
+    private static final long CASH = 1L;
+    private static final long UPI = 2L;
+    private static final LocalDate MARCH = LocalDate.of(2024, 3, 1);
+
+    @Container
+    private static final FirestoreEmulatorContainer emulator = FirestoreEmulator.container();
+
+    private Firestore firestore;
+    private FirestoreRentServiceImpl rentService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        FirestoreEmulator.clear(emulator);
+        firestore = FirestoreEmulator.client(emulator);
+        CacheInvalidator cacheInvalidator = new CacheInvalidator(
+                new ConcurrentMapCacheManager(),
+                new StaticListableBeanFactory().getBeanProvider(RedisConnectionFactory.class));
+        rentService = new FirestoreRentServiceImpl(
+                firestore,
+                new FirestoreMonthlyRentSummaryStore(firestore),
+                new FirestoreAccountCache(firestore, new EntityCaches(), 300, false),
+                new FirestoreJobLeases(firestore, 600),
+                cacheInvalidator);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        firestore.close();
+    }
+
+    @Test
+    void concurrentPaymentsOfOneRentAreCollectedOnce() throws Exception {
+        long tenantId = seedTenant();
+        RentRecordResponse due = rentService.upsertRentRecord(request(tenantId, "6000", "0"));
+        long collectedBefore = collectedPaise(YearMonth.now());
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(PAYERS);
+        try {
+            List<Future<RentRecordResponse>> payments = new ArrayList<>();
+            for (int i = 0; i < PAYERS; i++) {
+                payments.add(executor.submit(() -> {
+                    start.await();
+                    return rentService.markAsPaid(due.getId());
+                }));
+            }
+            start.countDown();
+            for (Future<RentRecordResponse> payment : payments) {
+                payment.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Each payment reads the rent in its transaction: only the first sees it unpaid, the rest replace 6000 by 6000.
+        assertThat(collectedPaise(YearMonth.now()) - collectedBefore).isEqualTo(600_000L);
+        DocumentSnapshot tenant = firestore.collection("tenants").document(String.valueOf(tenantId)).get().get();
+        assertThat(new BigDecimal(tenant.getString("rentDueAmount"))).isZero();
+    }
+
+    @Test
+    void exportFiltersByAccountAndMonthAndListsNewestFirst() throws Exception {
+        seedCollection("Regular 20", CASH, LocalDateTime.of(2024, 3, 20, 10, 0));
+        seedCollection("Regular 15", UPI, LocalDateTime.of(2024, 3, 15, 10, 0));
+        seedCollection("Regular 05", CASH, LocalDateTime.of(2024, 3, 5, 10, 0));
+        seedCollection("Regular Feb", CASH, LocalDateTime.of(2024, 2, 29, 23, 0));
+        seedCollection("Regular Apr", CASH, LocalDateTime.of(2024, 4, 1, 0, 0));
+        seedDailyTenant("Daily 31", CASH, LocalDate.of(2024, 3, 31), "450", true, true);
+        seedDailyTenant("Daily 12", CASH, LocalDate.of(2024, 3, 12), "450", true, true);
+        seedDailyTenant("Daily 18", UPI, LocalDate.of(2024, 3, 18), "450", true, true);
+        seedDailyTenant("Daily Apr", CASH, LocalDate.of(2024, 4, 1), "450", true, true);
+        seedDailyTenant("Daily unpaid", CASH, LocalDate.of(2024, 3, 25), "0", true, true);
+        seedDailyTenant("Monthly", CASH, LocalDate.of(2024, 3, 22), "450", false, true);
+
+        assertThat(exportedNames(CASH)).containsExactly("Daily 31", "Regular 20", "Daily 12", "Regular 05");
+        assertThat(exportedNames(null)).containsExactly(
+                "Daily 31", "Regular 20", "Daily 18", "Regular 15", "Daily 12", "Regular 05");
+    }
+
+    @Test
+    void dashboardCountsOnlyActiveTenants() throws Exception {
+        seedDailyTenant("Daily 12", CASH, LocalDate.of(2024, 3, 12), "450", true, true);
+        seedDailyTenant("Daily left", CASH, LocalDate.of(2024, 3, 12), "450", true, false);
+        seedTenant();
+        seedTenant();
+        firestore.collection("tenants").document("9001").set(Map.of("id", 9001L, "fullName", "No flag")).get();
+
+        assertThat(rentService.getDashboardSummary(MARCH, MARCH).getActiveTenants()).isEqualTo(3);
+    }
+
+    private List<String> exportedNames(Long accountId) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        rentService.exportCollectionReportCsv(MARCH.plusDays(9), MARCH.plusDays(9), accountId, output);
+        List<String> names = new ArrayList<>();
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        for (int i = 1; i < lines.length; i++) {
+            String line = lines[i];
+            names.add(line.substring(1, line.length() - 1).split("\",\"", -1)[2]);
+        }
+        return names;
+    }
+
+    private void seedCollection(String tenantName, long accountId, LocalDateTime collectedAt) throws Exception {
+        Instant instant = collectedAt.atZone(ZoneId.systemDefault()).toInstant();
+        Map<String, Object> doc = new HashMap<>();
+        doc.put("tenantName", tenantName);
+        doc.put("roomNumber", "101");
+        doc.put("billingMonth", YearMonth.from(collectedAt).atDay(1).toString());
+        doc.put("dueAmount", "6000");
+        doc.put("collectedAmount", "6000");
+        doc.put("accountId", accountId);
+        doc.put("collectedAt", Timestamp.ofTimeSecondsAndNanos(instant.getEpochSecond(), 0));
+        firestore.collection("collectionRents").add(doc).get();
+    }
+
+    private void seedDailyTenant(
+            String fullName,
+            long accountId,
+            LocalDate collectedOn,
+            String amount,
+            boolean daily,
+            boolean active
+    ) throws Exception {
+        Map<String, Object> doc = new HashMap<>();
+        doc.put("fullName", fullName);
+        doc.put("roomNumber", "201");
+        doc.put("dailyAccommodation", daily);
+        doc.put("dailyCollectionAmount", amount);
+        doc.put("dailyCollectionTransactionDate", collectedOn.toString());
+        doc.put("dailyCollectionAccountId", accountId);
+        doc.put("active", active);
+        firestore.collection("tenants").add(doc).get();
+    }
+
+    private long seedTenant() throws Exception {
+        long tenantId = ThreadLocalRandom.current().nextLong(1, 1L << 30);
+        firestore.collection("tenants").document(String.valueOf(tenantId)).set(Map.of(
+                "id", tenantId,
+                "fullName", "Tenant " + tenantId,
+                "roomNumber", "101",
+                "rent", "6000",
+                "deposit", "0",
+                "rentDueAmount", "0",
+                "joiningDate", "2024-01-15",
+                "active", true,
+                "dailyAccommodation", false
+        )).get();
+        return tenantId;
+    }
+
+    private static RentRecordRequest request(long tenantId, String due, String paid) {
+        RentRecordRequest request = new RentRecordRequest();
+        request.setTenantId(tenantId);
+        request.setBillingMonth(LocalDate.now().withDayOfMonth(1));
+        request.setDueAmount(new BigDecimal(due));
+        request.setPaidAmount(new BigDecimal(paid));
+        return request;
+    }
+
+    private long collectedPaise(YearMonth month) throws Exception {
+        DocumentSnapshot aggregate = firestore.collection("_aggregates").document(month.toString()).get().get();
+        Long paise = aggregate.getLong("collectedPaise");
+        return paise == null ? 0 : paise;
+    }
+}
@@ -0,0 +1,140 @@
+package com.pgms.service.impl;
+
+import com.pgms.TestcontainersConfiguration;
+import com.pgms.repository.JobLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the lease statements against a real Postgres, each {@link JobLeases} standing in for one instance.
+ */
+// Each concurrent instance holds one connection for its transaction and borrows another for the lease statement.
+@DataJpaTest(properties = "spring.datasource.hikari.maximum-pool-size=20")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobLeasesTest {
+
+    private static final String JOB = "dueGeneration";
+    private static final int INSTANCES = 8;
+
+    @Autowired
+    private JobLeaseRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from job_leases");
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void exactlyOneConcurrentInstanceTakesTheLease() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch attempted = new CountDownLatch(INSTANCES);
+        ExecutorService executor = Executors.newFixedThreadPool(INSTANCES);
+        try {
+            List<Future<Boolean>> attempts = new ArrayList<>();
+            for (int i = 0; i < INSTANCES; i++) {
+                JobLeases instance = new JobLeases(repository, 600);
+                attempts.add(executor.submit(() -> transaction.execute(status -> {
+                    await(start);
+                    boolean acquired = instance.tryAcquire(JOB, "2025-01-01");
+                    // Every transaction stays open until all instances have tried, so the winner still holds the lease.
+                    attempted.countDown();
+                    await(attempted);
+                    return acquired;
+                })));
+            }
+            start.countDown();
+
+            int winners = 0;
+            for (Future<Boolean> attempt : attempts) {
+                if (attempt.get(30, TimeUnit.SECONDS)) {
+                    winners++;
+                }
+            }
+            assertThat(winners).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(tryAcquire(new JobLeases(repository, 600), "2025-01-01")).isFalse();
+        assertThat(tryAcquire(new JobLeases(repository, 600), "2025-01-02")).isTrue();
+    }
+
+    @Test
+    void rolledBackRunReleasesTheLease() {
+        JobLeases first = new JobLeases(repository, 600);
+        JobLeases second = new JobLeases(repository, 600);
+
+        Boolean acquired = transaction.execute(status -> {
+            boolean taken = first.tryAcquire(JOB, "2025-01-01");
+            status.setRollbackOnly();
+            return taken;
+        });
+
+        assertThat(acquired).isTrue();
+        assertThat(tryAcquire(second, "2025-01-01")).isTrue();
+        assertThat(tryAcquire(first, "2025-01-01")).isFalse();
+    }
+
+    @Test
+    void expiredLeaseIsTakenOverAndTheStaleHolderCannotFinishIt() {
+        assertThat(repository.tryAcquire(JOB, "2025-01-01", "stale", 600)).isEqualTo(1);
+        assertThat(repository.tryAcquire(JOB, "2025-01-01", "next", 600)).isZero();
+
+        jdbcTemplate.update("update job_leases set leased_until = now() - interval '1 second' where name = ?", JOB);
+        assertThat(repository.tryAcquire(JOB, "2025-01-01", "next", 600)).isEqualTo(1);
+
+        assertThat(repository.release(JOB, "2025-01-01", "stale")).isZero();
+        assertThat(repository.complete(JOB, "2025-01-01", "stale")).isZero();
+        assertThat(repository.tryAcquire(JOB, "2025-01-01", "third", 600)).isZero();
+
+        assertThat(repository.complete(JOB, "2025-01-01", "next")).isEqualTo(1);
+        assertThat(repository.tryAcquire(JOB, "2025-01-01", "third", 600)).isZero();
+    }
+
+    private boolean tryAcquire(JobLeases instance, String runKey) {
+        return Boolean.TRUE.equals(transaction.execute(status -> instance.tryAcquire(JOB, runKey)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(30, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the other instances");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}